@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action;
+
+import com.chutneytesting.action.assertion.XsdValidationAction;
+import com.chutneytesting.action.groovy.GroovyAction;
+import com.chutneytesting.action.http.domain.HttpClientFactory;
+import com.chutneytesting.action.kafka.KafkaBasicConsumeAction;
+import com.chutneytesting.action.ssh.SshClientFactory;
+import com.chutneytesting.action.ssh.sshj.SshJClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+
+/**
+ * Binds metrics of clients pools and caches shared by actions (<i>chutney.action.*</i>) to a given registry.<br>
+ * Declared as a {@link MeterBinder} service, so that the application running actions can bind them to its own registry.
+ */
+public class ActionsMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        List.of(
+            HttpClientFactory.metrics(),
+            GroovyAction.metrics(),
+            XsdValidationAction.metrics(),
+            SshClientFactory.metrics(),
+            SshJClient.metrics(),
+            KafkaBasicConsumeAction.metrics()
+        ).forEach(binder -> binder.bindTo(meterRegistry));
+    }
+}
@@ -31,6 +31,7 @@ import com.chutneytesting.action.spi.injectable.Input;
 import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.injectable.Target;
 import com.chutneytesting.action.spi.time.Duration;
+import com.jayway.jsonpath.InvalidPathException;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import java.io.IOException;
@@ -105,6 +106,9 @@ public class AmqpBasicConsumeAction implements Action {
         } catch (TimeoutException | InterruptedException | IOException e) {
             logger.error("Unable to establish connection to RabbitMQ: " + e.getMessage());
             return ActionExecutionResult.ko();
+        } catch (InvalidPathException e) {
+            logger.error("Invalid selector: " + e.getMessage());
+            return ActionExecutionResult.ko();
         } finally {
             try {
                 closeChannel(channel);
@@ -17,36 +17,35 @@
 package com.chutneytesting.action.amqp.consumer;
 
 import com.chutneytesting.action.spi.injectable.Logger;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.Pair;
 
+/**
+ * Lock-free, so that consumers waiting for a queue never pin the virtual thread they may run on.
+ */
 public class ConsumerSupervisor {
 
     private static final int LOCK_WAITING = 500;
-    private static ConsumerSupervisor instance;
-    private final Set<String> queuesLocked = new HashSet<>();
+    private final Set<String> queuesLocked = ConcurrentHashMap.newKeySet();
 
     private ConsumerSupervisor() {
     }
 
-    public static synchronized ConsumerSupervisor getInstance() {
-        if (instance == null) {
-            instance = new ConsumerSupervisor();
-        }
-        return instance;
+    public static ConsumerSupervisor getInstance() {
+        return Holder.INSTANCE;
     }
 
     public boolean isLocked(String queueName) {
         return queuesLocked.contains(queueName);
     }
 
-    public synchronized boolean lock(String queueName) {
+    public boolean lock(String queueName) {
         return queuesLocked.add(queueName);
     }
 
-    public synchronized void unlock(String queueName) {
+    public void unlock(String queueName) {
         queuesLocked.remove(queueName);
     }
 
@@ -68,4 +67,8 @@ public class ConsumerSupervisor {
         }
         return Pair.of(true, timeLeft);
     }
+
+    private static class Holder {
+        private static final ConsumerSupervisor INSTANCE = new ConsumerSupervisor();
+    }
 }
@@ -21,13 +21,14 @@ import static com.chutneytesting.action.amqp.utils.AmqpUtils.convertMapLongStrin
 import com.chutneytesting.action.amqp.utils.JsonPathEvaluator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Stopwatch;
+import com.jayway.jsonpath.JsonPath;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Delivery;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
@@ -43,13 +44,13 @@ public class QueueingConsumer {
     private final long maxAwait;
     private final Channel channel;
     private final String queueName;
-    private final String selector;
+    private final JsonPath selector;
     private final boolean ackIfMatch;
     private final CountDownLatch messageCounter;
     private final Result result;
 
     public QueueingConsumer(Channel channel, String queueName, int nbMessages, String selector, long maxAwait, boolean ackIfMatch) {
-        this.selector = selector;
+        this.selector = StringUtils.isBlank(selector) ? null : JsonPathEvaluator.compile(selector);
         this.maxAwait = maxAwait;
         this.channel = channel;
         this.queueName = queueName;
@@ -81,17 +82,16 @@ public class QueueingConsumer {
         Object payload = extractPayload(delivery);
         message.put("headers", headerz);
         message.put("payload", payload);
-        if (StringUtils.isBlank(selector)) {
+        if (selector == null) {
             addMessageToResultAndCountDown(message);
         } else {
             try {
-                String messageAsString = OBJECT_MAPPER.writeValueAsString(message);
-                if (JsonPathEvaluator.evaluate(messageAsString, selector)) {
+                if (JsonPathEvaluator.evaluate(message, selector)) {
                     addMessageToResultAndCountDown(message);
                     this.acknowledgeMessage(delivery);
                 }
             } catch (IOException e) {
-                LOGGER.warn("Received a message, however cannot read process it as json, Ignoring message selection.", e);
+                LOGGER.warn("Received a message, however cannot acknowledge it.", e);
             }
         }
 
@@ -123,13 +123,16 @@ public class QueueingConsumer {
         // do nothing
     }
 
+    /**
+     * Filled by the channel delivery thread while read by the consuming one.
+     */
     public static class Result {
-        public final List<Map<String, Object>> messages = new ArrayList<>();
-        public final List<Object> payloads = new ArrayList<>();
-        public final List<Map<String, Object>> headers = new ArrayList<>();
-        public String consumeDuration;
+        public final List<Map<String, Object>> messages = new CopyOnWriteArrayList<>();
+        public final List<Object> payloads = new CopyOnWriteArrayList<>();
+        public final List<Map<String, Object>> headers = new CopyOnWriteArrayList<>();
+        public volatile String consumeDuration;
 
-        private void handleMessage(Map<String, Object> message) {
+        private synchronized void handleMessage(Map<String, Object> message) {
             messages.add(message);
             headers.add((Map<String, Object>) message.get("headers"));
             payloads.add(message.get("payload"));
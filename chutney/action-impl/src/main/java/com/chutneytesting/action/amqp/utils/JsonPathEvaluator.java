@@ -34,6 +34,25 @@ public class JsonPathEvaluator {
 
     public static boolean evaluate(String jsonAsString, String jsonPath) {
         JSONArray ret = JsonPath.using(CONFIG).parse(jsonAsString).read(jsonPath);
+        return anyNonNull(ret);
+    }
+
+    /**
+     * @throws com.jayway.jsonpath.InvalidPathException if given path is not valid
+     */
+    public static JsonPath compile(String jsonPath) {
+        return JsonPath.compile(jsonPath);
+    }
+
+    /**
+     * Evaluate a compiled path directly on an already parsed json tree, made of {@link java.util.Map}, {@link java.util.List} and simple values.
+     */
+    public static boolean evaluate(Object json, JsonPath jsonPath) {
+        JSONArray ret = JsonPath.using(CONFIG).parse(json).read(jsonPath);
+        return anyNonNull(ret);
+    }
+
+    private static boolean anyNonNull(JSONArray ret) {
         return StreamSupport.stream(spliterator(ret.iterator(), ret.size(), Spliterator.DISTINCT), false)
             .anyMatch(Objects::nonNull);
     }
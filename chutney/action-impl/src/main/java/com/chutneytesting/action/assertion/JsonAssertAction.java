@@ -22,6 +22,7 @@ import static com.chutneytesting.action.spi.validation.Validator.getErrorsFrom;
 
 import com.chutneytesting.action.assertion.placeholder.PlaceholderAsserter;
 import com.chutneytesting.action.assertion.placeholder.PlaceholderAsserterUtils;
+import com.chutneytesting.action.common.JsonDocuments;
 import com.chutneytesting.action.spi.Action;
 import com.chutneytesting.action.spi.ActionExecutionResult;
 import com.chutneytesting.action.spi.injectable.Input;
@@ -62,13 +63,13 @@ public class JsonAssertAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-            ReadContext json = JsonPath.parse(document, Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS));
+            ReadContext json = JsonPath.using(Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS)).parse(JsonDocuments.read(document));
 
             AtomicBoolean matchesOk = new AtomicBoolean(true);
             mapExpectedResults.entrySet().stream().forEach(entry -> {
                     String path = entry.getKey();
                     Object expected = entry.getValue();
-                    Object actualValue = json.read(path);
+                    Object actualValue = json.read(JsonDocuments.compile(path));
 
                     boolean result;
 
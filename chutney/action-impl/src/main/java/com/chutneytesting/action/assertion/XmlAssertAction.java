@@ -39,7 +39,6 @@ import org.jdom2.Element;
 import org.jdom2.Text;
 import org.jdom2.filter.ContentFilter;
 import org.jdom2.filter.Filter;
-import org.jdom2.input.SAXBuilder;
 import org.jdom2.xpath.XPathExpression;
 
 public class XmlAssertAction implements Action {
@@ -65,8 +64,7 @@ public class XmlAssertAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-            SAXBuilder saxBuilder = XmlUtils.saxBuilder();
-            Document document = new XmlContent(saxBuilder, documentAsString).buildDocumentWithoutNamespaces();
+            Document document = new XmlContent(XmlUtils.localSaxBuilder(), documentAsString).buildDocumentWithoutNamespaces();
             boolean assertTrue = true;
             for (Map.Entry<String, Object> xpathAndExpected : xpathsAndExpectedResults.entrySet()) {
                 String xpath = xpathAndExpected.getKey();
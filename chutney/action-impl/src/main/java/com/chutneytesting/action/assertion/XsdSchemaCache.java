@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.assertion;
+
+import com.chutneytesting.action.common.ResourceResolver;
+import com.chutneytesting.action.common.Timing;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.xml.sax.SAXException;
+
+/**
+ * Cache of compiled xsd schemas shared by xsd validation actions, keyed by xsd path.<br>
+ * Imported and included xsd are resolved once, when the schema is compiled.
+ * A schema is compiled again when the last modification date of its xsd or of one of its imports changes.
+ * <p>
+ * Compiled {@link Schema} are thread-safe, validators must be created for each validation.<br>
+ * Compilation timings are exposed as <i>chutney.action.xsd.compile</i> timer.
+ */
+class XsdSchemaCache implements MeterBinder {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+    static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private static final long UNKNOWN_LAST_MODIFIED = -1;
+
+    private final Cache<String, CompiledSchema> schemas;
+    private final Timing compilations = new Timing();
+
+    XsdSchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    XsdSchemaCache(int maximumSize, Duration expireAfterAccess) {
+        this.schemas = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        compilations.timer("chutney.action.xsd.compile")
+            .description("Xsd schemas compilation")
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.xsd.cache.size", schemas, Cache::size)
+            .description("Number of compiled xsd schemas")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws SAXException when xsd cannot be compiled
+     * @throws java.io.UncheckedIOException when an imported xsd cannot be read
+     */
+    Schema get(String xsdPath, ResourceLoader resourceLoader) throws SAXException, IOException {
+        CompiledSchema compiledSchema = schemas.getIfPresent(xsdPath);
+        if (compiledSchema == null || compiledSchema.isModified()) {
+            compiledSchema = compile(xsdPath, resourceLoader);
+            schemas.put(xsdPath, compiledSchema);
+        }
+        return compiledSchema.schema();
+    }
+
+    long size() {
+        schemas.cleanUp();
+        return schemas.size();
+    }
+
+    void invalidateAll() {
+        schemas.invalidateAll();
+    }
+
+    private CompiledSchema compile(String xsdPath, ResourceLoader resourceLoader) throws SAXException, IOException {
+        Map<Resource, Long> resources = new LinkedHashMap<>();
+        Resource resource = resourceLoader.getResource(xsdPath);
+        resources.put(resource, lastModified(resource));
+
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setResourceResolver(new ResourceResolver(xsdPath, imported -> resources.put(imported, lastModified(imported))));
+
+        long start = System.nanoTime();
+        try (InputStream xsd = resource.getInputStream()) {
+            return new CompiledSchema(factory.newSchema(new StreamSource(xsd)), Map.copyOf(resources));
+        } finally {
+            compilations.recordSince(start);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return UNKNOWN_LAST_MODIFIED;
+        }
+    }
+
+    private record CompiledSchema(Schema schema, Map<Resource, Long> resources) {
+        private boolean isModified() {
+            return resources.entrySet().stream()
+                .anyMatch(resource -> lastModified(resource.getKey()) != resource.getValue());
+        }
+    }
+}
@@ -20,29 +20,27 @@ import static com.chutneytesting.action.spi.validation.ActionValidatorsUtils.not
 import static com.chutneytesting.action.spi.validation.Validator.getErrorsFrom;
 import static com.chutneytesting.action.spi.validation.Validator.of;
 
-import com.chutneytesting.action.common.ResourceResolver;
 import com.chutneytesting.action.spi.Action;
 import com.chutneytesting.action.spi.ActionExecutionResult;
 import com.chutneytesting.action.spi.injectable.Input;
 import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.validation.Validator;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
-import javax.xml.XMLConstants;
-import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import org.springframework.core.io.DefaultResourceLoader;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.xml.sax.SAXException;
 
 public class XsdValidationAction implements Action {
 
+    private static final XsdSchemaCache SCHEMAS = new XsdSchemaCache();
+
     private String xml;
     private String xsdPath;
     private Logger logger;
@@ -54,6 +52,13 @@ public class XsdValidationAction implements Action {
         this.xsdPath = xsdPath;
     }
 
+    /**
+     * @return binder of compiled schemas cache metrics
+     */
+    public static MeterBinder metrics() {
+        return SCHEMAS;
+    }
+
     @Override
     public List<String> validateInputs() {
         Validator<String> xmlValidation = of(xsdPath)
@@ -65,13 +70,7 @@ public class XsdValidationAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            factory.setResourceResolver(new ResourceResolver(xsdPath));
-
-            Resource resource = resourceLoader.getResource(xsdPath);
-            Source schemaSource = new StreamSource(resource.getInputStream());
-            Schema schema = factory.newSchema(schemaSource);
+            Schema schema = SCHEMAS.get(xsdPath, resourceLoader);
             javax.xml.validation.Validator validator = schema.newValidator();
             try (StringReader sr = new StringReader(xml)) {
                 StreamSource ss = new StreamSource(sr);
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Parse-once json documents and compiled json paths, shared by json functions and assertions.
+ * <p>
+ * Documents given as strings are parsed once and kept as long as the string itself is referenced,
+ * typically by a step output in the scenario context, so that reading many paths of a same body only parses it once.
+ * Strings are looked up by identity, without hashing their content.<br>
+ * Other documents may be modified between two reads, so they are serialized and parsed at each read.
+ */
+public final class JsonDocuments {
+
+    private static final int MAXIMUM_DOCUMENTS = 256;
+    private static final int MAXIMUM_PATHS = 2000;
+
+    private static final Cache<String, Object> DOCUMENTS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .softValues()
+        .maximumSize(MAXIMUM_DOCUMENTS)
+        .build();
+
+    private static final Cache<String, JsonPath> PATHS = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_PATHS)
+        .build();
+
+    private JsonDocuments() {
+    }
+
+    /**
+     * @return the parsed document, which may be shared and must not be modified
+     */
+    public static Object read(Object document) {
+        if (document instanceof String json) {
+            Object parsed = DOCUMENTS.getIfPresent(json);
+            if (parsed == null) {
+                parsed = parse(json);
+                DOCUMENTS.put(json, parsed);
+            }
+            return parsed;
+        }
+        return parse(JsonUtils.jsonStringify(document));
+    }
+
+    /**
+     * @return the parsed document, owned by the caller
+     */
+    public static Object copy(Object document) {
+        if (document instanceof String json) {
+            return deepCopy(read(json), jsonProvider());
+        }
+        return parse(JsonUtils.jsonStringify(document));
+    }
+
+    /**
+     * @return given node read from a parsed document, deep copied when it is an object or an array,
+     * so that the caller can modify it without altering a shared document
+     */
+    public static Object detach(Object node) {
+        return deepCopy(node, jsonProvider());
+    }
+
+    /**
+     * @throws com.jayway.jsonpath.InvalidPathException if given path is not valid
+     */
+    public static JsonPath compile(String path) {
+        try {
+            return PATHS.get(path, () -> JsonPath.compile(path));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Object parse(String json) {
+        return JsonPath.parse(json).json();
+    }
+
+    private static Object deepCopy(Object node, JsonProvider jsonProvider) {
+        if (node instanceof Map<?, ?> map) {
+            Object copy = jsonProvider.createMap();
+            map.forEach((key, value) -> jsonProvider.setProperty(copy, key, deepCopy(value, jsonProvider)));
+            return copy;
+        }
+        if (node instanceof List<?> list) {
+            Object copy = jsonProvider.createArray();
+            for (int i = 0; i < list.size(); i++) {
+                jsonProvider.setArrayIndex(copy, i, deepCopy(list.get(i), jsonProvider));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    private static JsonProvider jsonProvider() {
+        return Configuration.defaultConfiguration().jsonProvider();
+    }
+}
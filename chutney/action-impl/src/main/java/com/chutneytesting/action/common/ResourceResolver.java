@@ -25,6 +25,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
@@ -36,11 +37,20 @@ import org.w3c.dom.ls.LSResourceResolver;
 public class ResourceResolver implements LSResourceResolver {
     private final String urlPrefix;
     private final Path rootResourcePath;
+    private final Consumer<Resource> resolvedResourceListener;
     private final List<String> urlPrefixes = Arrays.asList(
         ResourceUtils.CLASSPATH_URL_PREFIX,
         ResourceUtils.FILE_URL_PREFIX);
 
     public ResourceResolver(String rootFilePath) {
+        this(rootFilePath, resource -> {});
+    }
+
+    /**
+     * @param resolvedResourceListener notified of each resolved resource
+     */
+    public ResourceResolver(String rootFilePath, Consumer<Resource> resolvedResourceListener) {
+        this.resolvedResourceListener = resolvedResourceListener;
         urlPrefix = urlPrefixes.stream().filter(rootFilePath::startsWith)
             .findFirst()
             .orElse(ResourceUtils.CLASSPATH_URL_PREFIX);
@@ -59,6 +69,7 @@ public class ResourceResolver implements LSResourceResolver {
             input.setSystemId(systemId);
             input.setBaseURI(fixBaseURI(baseURI));
             input.setByteStream(resource.getInputStream());
+            resolvedResourceListener.accept(resource);
             return input;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
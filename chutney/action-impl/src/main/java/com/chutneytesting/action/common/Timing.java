@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.common;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Count and total duration of an operation, recorded without any meter registry
+ * and exposed as a {@link FunctionTimer} to the registries it is bound to.
+ */
+public final class Timing {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public <T> T record(Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * @param start operation start, from {@link System#nanoTime()}
+     */
+    public void recordSince(long start) {
+        count.increment();
+        totalNanos.add(System.nanoTime() - start);
+    }
+
+    public FunctionTimer.Builder<Timing> timer(String name) {
+        return FunctionTimer.builder(name, this, t -> t.count.sum(), t -> t.totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
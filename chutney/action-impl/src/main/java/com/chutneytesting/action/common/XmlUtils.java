@@ -17,45 +17,102 @@
 package com.chutneytesting.action.common;
 
 import com.google.common.base.Ascii;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.jdom2.Document;
 import org.jdom2.JDOMException;
 import org.jdom2.Namespace;
+import org.jdom2.filter.Filter;
 import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
 
+/**
+ * XML parsing and XPath compilation helpers.
+ * <p>
+ * XPath expressions keep evaluation state and are not thread safe: they are compiled once per thread
+ * by expression, namespaces and filter, and must only be evaluated by the calling thread.<br>
+ * Parsers are reused per thread, and documents read with {@link #readDocument(String)} are parsed once and kept
+ * as long as the given string itself is referenced, typically by a step output in the scenario context.
+ */
 public class XmlUtils {
     private static final String DISABLE_DOCTYPE_DECLARATION = "http://apache.org/xml/features/disallow-doctype-decl";
+    private static final int MAXIMUM_DOCUMENTS = 256;
+    private static final int MAXIMUM_XPATHS_PER_THREAD = 256;
+
+    private static final ThreadLocal<SAXBuilder> SAX_BUILDERS = ThreadLocal.withInitial(XmlUtils::saxBuilder);
+
+    private static final Cache<String, Document> DOCUMENTS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .softValues()
+        .maximumSize(MAXIMUM_DOCUMENTS)
+        .build();
+
+    private static final ThreadLocal<Map<XPathKey, XPathExpression<?>>> XPATHS = ThreadLocal.withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<XPathKey, XPathExpression<?>> eldest) {
+            return size() > MAXIMUM_XPATHS_PER_THREAD;
+        }
+    });
+
+    /**
+     * @return a new document, owned by the caller
+     */
     public static Document toDocument(String documentAsString) throws InvalidXmlDocumentException {
 
         try {
-            return saxBuilder().build(new ByteArrayInputStream(documentAsString.getBytes()));
+            return localSaxBuilder().build(new ByteArrayInputStream(documentAsString.getBytes()));
         } catch (JDOMException | IOException e) {
             throw new InvalidXmlDocumentException(documentAsString);
         }
     }
 
-    public static XPathExpression<Object> compileXPath(String xpath) throws InvalidXPathException {
-        try {
-            return XPathFactory.instance().compile(xpath);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidXPathException(xpath);
+    /**
+     * @return the parsed document, which may be shared and must not be modified
+     */
+    public static Document readDocument(String documentAsString) throws InvalidXmlDocumentException {
+        Document document = DOCUMENTS.getIfPresent(documentAsString);
+        if (document == null) {
+            document = toDocument(documentAsString);
+            DOCUMENTS.put(documentAsString, document);
         }
+        return document;
     }
+
+    public static XPathExpression<Object> compileXPath(String xpath) throws InvalidXPathException {
+        return compileXPath(xpath, Map.of(), Filters.fpassthrough());
+    }
+
     public static XPathExpression<Object> compileXPath(String xpath, Map<String, String> nsPrefixes) throws InvalidXPathException {
-        try {
+        return compileXPath(xpath, nsPrefixes, Filters.fpassthrough());
+    }
+
+    /**
+     * @return an expression reused by the calling thread, which must not be kept nor evaluated by other threads
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> XPathExpression<T> compileXPath(String xpath, Map<String, String> nsPrefixes, Filter<T> filter) throws InvalidXPathException {
+        Map<XPathKey, XPathExpression<?>> xpaths = XPATHS.get();
+        XPathKey key = new XPathKey(xpath, Map.copyOf(nsPrefixes), filter);
+        XPathExpression<?> expression = xpaths.get(key);
+        if (expression == null) {
             List<Namespace> ns = new ArrayList<>();
             nsPrefixes.forEach((prefix, url) -> ns.add(Namespace.getNamespace(prefix, url)));
-            return XPathFactory.instance().compile(xpath, Filters.fpassthrough(), null, ns);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidXPathException(xpath);
+            try {
+                expression = XPathFactory.instance().compile(xpath, filter, null, ns);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidXPathException(xpath, e);
+            }
+            xpaths.put(key, expression);
         }
+        return (XPathExpression<T>) expression;
     }
 
     @SuppressWarnings("serial")
@@ -67,8 +124,8 @@ public class XmlUtils {
 
     @SuppressWarnings("serial")
     public static class InvalidXPathException extends Exception {
-        InvalidXPathException(String xpath) {
-            super("Unable to compile XPath: " + xpath);
+        InvalidXPathException(String xpath, Throwable cause) {
+            super("Unable to compile XPath: " + xpath, cause);
         }
     }
 
@@ -77,4 +134,14 @@ public class XmlUtils {
         builder.setFeature(DISABLE_DOCTYPE_DECLARATION, true);
         return builder;
     }
+
+    /**
+     * @return a builder reused by the calling thread, which must not be kept nor reconfigured
+     */
+    public static SAXBuilder localSaxBuilder() {
+        return SAX_BUILDERS.get();
+    }
+
+    private record XPathKey(String xpath, Map<String, String> nsPrefixes, Filter<?> filter) {
+    }
 }
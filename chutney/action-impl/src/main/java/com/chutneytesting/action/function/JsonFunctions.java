@@ -18,13 +18,12 @@ package com.chutneytesting.action.function;
 
 import static java.util.Objects.requireNonNull;
 
-import com.chutneytesting.action.common.JsonUtils;
+import com.chutneytesting.action.common.JsonDocuments;
 import com.chutneytesting.action.spi.SpelFunction;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class JsonFunctions {
@@ -39,7 +38,7 @@ public class JsonFunctions {
 
     @SpelFunction
     public static Object jsonPath(Object document, String jsonPath) {
-        return JsonPath.parse(JsonUtils.jsonStringify(document)).read(jsonPath);
+        return JsonDocuments.detach(JsonPath.parse(JsonDocuments.read(document)).read(JsonDocuments.compile(jsonPath)));
     }
 
     @SpelFunction
@@ -49,26 +48,27 @@ public class JsonFunctions {
 
     @SpelFunction
     public static String jsonSet(Object document, String path, Object value) {
-        return JsonPath.parse(JsonUtils.jsonStringify(document))
-            .set(path, value)
+        return JsonPath.parse(JsonDocuments.copy(document))
+            .set(JsonDocuments.compile(path), value)
             .jsonString();
     }
 
     @SpelFunction
     public static String jsonSetMany(Object document, Map<String, Object> map) {
-        DocumentContext jsonDocument = JsonPath.parse(JsonUtils.jsonStringify(document));
-        map.forEach(jsonDocument::set);
+        DocumentContext jsonDocument = JsonPath.parse(JsonDocuments.copy(document));
+        map.forEach((path, value) -> jsonDocument.set(JsonDocuments.compile(path), value));
         return jsonDocument.jsonString();
     }
 
     @SpelFunction
+    @SuppressWarnings("unchecked")
     public static String jsonMerge(Object documentA, Object documentB) {
-        LinkedHashMap jsonDocA = JsonPath.parse(JsonUtils.jsonStringify(documentA)).json();
-        LinkedHashMap jsonDocB = JsonPath.parse(JsonUtils.jsonStringify(documentB)).json();
+        Map<Object, Object> jsonDocA = (Map<Object, Object>) JsonDocuments.copy(documentA);
+        Map<Object, Object> jsonDocB = (Map<Object, Object>) JsonDocuments.read(documentB);
 
         jsonDocA.putAll(jsonDocB);
 
-        return JsonPath.parse(JsonUtils.jsonStringify(jsonDocA)).jsonString();
+        return JsonPath.parse(jsonDocA).jsonString();
     }
 
 }
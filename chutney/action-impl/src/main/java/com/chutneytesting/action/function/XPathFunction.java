@@ -39,7 +39,7 @@ public class XPathFunction {
 
     @SpelFunction
     public static Object xpathNs(String documentAsString, String xpath, Map<String, String> nsPrefixes) throws XmlUtils.InvalidXmlDocumentException, XmlUtils.InvalidXPathException {
-        Document document = XmlUtils.toDocument(documentAsString);
+        Document document = XmlUtils.readDocument(documentAsString);
         XPathExpression<Object> xpathExpression = XmlUtils.compileXPath(xpath, nsPrefixes);
         Object jDomObject = xpathExpression.evaluateFirst(document);
         return unwrapJdomSimpleObject(jDomObject);
@@ -53,6 +53,8 @@ public class XPathFunction {
             result = attribute.getValue();
         } else if (jDomObject instanceof Element element) {
             result = unwrapJdomElement(element);
+        } else if (jDomObject instanceof Content content) {
+            result = content.clone();
         } else {
             result = jDomObject;
         }
@@ -74,7 +76,8 @@ public class XPathFunction {
         } else if (contents.size() == 1) {
             result = unwrapJdomSimpleObject(contents.get(0));
         } else {
-            result = jDomObject;
+            // Parsed documents are cached and shared, give a detached copy
+            result = jDomObject.clone();
         }
         return result;
     }
@@ -27,8 +27,8 @@ import com.chutneytesting.action.spi.injectable.Input;
 import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.validation.Validator;
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
 import groovy.lang.Script;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +37,8 @@ import org.codehaus.groovy.control.CompilationFailedException;
 
 public class GroovyAction implements Action {
 
+    private static final GroovyScriptCache SCRIPT_CACHE = new GroovyScriptCache();
+
     private final String scriptAsString;
     private final Map<String, Object> parameters;
     private final Logger logger;
@@ -49,6 +51,13 @@ public class GroovyAction implements Action {
         this.logger = logger;
     }
 
+    /**
+     * @return binder of compiled scripts cache metrics
+     */
+    public static MeterBinder metrics() {
+        return SCRIPT_CACHE;
+    }
+
     @Override
     public List<String> validateInputs() {
         Validator<String> scriptValidation = of(scriptAsString)
@@ -60,8 +69,7 @@ public class GroovyAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-            Script script = new GroovyShell().parse(scriptAsString);
-            script.setBinding(getBindingFromMap(parameters));
+            Script script = SCRIPT_CACHE.create(scriptAsString, getBindingFromMap(parameters));
 
             Map<String, Object> result = (Map<String, Object>) script.run();
 
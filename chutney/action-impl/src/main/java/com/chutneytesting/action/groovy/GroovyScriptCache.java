@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.groovy;
+
+import com.chutneytesting.action.common.Timing;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.Script;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+/**
+ * Cache of compiled groovy script classes shared by groovy actions, keyed by script source.<br>
+ * Scripts are compiled by a shared class loader which does not keep references on them once evicted,
+ * so that classes of scripts not used for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} can be unloaded.
+ * <p>
+ * Compilation and instantiation timings are exposed as <i>chutney.action.groovy.*</i> timers.
+ */
+class GroovyScriptCache implements MeterBinder {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+    static final int DEFAULT_MAXIMUM_SIZE = 500;
+
+    private static final String SCRIPT_CODE_BASE = "/groovy/script";
+
+    private final ScriptClassLoader classLoader = new ScriptClassLoader(GroovyScriptCache.class.getClassLoader());
+    private final AtomicLong scriptCounter = new AtomicLong();
+    private final Cache<String, Class<? extends Script>> scriptClasses;
+    private final Timing compilations = new Timing();
+    private final Timing instantiations = new Timing();
+
+    GroovyScriptCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    GroovyScriptCache(int maximumSize, Duration expireAfterAccess) {
+        this.scriptClasses = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<String, Class<? extends Script>>) notification -> unload(notification.getValue()))
+            .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        compilations.timer("chutney.action.groovy.compile")
+            .description("Groovy scripts compilation")
+            .register(meterRegistry);
+        instantiations.timer("chutney.action.groovy.instantiate")
+            .description("Groovy scripts instantiation")
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.groovy.cache.size", scriptClasses, Cache::size)
+            .description("Number of compiled groovy scripts")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return a new instance of the compiled script, bound to given binding
+     * @throws org.codehaus.groovy.control.CompilationFailedException when script cannot be compiled
+     */
+    Script create(String scriptAsString, Binding binding) {
+        Class<? extends Script> scriptClass = scriptClass(scriptAsString);
+        return instantiations.record(() -> InvokerHelper.createScript(scriptClass, binding));
+    }
+
+    long size() {
+        scriptClasses.cleanUp();
+        return scriptClasses.size();
+    }
+
+    void invalidateAll() {
+        scriptClasses.invalidateAll();
+        scriptClasses.cleanUp();
+    }
+
+    private Class<? extends Script> scriptClass(String scriptAsString) {
+        try {
+            return scriptClasses.get(scriptAsString, () -> compilations.record(() -> compile(scriptAsString)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends Script> compile(String scriptAsString) {
+        GroovyCodeSource codeSource = new GroovyCodeSource(scriptAsString, "Script" + scriptCounter.incrementAndGet() + ".groovy", SCRIPT_CODE_BASE);
+        codeSource.setCachable(false);
+        return (Class<? extends Script>) classLoader.parseClass(codeSource, false);
+    }
+
+    private void unload(Class<? extends Script> scriptClass) {
+        classLoader.forget(scriptClass);
+        InvokerHelper.removeClass(scriptClass);
+    }
+
+    private static class ScriptClassLoader extends GroovyClassLoader {
+
+        private ScriptClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private void forget(Class<?> scriptClass) {
+            removeClassCacheEntry(scriptClass.getName());
+        }
+    }
+}
@@ -21,30 +21,37 @@ import static com.chutneytesting.action.common.SecurityUtils.buildSslContext;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 
 import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.injectable.Target;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.net.MalformedURLException;
 import java.net.ProxySelector;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import javax.net.ssl.SSLContext;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.routing.DefaultProxyRoutePlanner;
 import org.apache.hc.client5.http.impl.routing.SystemDefaultRoutePlanner;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.routing.HttpRoutePlanner;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.support.BasicAuthenticationInterceptor;
@@ -54,6 +61,24 @@ import org.springframework.web.client.RestTemplate;
 public class HttpClientFactory {
 
     private static final String PROXY_PROPERTY = "proxy";
+    static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "maxConnectionsPerRoute";
+    static final String MAX_CONNECTIONS_PROPERTY = "maxConnections";
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+    private static final TimeValue IDLE_CONNECTIONS_TIMEOUT = TimeValue.ofSeconds(30);
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(2);
+
+    private static final HttpClientRegistry SHARED_REGISTRY = new HttpClientRegistry();
+
+    private final HttpClientRegistry registry;
+
+    public HttpClientFactory() {
+        this(SHARED_REGISTRY);
+    }
+
+    HttpClientFactory(HttpClientRegistry registry) {
+        this.registry = registry;
+    }
 
     /**
      * @return an {@link HttpClient} depending on given {@link Target} able to handle:
@@ -67,14 +92,39 @@ public class HttpClientFactory {
      * </ul>
      * </li>
      * </ul>
+     * Underlying connections are pooled and reused by all clients created for the same target and timeout.
+     * Cookies and authentication states are not kept between calls, so that pooled clients do not leak them between steps.
+     * A pool is not closed while a call is using it, even when evicted.
+     * Pools size can be set with <i>maxConnectionsPerRoute</i> and <i>maxConnections</i> target properties.
      */
     public HttpClient create(Logger logger, Target target, Class<String> responseType, int timeout) {
-        RestTemplate restTemplate = buildRestTemplate(logger, target, timeout);
+        logProxyConfiguration(logger, target);
+        return (httpMethod, resource, input) -> {
+            HttpClientRegistry.PooledHttpClient client = registry.acquire(target, timeout, () -> buildPooledHttpClient(target, timeout));
+            try {
+                return client.restTemplate().exchange(target.uri().toString() + resource, httpMethod, input, responseType);
+            } finally {
+                client.release();
+            }
+        };
+    }
 
-        return (httpMethod, resource, input) -> restTemplate.exchange(target.uri().toString() + resource, httpMethod, input, responseType);
+    /**
+     * @return connections statistics of pooled clients, by target
+     */
+    public static Map<String, PoolStats> poolStats() {
+        return SHARED_REGISTRY.poolStats();
     }
 
-    private static RestTemplate buildRestTemplate(Logger logger, Target target, int timeout) {
+    /**
+     * @return binder of pooled clients metrics
+     */
+    public static MeterBinder metrics() {
+        return SHARED_REGISTRY;
+    }
+
+    // Shared by steps, must not keep any step state such as its logger, cookies or authentication cache
+    private static HttpClientRegistry.PooledHttpClient buildPooledHttpClient(Target target, int timeout) {
 
         SSLContext sslContext;
         try {
@@ -85,37 +135,54 @@ public class HttpClientFactory {
 
         final SSLConnectionSocketFactory socketFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
 
-        final HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
             .setSSLSocketFactory(socketFactory)
             .setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(timeout, TimeUnit.MILLISECONDS).build())
+            .setDefaultConnectionConfig(ConnectionConfig.custom().setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY).build())
+            .setMaxConnPerRoute(intProperty(target, MAX_CONNECTIONS_PER_ROUTE_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_ROUTE))
+            .setMaxConnTotal(intProperty(target, MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS))
             .build();
-        final HttpClientBuilder httpClient = HttpClients.custom().setConnectionManager(connectionManager);
-
-        final Optional<HttpRoutePlanner> httpRoutePlanner = getProxyConfiguration(logger, target);
+        final HttpClientBuilder httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .disableCookieManagement()
+            .disableAuthCaching()
+            .evictExpiredConnections()
+            .evictIdleConnections(IDLE_CONNECTIONS_TIMEOUT);
+
+        final Optional<HttpRoutePlanner> httpRoutePlanner = getProxyConfiguration(target);
         httpRoutePlanner.ifPresent(httpClient::setRoutePlanner);
 
-        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient.build());
+        final CloseableHttpClient client = httpClient.build();
+        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(client);
         requestFactory.setConnectTimeout(timeout);
 
         final RestTemplate restTemplate = new RestTemplate(requestFactory);
         configureBasicAuth(target, restTemplate);
         removeErrorHandler(restTemplate);
-        return restTemplate;
+        return new HttpClientRegistry.PooledHttpClient(restTemplate, client, connectionManager);
+    }
+
+    private static int intProperty(Target target, String property, int defaultValue) {
+        return ofNullable(target.property(property)).flatMap(identity())
+            .map(Integer::parseInt)
+            .orElse(defaultValue);
     }
 
-    private static Optional<HttpRoutePlanner> getProxyConfiguration(Logger logger, Target target) {
+    private static void logProxyConfiguration(Logger logger, Target target) {
         if (isTargetProxySet(target)) {
             try {
-                final String proxy = target.property(PROXY_PROPERTY).orElseThrow();
-                final URL url = new URL(proxy);
-                final String host = url.getHost();
-                final String scheme = url.getProtocol();
-                final int port = ofNullable(url.getPort()).orElse(3128);
-                final HttpHost httpProxy = new HttpHost(scheme, host, port);
-                logger.info("Proxy used: [" + httpProxy + "]");
-                return of(new DefaultProxyRoutePlanner(httpProxy));
+                logger.info("Proxy used: [" + targetProxy(target) + "]");
             } catch (MalformedURLException e) {
                 logger.error("Malformed proxy url [" + target.property(PROXY_PROPERTY).get() + "]" + e.getMessage());
+            }
+        }
+    }
+
+    private static Optional<HttpRoutePlanner> getProxyConfiguration(Target target) {
+        if (isTargetProxySet(target)) {
+            try {
+                return of(new DefaultProxyRoutePlanner(targetProxy(target)));
+            } catch (MalformedURLException e) {
                 return empty();
             }
         } else if (isSystemProxySet()) {
@@ -124,6 +191,12 @@ public class HttpClientFactory {
         return empty();
     }
 
+    private static HttpHost targetProxy(Target target) throws MalformedURLException {
+        final URL url = new URL(target.property(PROXY_PROPERTY).orElseThrow());
+        final int port = ofNullable(url.getPort()).orElse(3128);
+        return new HttpHost(url.getProtocol(), url.getHost(), port);
+    }
+
     private static boolean isTargetProxySet(Target target) {
         return target.property(PROXY_PROPERTY).isPresent();
     }
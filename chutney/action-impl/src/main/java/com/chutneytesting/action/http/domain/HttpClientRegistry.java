@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.http.domain;
+
+import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
+
+import com.chutneytesting.action.spi.injectable.Target;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Registry of pooled HTTP clients shared by http actions across steps and scenarios.<br>
+ * Clients are keyed by target name, url, security and proxy properties and timeout.
+ * <p>
+ * Each use of a client is counted, from {@link #acquire} to {@link PooledHttpClient#release}.
+ * Clients not acquired for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} are evicted, and closed with their connection pool
+ * once released by all their users.
+ * <p>
+ * Pools statistics are exposed as <i>chutney.action.http.pool.*</i> gauges.
+ */
+class HttpClientRegistry implements MeterBinder {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final Cache<Key, PooledHttpClient> clients;
+
+    HttpClientRegistry() {
+        this(DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    HttpClientRegistry(Duration expireAfterAccess) {
+        this.clients = CacheBuilder.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<Key, PooledHttpClient>) notification -> notification.getValue().evict())
+            .build();
+    }
+
+    /**
+     * @return a client which must be released after use
+     */
+    PooledHttpClient acquire(Target target, int timeout, Supplier<PooledHttpClient> clientBuilder) {
+        Key key = Key.of(target, timeout);
+        while (true) {
+            PooledHttpClient client = get(key, clientBuilder);
+            if (client.acquire()) {
+                return client;
+            }
+            // Evicted between get and acquire
+            clients.asMap().remove(key, client);
+        }
+    }
+
+    private PooledHttpClient get(Key key, Supplier<PooledHttpClient> clientBuilder) {
+        try {
+            return clients.get(key, clientBuilder::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return statistics of each pool, by target name and url
+     */
+    Map<String, PoolStats> poolStats() {
+        return clients.asMap().entrySet().stream()
+            .collect(Collectors.toMap(e -> e.getKey().toString(), e -> e.getValue().connectionManager().getTotalStats(), (s1, s2) -> s1));
+    }
+
+    long size() {
+        clients.cleanUp();
+        return clients.size();
+    }
+
+    void invalidateAll() {
+        clients.invalidateAll();
+        clients.cleanUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("chutney.action.http.pool.count", clients, Cache::size)
+            .description("Number of pooled http clients")
+            .register(meterRegistry);
+        Stream.of(
+            Map.entry("leased", (ToIntFunction<PoolStats>) PoolStats::getLeased),
+            Map.entry("available", (ToIntFunction<PoolStats>) PoolStats::getAvailable),
+            Map.entry("pending", (ToIntFunction<PoolStats>) PoolStats::getPending)
+        ).forEach(stat ->
+            Gauge.builder("chutney.action.http.pool.connections", clients, c -> sumStats(c, stat.getValue()))
+                .description("Connections of pooled http clients")
+                .tag("state", stat.getKey())
+                .register(meterRegistry)
+        );
+    }
+
+    private static int sumStats(Cache<Key, PooledHttpClient> clients, ToIntFunction<PoolStats> stat) {
+        return clients.asMap().values().stream()
+            .mapToInt(client -> stat.applyAsInt(client.connectionManager().getTotalStats()))
+            .sum();
+    }
+
+    static class PooledHttpClient {
+        private final RestTemplate restTemplate;
+        private final CloseableHttpClient httpClient;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private int references;
+        private boolean evicted;
+        private boolean closed;
+
+        PooledHttpClient(RestTemplate restTemplate, CloseableHttpClient httpClient, PoolingHttpClientConnectionManager connectionManager) {
+            this.restTemplate = restTemplate;
+            this.httpClient = httpClient;
+            this.connectionManager = connectionManager;
+        }
+
+        RestTemplate restTemplate() {
+            return restTemplate;
+        }
+
+        PoolingHttpClientConnectionManager connectionManager() {
+            return connectionManager;
+        }
+
+        void release() {
+            synchronized (this) {
+                references--;
+            }
+            closeIfUnused();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        private void evict() {
+            synchronized (this) {
+                evicted = true;
+            }
+            closeIfUnused();
+        }
+
+        // Pool is closed outside the lock since closing connections may block on network
+        private void closeIfUnused() {
+            synchronized (this) {
+                if (!evicted || references > 0 || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    private record Key(String targetName, String url, Map<String, String> properties, int timeout) {
+
+        static Key of(Target target, int timeout) {
+            Map<String, String> properties = new HashMap<>();
+            putIfPresent(properties, "user", target.user());
+            putIfPresent(properties, "userPassword", target.userPassword());
+            putIfPresent(properties, "trustStore", target.trustStore());
+            putIfPresent(properties, "trustStorePassword", target.trustStorePassword());
+            putIfPresent(properties, "keyStore", target.keyStore());
+            putIfPresent(properties, "keyStorePassword", target.keyStorePassword());
+            putIfPresent(properties, "keyPassword", target.keyPassword());
+            Stream.of("sslProtocol", "proxy", HttpClientFactory.MAX_CONNECTIONS_PER_ROUTE_PROPERTY, HttpClientFactory.MAX_CONNECTIONS_PROPERTY)
+                .forEach(property -> putIfPresent(properties, property, target.property(property)));
+            return new Key(target.name(), Objects.toString(target.uri()), properties, timeout);
+        }
+
+        private static void putIfPresent(Map<String, String> properties, String key, Optional<String> value) {
+            ofNullable(value).flatMap(identity()).ifPresent(v -> properties.put(key, v));
+        }
+
+        @Override
+        public String toString() {
+            return targetName + " - " + url;
+        }
+    }
+}
@@ -18,13 +18,12 @@ package com.chutneytesting.action.jakarta.consumer.bodySelector;
 
 import com.chutneytesting.action.common.XmlUtils;
 import com.chutneytesting.action.jakarta.domain.XmlContent;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.jdom2.filter.Filters;
-import org.jdom2.input.SAXBuilder;
 import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 
 class XpathBodySelectorParser implements BodySelectorParser {
 
@@ -45,8 +44,12 @@ class XpathBodySelectorParser implements BodySelectorParser {
         final Optional<BodySelector> optionalBodySelector;
         if (matcher.matches()) {
             String xpath = matcher.group("xpath");
-            XPathExpression<Boolean> xPathExpression = XPathFactory.instance().compile(xpath, Filters.fboolean());
-            optionalBodySelector = Optional.of(new XpathBodySelector(xPathExpression));
+            try {
+                XmlUtils.compileXPath(xpath, Map.of(), Filters.fboolean());
+                optionalBodySelector = Optional.of(new XpathBodySelector(xpath));
+            } catch (XmlUtils.InvalidXPathException e) {
+                throw new IllegalArgumentException(e.getCause().getMessage(), e);
+            }
         } else {
             optionalBodySelector = Optional.empty();
         }
@@ -54,20 +57,28 @@ class XpathBodySelectorParser implements BodySelectorParser {
     }
 
     private static class XpathBodySelector extends TextMessageBodySelector {
-        private final XPathExpression<Boolean> xPathExpression;
-        private final SAXBuilder saxBuilder = XmlUtils.saxBuilder();
+        private final String xpath;
 
-        XpathBodySelector(XPathExpression<Boolean> xPathExpression) {
-            this.xPathExpression = xPathExpression;
+        XpathBodySelector(String xpath) {
+            this.xpath = xpath;
         }
 
         @Override
         public boolean match(String messageBody) {
-            XmlContent xmlContent = new XmlContent(saxBuilder, messageBody);
+            XmlContent xmlContent = new XmlContent(XmlUtils.localSaxBuilder(), messageBody);
             return xmlContent
                 .tryBuildDocumentWithoutNamespaces()
-                .map(xPathExpression::evaluateFirst)
+                .map(document -> compileXPath().evaluateFirst(document))
                 .orElse(Boolean.FALSE);
         }
+
+        // Compiled expressions are owned by the calling thread, and already checked when parsed
+        private XPathExpression<Boolean> compileXPath() {
+            try {
+                return XmlUtils.compileXPath(xpath, Map.of(), Filters.fboolean());
+            } catch (XmlUtils.InvalidXPathException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
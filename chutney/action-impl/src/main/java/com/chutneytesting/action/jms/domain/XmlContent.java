@@ -72,7 +72,10 @@ public class XmlContent {
     private String removeTagNamespaces(String stringRepresentationWithoutDefaultNamespace) {
         final StringBuilder sb = new StringBuilder();
         Matcher matcher1 = XML_NAMESPACED_TAG_PATTERN.matcher(stringRepresentationWithoutDefaultNamespace);
-        while (matcher1.find()) {
+        if (!matcher1.find()) {
+            return stringRepresentationWithoutDefaultNamespace;
+        }
+        do {
             String end = matcher1.group("end");
             String tag = matcher1.group("tag");
 
@@ -80,7 +83,7 @@ public class XmlContent {
                 (end.isEmpty() ? "" : "/") +
                 tag
             );
-        }
+        } while (matcher1.find());
         matcher1.appendTail(sb);
         return sb.toString();
     }
@@ -34,7 +34,7 @@ import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 import static org.springframework.util.MimeTypeUtils.APPLICATION_XML;
 
 import com.chutneytesting.action.amqp.utils.JsonPathEvaluator;
-import com.chutneytesting.action.function.XPathFunction;
+import com.chutneytesting.action.common.XmlUtils;
 import com.chutneytesting.action.spi.Action;
 import com.chutneytesting.action.spi.ActionExecutionResult;
 import com.chutneytesting.action.spi.injectable.Input;
@@ -42,19 +42,24 @@ import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.injectable.Target;
 import com.chutneytesting.action.spi.time.Duration;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.commons.exec.util.MapUtils;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.MessageListener;
@@ -65,6 +70,13 @@ public class KafkaBasicConsumeAction implements Action {
 
     private final KafkaConsumerFactoryFactory kafkaConsumerFactoryFactory = new KafkaConsumerFactoryFactory();
     private static final String AUTO_COMMIT_COUNT_CONFIG = "auto.commit.count";
+    static final String SHARED_CONSUMER_PROPERTY = "sharedConsumer";
+    static final String SHARED_CONSUMER_LOOK_BACK_PROPERTY = "sharedConsumerLookBack";
+    static final String SHARED_CONSUMER_BUFFER_SIZE_PROPERTY = "sharedConsumerBufferSize";
+    private static final String DEFAULT_SHARED_CONSUMER_LOOK_BACK = "10 sec";
+    private static final String DEFAULT_SHARED_CONSUMER_BUFFER_SIZE = "1000";
+
+    private static final KafkaConsumerHubRegistry SHARED_CONSUMERS = KafkaConsumerHubRegistry.withShutdownHook();
 
     static final String OUTPUT_BODY = "body";
     static final String OUTPUT_BODY_HEADERS_KEY = "headers";
@@ -84,11 +96,14 @@ public class KafkaBasicConsumeAction implements Action {
     private final String headerSelector;
     private final Target target;
     private final CountDownLatch countDownLatch;
-    private final List<Map<String, Object>> consumedMessages = new ArrayList<>();
+    // Written by listener threads
+    private final List<Map<String, Object>> consumedMessages = new CopyOnWriteArrayList<>();
     private final String group;
     private final String ackMode;
     private final Boolean resetOffset;
-    private MimeType recordContentType;
+    // Selectors compiled on first use, according to received messages content type
+    private volatile JsonPath jsonSelector;
+    private volatile JsonPath jsonHeaderSelector;
 
     public KafkaBasicConsumeAction(Target target,
                                    @Input("topic") String topic,
@@ -121,6 +136,13 @@ public class KafkaBasicConsumeAction implements Action {
         this.resetOffset = ofNullable(resetOffset).orElse(false);
     }
 
+    /**
+     * @return binder of shared consumers metrics
+     */
+    public static MeterBinder metrics() {
+        return SHARED_CONSUMERS;
+    }
+
     @Override
     public List<String> validateInputs() {
         return getErrorsFrom(
@@ -134,17 +156,14 @@ public class KafkaBasicConsumeAction implements Action {
 
     @Override
     public ActionExecutionResult execute() {
+        if (useSharedConsumer()) {
+            return executeWithSharedConsumer();
+        }
         ConcurrentMessageListenerContainer<String, String> messageListenerContainer = createMessageListenerContainer();
         try {
             logger.info("Consuming message from topic " + topic);
             messageListenerContainer.start();
-            countDownLatch.await(Duration.parse(timeout).toMilliseconds(), TimeUnit.MILLISECONDS);
-            if (consumedMessages.size() != nbMessages) {
-                logger.error("Unable to get the expected number of messages [" + nbMessages + "] during " + timeout + " from topic " + topic + ".");
-                return ActionExecutionResult.ko();
-            }
-            logger.info("Consumed [" + nbMessages + "] Kafka Messages from topic " + topic);
-            return ActionExecutionResult.ok(toOutputs());
+            return awaitMessages();
         } catch (Exception e) {
             logger.error("An exception occurs when consuming a message to Kafka server: " + e.getMessage());
             return ActionExecutionResult.ko();
@@ -153,35 +172,78 @@ public class KafkaBasicConsumeAction implements Action {
         }
     }
 
+    /**
+     * Subscribe to the consumer shared by steps of same target, topic and consumer configuration,
+     * so that only the first step waits for the group join and partitions assignment.
+     */
+    private ActionExecutionResult executeWithSharedConsumer() {
+        try (KafkaConsumerHub.Subscription ignored = SHARED_CONSUMERS.subscribe(sharedConsumerKey(), this::createConsumerHub, createRecordSubscriber())) {
+            logger.info("Consuming message from topic " + topic + " with shared consumer");
+            return awaitMessages();
+        } catch (Exception e) {
+            logger.error("An exception occurs when consuming a message to Kafka server: " + e.getMessage());
+            return ActionExecutionResult.ko();
+        }
+    }
+
+    private ActionExecutionResult awaitMessages() throws InterruptedException {
+        countDownLatch.await(Duration.parse(timeout).toMilliseconds(), TimeUnit.MILLISECONDS);
+        List<Map<String, Object>> messages = new ArrayList<>(consumedMessages);
+        if (messages.size() != nbMessages) {
+            logger.error("Unable to get the expected number of messages [" + nbMessages + "] during " + timeout + " from topic " + topic + ".");
+            return ActionExecutionResult.ko();
+        }
+        logger.info("Consumed [" + nbMessages + "] Kafka Messages from topic " + topic);
+        return ActionExecutionResult.ok(toOutputs(messages));
+    }
+
     private MessageListener<String, String> createMessageListener() {
+        Predicate<ConsumerRecord<String, String>> subscriber = createRecordSubscriber();
+        return subscriber::test;
+    }
+
+    /**
+     * Headers are selected first, so that the payload is only parsed for messages with matching headers.
+     * Selectors are evaluated on the parsed message, without serializing it back.
+     *
+     * @return a predicate which takes the record and returns true if this step is expecting it
+     */
+    private Predicate<ConsumerRecord<String, String>> createRecordSubscriber() {
         return record -> {
             if (countDownLatch.getCount() <= 0) {
-                return;
+                return false;
             }
-            final Map<String, Object> message = extractMessageFromRecord(record);
-            if (applySelector(message) && applyHeaderSelector(message)) {
-                addMessageToResultAndCountDown(message);
+            final Map<String, Object> headers = extractHeaders(record);
+            final MimeType recordContentType = recordContentType(headers);
+            if (!applyHeaderSelector(headers)) {
+                return false;
             }
+            final Map<String, Object> message = new HashMap<>();
+            message.put(OUTPUT_BODY_HEADERS_KEY, headers);
+            message.put(OUTPUT_BODY_PAYLOAD_KEY, extractPayload(record, recordContentType));
+            return applySelector(message, recordContentType) && addMessageToResultAndCountDown(message);
         };
     }
 
-    private boolean applySelector(Map<String, Object> message) {
+    private boolean applySelector(Map<String, Object> message, MimeType recordContentType) {
         if (isBlank(selector)) {
             return true;
         }
 
         if (recordContentType.getSubtype().contains(APPLICATION_JSON.getSubtype())) {
             try {
-                String messageAsString = OBJECT_MAPPER.writeValueAsString(message);
-                return JsonPathEvaluator.evaluate(messageAsString, selector);
+                if (jsonSelector == null) {
+                    jsonSelector = JsonPathEvaluator.compile(selector);
+                }
+                return JsonPathEvaluator.evaluate(message, jsonSelector);
             } catch (Exception e) {
                 logger.info("Received a message, however cannot read process it as json, ignoring payload selection : " + e.getMessage());
                 return true;
             }
         } else if (recordContentType.getSubtype().contains(APPLICATION_XML.getSubtype())) {
             try {
-                Object result = XPathFunction.xpath((String) message.get(OUTPUT_BODY_PAYLOAD_KEY), selector);
-                return ofNullable(result).isPresent();
+                // XPath expressions are not thread safe, get one per evaluation
+                return XmlUtils.compileXPath(selector).evaluateFirst(XmlUtils.readDocument((String) message.get(OUTPUT_BODY_PAYLOAD_KEY))) != null;
             } catch (Exception e) {
                 logger.info("Received a message, however cannot read process it as xml, ignoring payload selection : " + e.getMessage());
                 return true;
@@ -192,26 +254,32 @@ public class KafkaBasicConsumeAction implements Action {
         }
     }
 
-    private boolean applyHeaderSelector(Map<String, Object> message) {
+    private boolean applyHeaderSelector(Map<String, Object> headers) {
         if (isBlank(headerSelector)) {
             return true;
         }
 
         try {
-            String messageAsString = OBJECT_MAPPER.writeValueAsString(message.get(OUTPUT_BODY_HEADERS_KEY));
-            return JsonPathEvaluator.evaluate(messageAsString, headerSelector);
+            if (jsonHeaderSelector == null) {
+                jsonHeaderSelector = JsonPathEvaluator.compile(headerSelector);
+            }
+            return JsonPathEvaluator.evaluate(headers, jsonHeaderSelector);
         } catch (Exception e) {
             logger.error("\"Received a message, however cannot process headers selection, Ignoring header selection");
             return true;
         }
     }
 
-    private void addMessageToResultAndCountDown(Map<String, Object> message) {
+    private synchronized boolean addMessageToResultAndCountDown(Map<String, Object> message) {
+        if (countDownLatch.getCount() <= 0) {
+            return false;
+        }
         consumedMessages.add(message);
         countDownLatch.countDown();
+        return true;
     }
 
-    private Object extractPayload(ConsumerRecord<String, String> record) {
+    private Object extractPayload(ConsumerRecord<String, String> record, MimeType recordContentType) {
         if (recordContentType.getSubtype().contains(APPLICATION_JSON.getSubtype())) {
             try {
                 return OBJECT_MAPPER.readValue(record.value(), Map.class);
@@ -222,27 +290,24 @@ public class KafkaBasicConsumeAction implements Action {
         return record.value();
     }
 
-    private Map<String, Object> extractMessageFromRecord(ConsumerRecord<String, String> record) {
-        final Map<String, Object> message = new HashMap<>();
-        final Map<String, Object> headers = extractHeaders(record);
-        checkContentTypeHeader(headers);
-        Object payload = extractPayload(record);
-        message.put(OUTPUT_BODY_HEADERS_KEY, headers);
-        message.put(OUTPUT_BODY_PAYLOAD_KEY, payload);
-        return message;
-    }
-
     private Map<String, Object> extractHeaders(ConsumerRecord<String, String> record) {
         return Stream.of(record.headers().toArray()).distinct().collect(toMap(Header::key, header -> new String(header.value(), UTF_8)));
     }
 
     private ConcurrentMessageListenerContainer<String, String> createMessageListenerContainer() {
+        return createMessageListenerContainer(kafkaConsumerFactoryFactory, target, topic, group, properties, ackMode, resetOffset, createMessageListener(), new ListenerContainerErrorHandler(logger));
+    }
+
+    private static ConcurrentMessageListenerContainer<String, String> createMessageListenerContainer(KafkaConsumerFactoryFactory kafkaConsumerFactoryFactory,
+                                                                                                    Target target, String topic, String group, Map<String, String> properties,
+                                                                                                    String ackMode, boolean resetOffset,
+                                                                                                    MessageListener<String, String> messageListener, CommonErrorHandler errorHandler) {
         ContainerProperties containerProperties = new ContainerProperties(topic);
-        containerProperties.setMessageListener(createMessageListener());
+        containerProperties.setMessageListener(messageListener);
         if (resetOffset) {
             containerProperties.setConsumerRebalanceListener(new CustomConsumerRebalanceListener());
         }
-        containerProperties.setAckMode(ContainerProperties.AckMode.valueOf(this.ackMode));
+        containerProperties.setAckMode(ContainerProperties.AckMode.valueOf(ackMode));
         ofNullable(properties.get(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG))
             .ifPresent(acims -> containerProperties.setAckTime(Long.parseLong(acims)));
         target.property(AUTO_COMMIT_COUNT_CONFIG)
@@ -251,20 +316,50 @@ public class KafkaBasicConsumeAction implements Action {
         ConcurrentMessageListenerContainer<String, String> listenerContainer = new ConcurrentMessageListenerContainer<>(
             kafkaConsumerFactoryFactory.create(target, group, properties),
             containerProperties);
-        listenerContainer.setCommonErrorHandler(new ListenerContainerErrorHandler(logger));
+        listenerContainer.setCommonErrorHandler(errorHandler);
         return listenerContainer;
     }
 
-    private Map<String, Object> toOutputs() {
+    private boolean useSharedConsumer() {
+        return target.property(SHARED_CONSUMER_PROPERTY).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    private KafkaConsumerHub createConsumerHub() {
+        java.time.Duration lookBack = java.time.Duration.ofMillis(Duration.parseToMs(
+            target.property(SHARED_CONSUMER_LOOK_BACK_PROPERTY).orElse(DEFAULT_SHARED_CONSUMER_LOOK_BACK)));
+        int bufferSize = Integer.parseInt(target.property(SHARED_CONSUMER_BUFFER_SIZE_PROPERTY).orElse(DEFAULT_SHARED_CONSUMER_BUFFER_SIZE));
+        // The hub outlives this step: its container is built from configuration only, without any reference to the step
+        KafkaConsumerFactoryFactory kafkaConsumerFactoryFactory = this.kafkaConsumerFactoryFactory;
+        Target target = this.target;
+        String topic = this.topic;
+        String group = this.group;
+        Map<String, String> properties = new HashMap<>(this.properties);
+        String ackMode = this.ackMode;
+        boolean resetOffset = this.resetOffset;
+        return new KafkaConsumerHub(
+            listener -> createMessageListenerContainer(kafkaConsumerFactoryFactory, target, topic, group, properties, ackMode, resetOffset, listener, new SharedConsumerErrorHandler(topic)),
+            lookBack, bufferSize);
+    }
+
+    private KafkaConsumerHubRegistry.Key sharedConsumerKey() {
+        Map<String, String> configuration = new HashMap<>(properties);
+        configuration.put("ackMode", ackMode);
+        configuration.put("reset-offset", resetOffset.toString());
+        target.trustStore().ifPresent(trustStore -> configuration.put("trustStore", trustStore));
+        Stream.of(AUTO_COMMIT_COUNT_CONFIG, SHARED_CONSUMER_LOOK_BACK_PROPERTY, SHARED_CONSUMER_BUFFER_SIZE_PROPERTY)
+            .forEach(property -> target.property(property).ifPresent(value -> configuration.put(property, value)));
+        return new KafkaConsumerHubRegistry.Key(target.name(), String.valueOf(target.uri()), topic, group, configuration);
+    }
+
+    private Map<String, Object> toOutputs(List<Map<String, Object>> messages) {
         Map<String, Object> results = new HashMap<>();
-        results.put(OUTPUT_BODY, consumedMessages);
-        results.put(OUTPUT_PAYLOADS, consumedMessages.stream().map(e -> e.get(OUTPUT_BODY_PAYLOAD_KEY)).collect(toList()));
-        results.put(OUTPUT_HEADERS, consumedMessages.stream().map(e -> e.get(OUTPUT_BODY_HEADERS_KEY)).collect(toList()));
+        results.put(OUTPUT_BODY, messages);
+        results.put(OUTPUT_PAYLOADS, messages.stream().map(e -> e.get(OUTPUT_BODY_PAYLOAD_KEY)).collect(toList()));
+        results.put(OUTPUT_HEADERS, messages.stream().map(e -> e.get(OUTPUT_BODY_HEADERS_KEY)).collect(toList()));
         return results;
     }
 
-    private void checkContentTypeHeader(Map<String, Object> headers) {
-        recordContentType = this.contentType;
+    private MimeType recordContentType(Map<String, Object> headers) {
         try {
             Optional<MimeType> contentType = headers.entrySet().stream()
                 .filter(e -> e.getKey().replaceAll("[- ]", "").equalsIgnoreCase("contenttype"))
@@ -274,9 +369,10 @@ public class KafkaBasicConsumeAction implements Action {
                 .map(s -> s.replace("\"", ""))
                 .map(MimeTypeUtils::parseMimeType);
 
-            contentType.ifPresent(ct -> this.recordContentType = ct);
+            return contentType.orElse(this.contentType);
         } catch (Exception e) {
             logger.error("Cannot parse content type from message received:  " + e.getMessage());
+            return this.contentType;
         }
     }
 
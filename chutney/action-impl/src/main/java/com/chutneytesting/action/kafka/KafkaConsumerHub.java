@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.kafka;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+/**
+ * Listener container which stays subscribed to a topic, shared by consume steps of a same target and consumer configuration.<br>
+ * Each received record is offered to the subscribers in their registration order and taken by the first one accepting it.
+ * <p>
+ * Records taken by no subscriber are kept in a look-back buffer, bounded in time and size,
+ * and offered to the next subscribers, so that messages sent just before a step starts are still consumed by it.
+ */
+class KafkaConsumerHub {
+
+    private final MessageListenerContainer container;
+    private final Duration lookBack;
+    private final int bufferSize;
+    private final Clock clock;
+    private final Deque<BufferedRecord> buffer = new ArrayDeque<>();
+    private final List<Predicate<ConsumerRecord<String, String>>> subscribers = new ArrayList<>();
+    private boolean evicted;
+    private boolean stopped;
+
+    KafkaConsumerHub(Function<MessageListener<String, String>, MessageListenerContainer> containerFactory, Duration lookBack, int bufferSize) {
+        this(containerFactory, lookBack, bufferSize, Clock.systemUTC());
+    }
+
+    KafkaConsumerHub(Function<MessageListener<String, String>, MessageListenerContainer> containerFactory, Duration lookBack, int bufferSize, Clock clock) {
+        this.container = containerFactory.apply(this::onMessage);
+        this.lookBack = lookBack;
+        this.bufferSize = bufferSize;
+        this.clock = clock;
+    }
+
+    void start() {
+        container.start();
+    }
+
+    /**
+     * Offer buffered records to the subscriber, then the received ones until the subscription is closed.
+     *
+     * @param subscriber returns true when it takes the record
+     * @return the subscription, or null if the hub has been evicted
+     */
+    synchronized Subscription subscribe(Predicate<ConsumerRecord<String, String>> subscriber) {
+        if (evicted) {
+            return null;
+        }
+        pruneBuffer();
+        Iterator<BufferedRecord> buffered = buffer.iterator();
+        while (buffered.hasNext()) {
+            if (subscriber.test(buffered.next().record())) {
+                buffered.remove();
+            }
+        }
+        subscribers.add(subscriber);
+        return new Subscription(subscriber);
+    }
+
+    synchronized int buffered() {
+        return buffer.size();
+    }
+
+    synchronized int subscribers() {
+        return subscribers.size();
+    }
+
+    void evict() {
+        synchronized (this) {
+            evicted = true;
+        }
+        stopIfUnused();
+    }
+
+    private synchronized void onMessage(ConsumerRecord<String, String> record) {
+        for (Predicate<ConsumerRecord<String, String>> subscriber : subscribers) {
+            if (subscriber.test(record)) {
+                return;
+            }
+        }
+        buffer.addLast(new BufferedRecord(record, clock.millis()));
+        pruneBuffer();
+    }
+
+    private void pruneBuffer() {
+        long oldest = clock.millis() - lookBack.toMillis();
+        while (!buffer.isEmpty() && (buffer.size() > bufferSize || buffer.peekFirst().receivedAt() < oldest)) {
+            buffer.removeFirst();
+        }
+    }
+
+    private void unsubscribe(Predicate<ConsumerRecord<String, String>> subscriber) {
+        synchronized (this) {
+            subscribers.remove(subscriber);
+        }
+        stopIfUnused();
+    }
+
+    // Container is stopped outside the lock since its consumer thread may be waiting for it
+    private void stopIfUnused() {
+        synchronized (this) {
+            if (!evicted || !subscribers.isEmpty() || stopped) {
+                return;
+            }
+            stopped = true;
+            buffer.clear();
+        }
+        container.stop();
+    }
+
+    class Subscription implements AutoCloseable {
+        private final Predicate<ConsumerRecord<String, String>> subscriber;
+
+        private Subscription(Predicate<ConsumerRecord<String, String>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(subscriber);
+        }
+    }
+
+    private record BufferedRecord(ConsumerRecord<String, String> record, long receivedAt) {
+    }
+}
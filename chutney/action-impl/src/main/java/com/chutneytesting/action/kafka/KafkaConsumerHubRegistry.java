@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.kafka;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Registry of {@link KafkaConsumerHub} shared by kafka consume steps across scenarios.<br>
+ * Hubs are keyed by target, topic and consumer configuration.
+ * Hubs not used for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} are evicted and their container stopped once their last subscription is closed.
+ * <p>
+ * Hubs statistics are exposed as <i>chutney.action.kafka.hub.*</i> gauges.
+ */
+class KafkaConsumerHubRegistry implements MeterBinder {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final Cache<Key, KafkaConsumerHub> hubs;
+
+    KafkaConsumerHubRegistry() {
+        this(DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    KafkaConsumerHubRegistry(Duration expireAfterAccess) {
+        this.hubs = CacheBuilder.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<Key, KafkaConsumerHub>) notification -> notification.getValue().evict())
+            .build();
+    }
+
+    static KafkaConsumerHubRegistry withShutdownHook() {
+        KafkaConsumerHubRegistry registry = new KafkaConsumerHubRegistry();
+        Runtime.getRuntime().addShutdownHook(new Thread(registry::invalidateAll, "kafka-consumer-hubs-shutdown"));
+        return registry;
+    }
+
+    /**
+     * @param hubBuilder builds a hub, started by the registry when not already existing
+     * @param subscriber returns true when it takes the record
+     * @return the subscription, which must be closed when the step ends
+     */
+    KafkaConsumerHub.Subscription subscribe(Key key, Supplier<KafkaConsumerHub> hubBuilder, Predicate<ConsumerRecord<String, String>> subscriber) {
+        while (true) {
+            KafkaConsumerHub hub = get(key, hubBuilder);
+            KafkaConsumerHub.Subscription subscription = hub.subscribe(subscriber);
+            if (subscription != null) {
+                return subscription;
+            }
+            // Evicted between get and subscribe
+            hubs.asMap().remove(key, hub);
+        }
+    }
+
+    long size() {
+        hubs.cleanUp();
+        return hubs.size();
+    }
+
+    void invalidateAll() {
+        hubs.invalidateAll();
+        hubs.cleanUp();
+    }
+
+    private KafkaConsumerHub get(Key key, Supplier<KafkaConsumerHub> hubBuilder) {
+        try {
+            return hubs.get(key, () -> {
+                KafkaConsumerHub hub = hubBuilder.get();
+                hub.start();
+                return hub;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("chutney.action.kafka.hub.count", hubs, Cache::size)
+            .description("Number of shared kafka consumers")
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.kafka.hub.subscribers", hubs, h -> h.asMap().values().stream().mapToInt(KafkaConsumerHub::subscribers).sum())
+            .description("Number of consume steps waiting for messages on shared kafka consumers")
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.kafka.hub.buffered", hubs, h -> h.asMap().values().stream().mapToInt(KafkaConsumerHub::buffered).sum())
+            .description("Number of records kept in look-back buffers of shared kafka consumers")
+            .register(meterRegistry);
+    }
+
+    record Key(String targetName, String url, String topic, String group, Map<String, String> properties) {
+    }
+}
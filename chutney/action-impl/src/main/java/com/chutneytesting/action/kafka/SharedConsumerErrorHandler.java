@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.chutneytesting.action.kafka;
+
+import java.util.List;
+import java.util.Objects;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.KafkaUtils;
+
+/**
+ * Error handler of containers shared by kafka consume steps.<br>
+ * Errors are not related to one step, so they are logged in application logs instead of a step report.
+ * The same error repeated by consecutive polls is logged once.
+ */
+class SharedConsumerErrorHandler extends DefaultErrorHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedConsumerErrorHandler.class);
+
+    private final String topic;
+    private volatile String lastError;
+
+    SharedConsumerErrorHandler(String topic) {
+        this.topic = topic;
+    }
+
+    @Override
+    public void handleRemaining(Exception thrownException, List<ConsumerRecord<?, ?>> records, Consumer<?, ?> consumer, MessageListenerContainer container) {
+        LOGGER.warn("Shared consumer of topic {} failed to process {} : {}", topic, KafkaUtils.format(records.get(0)), thrownException.getCause());
+        super.handleRemaining(thrownException, records, consumer, container);
+    }
+
+    @Override
+    public void handleOtherException(Exception thrownException, Consumer<?, ?> consumer, MessageListenerContainer container, boolean batchListener) {
+        String error = thrownException.getMessage();
+        if (!Objects.equals(error, lastError)) {
+            lastError = error;
+            LOGGER.warn("Shared consumer of topic {} failed : {}", topic, error);
+        }
+        super.handleOtherException(thrownException, consumer, container, batchListener);
+    }
+}
@@ -26,10 +26,31 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
 import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Provide databases on clients shared by all mongo actions using the same target configuration.<br>
+ * Closing the returned resource releases the client, which stays open for next actions.
+ */
 public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
 
+    static final String MAX_POOL_SIZE_PROPERTY = "maxPoolSize";
+    static final String MIN_POOL_SIZE_PROPERTY = "minPoolSize";
+    static final String MAX_CONNECTION_IDLE_TIME_PROPERTY = "maxConnectionIdleTime";
+
+    private static final MongoClientRegistry SHARED_REGISTRY = MongoClientRegistry.withShutdownHook();
+
+    private final MongoClientRegistry registry;
+
+    public DefaultMongoDatabaseFactory() {
+        this(SHARED_REGISTRY);
+    }
+
+    DefaultMongoDatabaseFactory(MongoClientRegistry registry) {
+        this.registry = registry;
+    }
+
     public CloseableResource<MongoDatabase> create(Target target) throws IllegalArgumentException {
         String databaseName = target.property("databaseName").orElse("");
         if (StringUtils.isEmpty(databaseName)) {
@@ -38,7 +59,11 @@ public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
 
         String connectionString = String.format("mongodb://%s:%d/", target.host(), target.port());
 
-        final MongoClient mongoClient;
+        MongoClientRegistry.SharedMongoClient sharedClient = registry.acquire(target, connectionString, () -> createClient(target, databaseName, connectionString));
+        return CloseableResource.build(sharedClient.client().getDatabase(databaseName), sharedClient::release);
+    }
+
+    private MongoClient createClient(Target target, String databaseName, String connectionString) {
         MongoClientSettings.Builder mongoClientSettings = MongoClientSettings.builder();
         target.keyStore().ifPresent(keystore ->
             mongoClientSettings.applyToSslSettings(builder -> {
@@ -53,6 +78,11 @@ public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
             })
         );
         mongoClientSettings.applyConnectionString(new ConnectionString(connectionString));
+        mongoClientSettings.applyToConnectionPoolSettings(builder -> {
+            target.numericProperty(MAX_POOL_SIZE_PROPERTY).map(Number::intValue).ifPresent(builder::maxSize);
+            target.numericProperty(MIN_POOL_SIZE_PROPERTY).map(Number::intValue).ifPresent(builder::minSize);
+            target.numericProperty(MAX_CONNECTION_IDLE_TIME_PROPERTY).map(Number::longValue).ifPresent(idle -> builder.maxConnectionIdleTime(idle, TimeUnit.MILLISECONDS));
+        });
         if (target.user().isPresent()) {
             String user = target.user().get();
             String password = target.userPassword().orElse("");
@@ -60,8 +90,7 @@ public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
                 MongoCredential.createCredential(user, databaseName, password.toCharArray())
             );
         }
-        mongoClient = MongoClients.create(mongoClientSettings.build());
-        return CloseableResource.build(mongoClient.getDatabase(databaseName), mongoClient::close);
+        return MongoClients.create(mongoClientSettings.build());
     }
 
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.mongo;
+
+import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
+
+import com.chutneytesting.action.spi.injectable.Target;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.mongodb.client.MongoClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Registry of mongo clients shared by mongo actions across steps and scenarios.<br>
+ * Clients are keyed by connection string, database, credentials, security and pool target properties.
+ * <p>
+ * Each use of a client is counted, from {@link #acquire} to {@link SharedMongoClient#release}.
+ * Clients not acquired for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} are evicted and closed once released by all their users.
+ */
+class MongoClientRegistry {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final Cache<Key, SharedMongoClient> clients;
+
+    MongoClientRegistry() {
+        this(DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    MongoClientRegistry(Duration expireAfterAccess) {
+        this.clients = CacheBuilder.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<Key, SharedMongoClient>) notification -> notification.getValue().evict())
+            .build();
+    }
+
+    static MongoClientRegistry withShutdownHook() {
+        MongoClientRegistry registry = new MongoClientRegistry();
+        Runtime.getRuntime().addShutdownHook(new Thread(registry::invalidateAll, "mongo-clients-shutdown"));
+        return registry;
+    }
+
+    /**
+     * @return a client which must be released after use
+     */
+    SharedMongoClient acquire(Target target, String connectionString, Supplier<MongoClient> clientBuilder) {
+        Key key = Key.of(target, connectionString);
+        while (true) {
+            SharedMongoClient client = get(key, clientBuilder);
+            if (client.acquire()) {
+                return client;
+            }
+            // Evicted between get and acquire
+            clients.asMap().remove(key, client);
+        }
+    }
+
+    long size() {
+        clients.cleanUp();
+        return clients.size();
+    }
+
+    void invalidateAll() {
+        clients.invalidateAll();
+        clients.cleanUp();
+    }
+
+    private SharedMongoClient get(Key key, Supplier<MongoClient> clientBuilder) {
+        try {
+            return clients.get(key, () -> new SharedMongoClient(clientBuilder.get()));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static class SharedMongoClient {
+        private final MongoClient client;
+        private int references;
+        private boolean evicted;
+        private boolean closed;
+
+        private SharedMongoClient(MongoClient client) {
+            this.client = client;
+        }
+
+        MongoClient client() {
+            return client;
+        }
+
+        void release() {
+            synchronized (this) {
+                references--;
+            }
+            closeIfUnused();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        private void evict() {
+            synchronized (this) {
+                evicted = true;
+            }
+            closeIfUnused();
+        }
+
+        // Client is closed outside the lock since closing connections may block on network
+        private void closeIfUnused() {
+            synchronized (this) {
+                if (!evicted || references > 0 || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            client.close();
+        }
+    }
+
+    private record Key(String connectionString, Map<String, String> properties) {
+
+        static Key of(Target target, String connectionString) {
+            Map<String, String> properties = new HashMap<>();
+            putIfPresent(properties, "user", target.user());
+            putIfPresent(properties, "userPassword", target.userPassword());
+            putIfPresent(properties, "trustStore", target.trustStore());
+            putIfPresent(properties, "trustStorePassword", target.trustStorePassword());
+            putIfPresent(properties, "keyStore", target.keyStore());
+            putIfPresent(properties, "keyStorePassword", target.keyStorePassword());
+            putIfPresent(properties, "keyPassword", target.keyPassword());
+            Stream.of("databaseName", DefaultMongoDatabaseFactory.MAX_POOL_SIZE_PROPERTY, DefaultMongoDatabaseFactory.MIN_POOL_SIZE_PROPERTY, DefaultMongoDatabaseFactory.MAX_CONNECTION_IDLE_TIME_PROPERTY)
+                .forEach(property -> putIfPresent(properties, property, target.property(property)));
+            return new Key(connectionString, properties);
+        }
+
+        private static void putIfPresent(Map<String, String> properties, String key, Optional<String> value) {
+            ofNullable(value).flatMap(identity()).ifPresent(v -> properties.put(key, v));
+        }
+    }
+}
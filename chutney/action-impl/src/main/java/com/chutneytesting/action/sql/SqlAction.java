@@ -38,6 +38,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import org.apache.commons.lang3.StringUtils;
 
 public class SqlAction implements Action {
@@ -49,15 +50,17 @@ public class SqlAction implements Action {
     private final Logger logger;
     private final List<String> statements;
     private final Integer nbLoggedRow;
+    private final Integer chunkSize;
 
     private final DefaultSqlClientFactory clientFactory = new DefaultSqlClientFactory();
 
-    public SqlAction(Target target, Logger logger, ActionsConfiguration configuration, @Input("statements") List<String> statements, @Input("nbLoggedRow") Integer nbLoggedRow) {
+    public SqlAction(Target target, Logger logger, ActionsConfiguration configuration, @Input("statements") List<String> statements, @Input("nbLoggedRow") Integer nbLoggedRow, @Input("chunkSize") Integer chunkSize) {
         this.target = target;
         this.logger = logger;
         this.statements = statements;
         this.nbLoggedRow = ofNullable(nbLoggedRow)
             .orElse(configuration.getInteger(CONFIGURABLE_NB_LOGGED_ROW, DEFAULT_NB_LOGGED_ROW));
+        this.chunkSize = chunkSize;
     }
 
     @Override
@@ -67,47 +70,81 @@ public class SqlAction implements Action {
         return getErrorsFrom(
             targetPropertiesValidation,
             targetValidation(target),
-            notEmptyListValidation(statements, "statements")
+            notEmptyListValidation(statements, "statements"),
+            of(chunkSize).validate(c -> c == null || c > 0, "chunkSize must be positive")
         );
     }
 
     @Override
     public ActionExecutionResult execute() {
-        SqlClient sqlClient = clientFactory.create(target);
-        try {
-            var records = new ArrayList<Records>();
-            Map<String, Object> outputs = new HashMap<>();
-            AtomicBoolean failure = new AtomicBoolean(false);
-            statements.forEach(statement -> {
-                try {
+        try (SqlClient sqlClient = clientFactory.create(target)) {
+            return execute(sqlClient);
+        }
+    }
+
+    private ActionExecutionResult execute(SqlClient sqlClient) {
+        var records = new ArrayList<Records>();
+        Map<String, Object> outputs = new HashMap<>();
+        var rowCounts = new ArrayList<Long>();
+        AtomicBoolean failure = new AtomicBoolean(false);
+        statements.forEach(statement -> {
+            try {
+                if (chunkSize == null) {
                     Records result = sqlClient.execute(statement);
                     records.add(result);
                     logger.info(result.printable(nbLoggedRow));
-                } catch (SQLException e) {
-                    logger.error(e.getMessage() + " for " + statement + "; Vendor error code: " + e.getErrorCode());
-                    records.add(sqlClient.emptyRecords());
-                    failure.set(true);
-                } catch (Exception e) {
-                    logger.error(e.getMessage());
-                    records.add(sqlClient.emptyRecords());
-                    failure.set(true);
+                } else {
+                    StreamedRecords streamed = new StreamedRecords();
+                    sqlClient.stream(statement, chunkSize, streamed);
+                    records.add(streamed.firstChunk);
+                    rowCounts.add(streamed.count);
+                    logger.info(streamed.firstChunk.printable(nbLoggedRow));
+                    logger.info(streamed.count + " rows fetched");
                 }
-            });
+            } catch (SQLException e) {
+                logger.error(e.getMessage() + " for " + statement + "; Vendor error code: " + e.getErrorCode());
+                records.add(sqlClient.emptyRecords());
+                rowCounts.add(0L);
+                failure.set(true);
+            } catch (Exception e) {
+                logger.error(e.getMessage());
+                records.add(sqlClient.emptyRecords());
+                rowCounts.add(0L);
+                failure.set(true);
+            }
+        });
 
-            if (statements.size() == 1) {
-                outputs.put("affectedRows", records.get(0).affectedRows);
-                outputs.put("rows", records.get(0).rows()); // All rows result from the first statement only
-                outputs.put("firstRow", records.get(0).rows().get(0)); // First row of the first statement
-                outputs.put("recordResult", records); // List of all results from each statement // TODO - remove after user migration
-            } else {
-                outputs.put("recordResult", records); // List of all results from each statement
+        if (statements.size() == 1) {
+            outputs.put("affectedRows", records.get(0).affectedRows);
+            outputs.put("rows", records.get(0).rows()); // All rows result from the first statement only
+            outputs.put("firstRow", records.get(0).rows().get(0)); // First row of the first statement
+            outputs.put("recordResult", records); // List of all results from each statement // TODO - remove after user migration
+            if (chunkSize != null) {
+                outputs.put("rowCount", rowCounts.get(0)); // Number of rows fetched by the statement
+            }
+        } else {
+            outputs.put("recordResult", records); // List of all results from each statement
+            if (chunkSize != null) {
+                outputs.put("rowCounts", rowCounts); // Number of rows fetched by each statement
             }
+        }
+
+        return failure.get() ? ActionExecutionResult.ko(outputs) : ActionExecutionResult.ok(outputs);
+    }
+
+    /**
+     * Keep the first chunk of a streamed result and count all its rows.
+     */
+    private static class StreamedRecords implements Consumer<Records> {
+        private Records firstChunk;
+        private long count;
 
-            return failure.get() ? ActionExecutionResult.ko(outputs) : ActionExecutionResult.ok(outputs);
-        } finally {
-            if (sqlClient != null) {
-                sqlClient.closeDatasource();
+        @Override
+        public void accept(Records chunk) {
+            if (firstChunk == null) {
+                firstChunk = chunk;
             }
+            count += chunk.count();
         }
     }
 }
@@ -31,7 +31,8 @@ public class Cell {
     }
 
     String print(int maxLength) {
-        return value.toString() + " ".repeat(maxLength - value.toString().length());
+        String printed = value.toString();
+        return printed + " ".repeat(maxLength - printed.length());
     }
 
     @Override
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.sql.core;
+
+import static org.apache.commons.lang3.ClassUtils.isPrimitiveOrWrapper;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Values of one result set column, stored in a primitive array when the column java type allows it.<br>
+ * Values are boxed only when read.
+ */
+abstract class ColumnValues {
+
+    static final String NULL_VALUE = "null";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    static ColumnValues of(ResultSetMetaData md, int columnIndex, int expectedSize) throws SQLException {
+        int capacity = Math.max(1, Math.min(expectedSize, INITIAL_CAPACITY));
+        return switch (Objects.toString(md.getColumnClassName(columnIndex), "")) {
+            case "java.lang.Integer" -> new IntValues(capacity);
+            case "java.lang.Long" -> new LongValues(capacity);
+            case "java.lang.Double" -> new DoubleValues(capacity);
+            default -> new ObjectValues(capacity);
+        };
+    }
+
+    /**
+     * Read the value of the current result set row into given row index, which must be the next one.
+     */
+    abstract void read(ResultSet rs, int columnIndex, int row) throws SQLException;
+
+    abstract Object get(int row);
+
+    private static class IntValues extends ColumnValues {
+        private final BitSet nulls = new BitSet();
+        private int[] values;
+
+        private IntValues(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = rs.getInt(columnIndex);
+            nulls.set(row, rs.wasNull());
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? NULL_VALUE : values[row];
+        }
+    }
+
+    private static class LongValues extends ColumnValues {
+        private final BitSet nulls = new BitSet();
+        private long[] values;
+
+        private LongValues(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = rs.getLong(columnIndex);
+            nulls.set(row, rs.wasNull());
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? NULL_VALUE : values[row];
+        }
+    }
+
+    private static class DoubleValues extends ColumnValues {
+        private final BitSet nulls = new BitSet();
+        private double[] values;
+
+        private DoubleValues(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = rs.getDouble(columnIndex);
+            nulls.set(row, rs.wasNull());
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? NULL_VALUE : values[row];
+        }
+    }
+
+    private static class ObjectValues extends ColumnValues {
+        private Object[] values;
+
+        private ObjectValues(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[row] = boxed(rs, columnIndex);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        private static Object boxed(ResultSet rs, int i) throws SQLException {
+            Object o = rs.getObject(i);
+            Class<?> type = o == null ? Object.class : o.getClass();
+            if (isPrimitiveOrWrapper(type) || isJDBCNumericType(type) || isJDBCDateType(type)) {
+                return o;
+            }
+
+            return Optional.ofNullable(rs.getString(i)).orElse(NULL_VALUE);
+        }
+
+        private static boolean isJDBCNumericType(Class<?> type) {
+            return type.equals(BigDecimal.class) || // NUMERIC
+                type.equals(Byte.class) ||          // TINYINT
+                type.equals(Short.class) ||         // SMALLINT
+                type.equals(Integer.class) ||       // INTEGER
+                type.equals(Float.class) ||         // FLOAT
+                type.equals(Double.class);          // DOUBLE
+        }
+
+        private static boolean isJDBCDateType(Class<?> type) {
+            return type.equals(Date.class) ||       // DATE
+                type.equals(Time.class) ||          // TIME
+                type.equals(Timestamp.class) ||     // TIMESTAMP
+                // Note :
+                // INTERVAL SQL Type is not JDBC native and often DB specific.
+                // We take here classic java representation.
+                type.equals(Period.class) ||        // INTERVAL
+                type.equals(Duration.class);        // INTERVAL
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.sql.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Long-lived cache of pooled datasources shared by sql actions across steps and scenarios.<br>
+ * Datasources are keyed by their whole configuration (jdbcUrl, credentials and <i>dataSource.*</i> target properties),
+ * so that a target update leads to a new datasource while the outdated one is closed once idle.
+ * <p>
+ * Each use of a datasource is counted, from {@link #acquire} to {@link SharedDataSource#release}.
+ * Datasources are evicted when not acquired for a while, when too many are cached and on JVM shutdown,
+ * and closed once released by all their users.
+ */
+class DataSourceRegistry {
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+    static final int DEFAULT_MAXIMUM_SIZE = 20;
+
+    private final Cache<Map<Object, Object>, SharedDataSource> dataSources;
+
+    DataSourceRegistry() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    DataSourceRegistry(int maximumSize, Duration expireAfterAccess) {
+        this.dataSources = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<Map<Object, Object>, SharedDataSource>) notification -> notification.getValue().evict())
+            .build();
+    }
+
+    static DataSourceRegistry withShutdownHook() {
+        DataSourceRegistry registry = new DataSourceRegistry();
+        Runtime.getRuntime().addShutdownHook(new Thread(registry::invalidateAll, "sql-datasources-shutdown"));
+        return registry;
+    }
+
+    /**
+     * @return a datasource which must be released after use
+     */
+    SharedDataSource acquire(Properties configuration) {
+        Map<Object, Object> key = Map.copyOf(configuration);
+        while (true) {
+            SharedDataSource dataSource = get(key, configuration);
+            if (dataSource.acquire()) {
+                return dataSource;
+            }
+            // Evicted between get and acquire
+            dataSources.asMap().remove(key, dataSource);
+        }
+    }
+
+    private SharedDataSource get(Map<Object, Object> key, Properties configuration) {
+        try {
+            return dataSources.get(key, () -> new SharedDataSource(new HikariDataSource(new HikariConfig(configuration))));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    long size() {
+        dataSources.cleanUp();
+        return dataSources.size();
+    }
+
+    void invalidateAll() {
+        dataSources.invalidateAll();
+        dataSources.cleanUp();
+    }
+
+    static class SharedDataSource {
+        private final HikariDataSource dataSource;
+        private int references;
+        private boolean evicted;
+        private boolean closed;
+
+        private SharedDataSource(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        void release() {
+            synchronized (this) {
+                references--;
+            }
+            closeIfUnused();
+        }
+
+        private synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        private void evict() {
+            synchronized (this) {
+                evicted = true;
+            }
+            closeIfUnused();
+        }
+
+        // Pool is closed outside the lock since closing connections may block on network
+        private void closeIfUnused() {
+            synchronized (this) {
+                if (!evicted || references > 0 || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            dataSource.close();
+        }
+    }
+}
@@ -17,13 +17,28 @@
 package com.chutneytesting.action.sql.core;
 
 import com.chutneytesting.action.spi.injectable.Target;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import java.util.Properties;
 
+/**
+ * Create {@link SqlClient} on datasources shared by all clients created for the same target configuration.<br>
+ * Datasources are owned by the factory, a datasource evicted from the factory is closed once all its clients are closed.
+ */
 public class DefaultSqlClientFactory implements SqlClientFactory {
 
+    private static final DataSourceRegistry SHARED_REGISTRY = DataSourceRegistry.withShutdownHook();
+
     private final int DEFAULT_MAX_FETCH_SIZE = 1000;
+    private static final String DEFAULT_MINIMUM_IDLE = "0";
+
+    private final DataSourceRegistry registry;
+
+    public DefaultSqlClientFactory() {
+        this(SHARED_REGISTRY);
+    }
+
+    DefaultSqlClientFactory(DataSourceRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     public SqlClient create(Target target) {
@@ -36,10 +51,9 @@ public class DefaultSqlClientFactory implements SqlClientFactory {
         target.user().ifPresent(user -> props.put("username", user));
         target.userPassword().ifPresent(password -> props.put("password", password));
 
-        props.putAll(target.prefixedProperties("dataSource."));
-        final HikariConfig config = new HikariConfig(props);
-        final HikariDataSource ds = new HikariDataSource(config);
+        props.put("minimumIdle", DEFAULT_MINIMUM_IDLE);
 
-        return new SqlClient(ds, target.numericProperty("maxFetchSize").map(Number::intValue).orElse(DEFAULT_MAX_FETCH_SIZE));
+        props.putAll(target.prefixedProperties("dataSource."));
+        return new SqlClient(registry.acquire(props), target.numericProperty("maxFetchSize").map(Number::intValue).orElse(DEFAULT_MAX_FETCH_SIZE));
     }
 }
@@ -18,6 +18,7 @@ package com.chutneytesting.action.sql.core;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,7 +40,15 @@ public class Records {
         this.records = records;
 
         this.headers = this.columns.stream().map(Column::name).collect(toList());
-        this.rows = this.records.stream().map(r -> r.cells).map(l -> l.stream().map(c -> c.value).collect(toList())).collect(toList());
+        this.rows = new RowsValues(this.records);
+    }
+
+    /**
+     * Build records on columnar values.<br>
+     * Rows and cells are views, created when accessed.
+     */
+    Records(int affectedRows, List<Column> columns, ColumnValues[] values, int count) {
+        this(affectedRows, columns, new ColumnarRows(columns, values, count));
     }
 
     List<String> getHeaders() {
@@ -187,4 +196,56 @@ public class Records {
             '}';
     }
 
+    private static class ColumnarRows extends AbstractList<Row> {
+        private final List<Column> columns;
+        private final ColumnValues[] values;
+        private final int count;
+
+        private ColumnarRows(List<Column> columns, ColumnValues[] values, int count) {
+            this.columns = columns;
+            this.values = values;
+            this.count = count;
+        }
+
+        @Override
+        public Row get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return new Row(new AbstractList<>() {
+                @Override
+                public Cell get(int columnIndex) {
+                    return new Cell(columns.get(columnIndex), values[columnIndex].get(index));
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            });
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private static class RowsValues extends AbstractList<List<Object>> {
+        private final List<Row> records;
+
+        private RowsValues(List<Row> records) {
+            this.records = records;
+        }
+
+        @Override
+        public List<Object> get(int index) {
+            return records.get(index).cells.stream().map(c -> c.value).collect(toList());
+        }
+
+        @Override
+        public int size() {
+            return records.size();
+        }
+    }
 }
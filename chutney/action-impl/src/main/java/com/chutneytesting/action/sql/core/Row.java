@@ -33,6 +33,10 @@ public class Row {
     }
 
     public Object get(Column column) {
+        Cell indexed = cellAt(column.index);
+        if (indexed != null && indexed.column.equals(column)) {
+            return indexed.value;
+        }
         return cells.stream()
             .filter(c -> c.column.equals(column))
             .findFirst()
@@ -49,6 +53,10 @@ public class Row {
     }
 
     public Object get(int index) {
+        Cell indexed = cellAt(index);
+        if (indexed != null && indexed.column.index == index) {
+            return indexed.value;
+        }
         return cells.stream()
             .filter(c -> c.column.index == index)
             .findFirst()
@@ -56,6 +64,10 @@ public class Row {
             .value;
     }
 
+    private Cell cellAt(int index) {
+        return index >= 0 && index < cells.size() ? cells.get(index) : null;
+    }
+
     public String print(Map<Column, Integer> maxLength) {
         StringBuilder sb = new StringBuilder();
         if (!cells.isEmpty()) {
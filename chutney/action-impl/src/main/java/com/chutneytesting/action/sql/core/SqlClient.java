@@ -19,62 +19,109 @@ package com.chutneytesting.action.sql.core;
 import static com.chutneytesting.tools.ChutneyMemoryInfo.hasEnoughAvailableMemory;
 import static com.chutneytesting.tools.ChutneyMemoryInfo.maxMemory;
 import static com.chutneytesting.tools.ChutneyMemoryInfo.usedMemory;
-import static org.apache.commons.lang3.ClassUtils.isPrimitiveOrWrapper;
 
 import com.chutneytesting.tools.NotEnoughMemoryException;
-import com.zaxxer.hikari.HikariDataSource;
-import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Time;
-import java.sql.Timestamp;
-import java.time.Duration;
-import java.time.Period;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
-public class SqlClient {
+/**
+ * Run queries on a datasource shared with other clients, which is not closed while the client is in use.<br>
+ * The client must be closed after use.
+ */
+public class SqlClient implements AutoCloseable {
 
-    private final HikariDataSource dataSource;
-    private final int maxFetchSize;
+    private static final long MAX_MATERIALIZED_ROWS = 100000;
+    private static final int MAX_ROWS_BETWEEN_MEMORY_CHECKS = 1000;
 
+    private final DataSourceRegistry.SharedDataSource dataSource;
+    private final int maxFetchSize;
+    private boolean closed;
 
-    public SqlClient(HikariDataSource dataSource, int maxFetchSize) {
+    SqlClient(DataSourceRegistry.SharedDataSource dataSource, int maxFetchSize) {
         this.dataSource = dataSource;
         this.maxFetchSize = maxFetchSize;
     }
 
     public Records execute(String query) throws SQLException {
-        final Records records;
+        final AtomicReference<Records> records = new AtomicReference<>();
+        execute(query, Integer.MAX_VALUE, MAX_MATERIALIZED_ROWS, false, records::set);
+        return records.get();
+    }
+
+    /**
+     * Execute given query and walk its results by chunks of at most chunkSize rows.<br>
+     * Previous chunks are not referenced anymore by the client, so results bigger than available memory can be consumed.
+     * The consumer is called at least once, with an empty chunk when the query has no result.
+     * <p>
+     * Whether rows are actually fetched from the database by <i>maxFetchSize</i> instead of all at once depends on the driver.
+     * The query runs in a transaction, committed at the end of the result, since some drivers (PostgreSQL for instance)
+     * only use a cursor when auto-commit is off. MySQL needs <i>useCursorFetch=true</i> in the jdbc url.
+     */
+    public void stream(String query, int chunkSize, Consumer<Records> chunkConsumer) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        execute(query, chunkSize, Long.MAX_VALUE, true, chunkConsumer);
+    }
+
+    private void execute(String query, int chunkSize, long maxRows, boolean withCursor, Consumer<Records> chunkConsumer) throws SQLException {
         Connection connection = null;
+        boolean autoCommitDisabled = false;
         try {
-            connection = dataSource.getConnection();
+            connection = dataSource.dataSource().getConnection();
+            if (withCursor && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                autoCommitDisabled = true;
+            }
             try (final Statement statement = connection.createStatement()) {
                 statement.setFetchSize(maxFetchSize);
                 statement.execute(query);
-                records = StatementConverter.createRecords(statement);
+                StatementConverter.createRecords(statement, chunkSize, maxRows, chunkConsumer);
+            }
+            if (autoCommitDisabled) {
+                connection.commit();
             }
         } finally {
+            if (autoCommitDisabled) {
+                silentRestoreAutoCommit(connection);
+            }
             silentClose(connection);
         }
-
-        return records;
     }
 
-    public void closeDatasource() {
-        this.dataSource.close();
+    /**
+     * Release the shared datasource, which is closed if it has been evicted and has no other user.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            dataSource.release();
+        }
     }
 
     public Records emptyRecords() {
         return new Records(0, Collections.emptyList(), Collections.emptyList());
     }
 
+    // Rollback when the result has not been walked until its end, before enabling auto-commit which would commit
+    private void silentRestoreAutoCommit(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (Exception e) {
+            //Silent restore, the pool resets the connection anyway
+        }
+    }
+
     private void silentClose(Connection connection) {
         if (connection != null) {
             try {
@@ -87,21 +134,50 @@ public class SqlClient {
 
     private static class StatementConverter {
 
-        private static Records createRecords(Statement statement) throws SQLException {
+        private static void createRecords(Statement statement, int chunkSize, long maxRows, Consumer<Records> chunkConsumer) throws SQLException {
             final int affectedRows = statement.getUpdateCount();
-            List<Column> columns = Collections.emptyList();
-            List<Row> rows = Collections.emptyList();
 
-            if (isSelectQuery(affectedRows)) {
-                try (final ResultSet rs = statement.getResultSet()) {
-                    final ResultSetMetaData md = rs.getMetaData();
+            if (!isSelectQuery(affectedRows)) {
+                chunkConsumer.accept(new Records(affectedRows, Collections.emptyList(), Collections.emptyList()));
+                return;
+            }
+
+            try (final ResultSet rs = statement.getResultSet()) {
+                final ResultSetMetaData md = rs.getMetaData();
+                final int columnCount = md.getColumnCount();
+                final List<Column> columns = createHeaders(md, columnCount);
+
+                ColumnValues[] values = createValues(md, columnCount, chunkSize);
+                // Checking memory is costly, it is done when a chunk begins, and regularly within big chunks
+                final int memoryCheckRows = Math.min(chunkSize, MAX_ROWS_BETWEEN_MEMORY_CHECKS);
+                int chunkRows = 0;
+                long fetchedRows = 0;
+                while (rs.next()) {
+                    if (fetchedRows > maxRows) {
+                        throw new NonOptimizedQueryException();
+                    }
+
+                    if (chunkRows % memoryCheckRows == 0 && !hasEnoughAvailableMemory()) {
+                        throw new NotEnoughMemoryException(usedMemory(), maxMemory(), "Query fetched " + fetchedRows + " rows");
+                    }
+
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i].read(rs, i + 1, chunkRows);
+                    }
+                    chunkRows++;
+                    fetchedRows++;
+
+                    if (chunkRows == chunkSize) {
+                        chunkConsumer.accept(new Records(affectedRows, columns, values, chunkRows));
+                        values = createValues(md, columnCount, chunkSize);
+                        chunkRows = 0;
+                    }
+                }
 
-                    columns = createHeaders(md, md.getColumnCount());
-                    rows = createRows(rs, columns, md.getColumnCount());
+                if (chunkRows > 0 || fetchedRows == 0) {
+                    chunkConsumer.accept(new Records(affectedRows, columns, values, chunkRows));
                 }
             }
-
-            return new Records(affectedRows, columns, rows);
         }
 
         private static boolean isSelectQuery(int affectedRows) {
@@ -117,57 +193,12 @@ public class SqlClient {
             return headers;
         }
 
-        private static List<Row> createRows(ResultSet rs, List<Column> columns, int columnCount) throws SQLException {
-            final var rows = new ArrayList<Row>();
-            int j = 0;
-            while (rs.next()) {
-                if (j++ > 100000) {
-                    throw new NonOptimizedQueryException();
-                }
-
-                if (!hasEnoughAvailableMemory()) {
-                    throw new NotEnoughMemoryException(usedMemory(), maxMemory(), "Query fetched " + rows.size() + " rows");
-                }
-
-                final List<Cell> cells = new ArrayList<>(columnCount);
-                int columnIndex = 0;
-                for (int i = 1; i <= columnCount; i++) {
-                    cells.add(new Cell(columns.get(columnIndex++), boxed(rs, i)));
-                }
-                rows.add(new Row(cells));
-            }
-            return rows;
-        }
-
-        private static Object boxed(ResultSet rs, int i) throws SQLException {
-            Object o = rs.getObject(i);
-            Class<?> type = o == null ? Object.class : o.getClass();
-            if (isPrimitiveOrWrapper(type) || isJDBCNumericType(type) || isJDBCDateType(type)) {
-                return o;
+        private static ColumnValues[] createValues(ResultSetMetaData md, int columnCount, int chunkSize) throws SQLException {
+            final ColumnValues[] values = new ColumnValues[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                values[i] = ColumnValues.of(md, i + 1, chunkSize);
             }
-
-            return Optional.ofNullable(rs.getString(i)).orElse("null");
+            return values;
         }
-
-        private static boolean isJDBCNumericType(Class<?> type) {
-            return type.equals(BigDecimal.class) || // NUMERIC
-                type.equals(Byte.class) ||          // TINYINT
-                type.equals(Short.class) ||         // SMALLINT
-                type.equals(Integer.class) ||       // INTEGER
-                type.equals(Float.class) ||         // FLOAT
-                type.equals(Double.class);          // DOUBLE
-        }
-
-        private static boolean isJDBCDateType(Class<?> type) {
-            return type.equals(Date.class) ||       // DATE
-                type.equals(Time.class) ||          // TIME
-                type.equals(Timestamp.class) ||     // TIMESTAMP
-                // Note :
-                // INTERVAL SQL Type is not JDBC native and often DB specific.
-                // We take here classic java representation.
-                type.equals(Period.class) ||        // INTERVAL
-                type.equals(Duration.class);        // INTERVAL
-        }
-
     }
 }
@@ -24,6 +24,10 @@ import com.chutneytesting.action.spi.injectable.Target;
 public class Connection {
 
     private static final String EMPTY = "";
+    static final String MAX_SESSIONS_PER_HOST_PROPERTY = "maxSessionsPerHost";
+    static final String MAX_CHANNELS_PER_CONNECTION_PROPERTY = "maxChannelsPerConnection";
+    // OpenSSH server default MaxSessions
+    static final int DEFAULT_MAX_CHANNELS_PER_CONNECTION = 10;
 
     public final String serverHost;
     public final int serverPort;
@@ -31,14 +35,24 @@ public class Connection {
     public final String password;
     public final String privateKey;
     public final String passphrase;
+    /**
+     * Maximum number of steps using a pooled connection to the host at the same time, unbounded when 0
+     */
+    public final int maxSessionsPerHost;
+    /**
+     * Maximum number of steps using a pooled connection at the same time, another connection to the host is opened beyond
+     */
+    public final int maxChannelsPerConnection;
 
-    private Connection(String serverHost, int serverPort, String username, String password, String privateKey, String passphrase) {
+    private Connection(String serverHost, int serverPort, String username, String password, String privateKey, String passphrase, int maxSessionsPerHost, int maxChannelsPerConnection) {
         this.serverHost = serverHost;
         this.serverPort = serverPort;
         this.username = username;
         this.password = password;
         this.privateKey = privateKey;
         this.passphrase = passphrase;
+        this.maxSessionsPerHost = maxSessionsPerHost;
+        this.maxChannelsPerConnection = maxChannelsPerConnection;
     }
 
     public static Connection from(Target target) {
@@ -50,8 +64,13 @@ public class Connection {
         final String password = target.userPassword().orElse(EMPTY);
         final String privateKey = target.privateKey().orElse(EMPTY);
         final String passphrase = target.privateKeyPassword().orElse(EMPTY);
+        final int maxSessionsPerHost = target.numericProperty(MAX_SESSIONS_PER_HOST_PROPERTY).map(Number::intValue).orElse(0);
+        final int maxChannelsPerConnection = target.numericProperty(MAX_CHANNELS_PER_CONNECTION_PROPERTY).map(Number::intValue).orElse(DEFAULT_MAX_CHANNELS_PER_CONNECTION);
+        if (maxChannelsPerConnection < 1) {
+            throw new IllegalArgumentException("Target property " + MAX_CHANNELS_PER_CONNECTION_PROPERTY + " must be greater than 0: " + maxChannelsPerConnection);
+        }
 
-        return new Connection(host, port, username, password, privateKey, passphrase);
+        return new Connection(host, port, username, password, privateKey, passphrase, Math.max(maxSessionsPerHost, 0), maxChannelsPerConnection);
     }
 
     public boolean usePrivateKey() {
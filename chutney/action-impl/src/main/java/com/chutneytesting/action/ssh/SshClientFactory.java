@@ -19,6 +19,7 @@ package com.chutneytesting.action.ssh;
 import static java.util.Collections.singletonList;
 
 import com.chutneytesting.action.spi.injectable.Target;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
@@ -35,14 +36,37 @@ public class SshClientFactory {
 
     public static String DEFAULT_TIMEOUT = "5 s";
 
+    private static final SshSessionRegistry<ClientSession> SESSIONS = SshSessionRegistry.withShutdownHook("mina", new MinaSessionFactory());
+
+    /**
+     * @return binder of pooled sessions metrics
+     */
+    public static MeterBinder metrics() {
+        return SESSIONS;
+    }
+
+    /**
+     * @return a lease on a pooled authenticated session, to be closed after use without closing the session itself
+     */
+    public static SshSessionRegistry.Lease<ClientSession> acquireSSHClientSession(Target target, long timeout) throws IOException {
+        return SESSIONS.acquire(Connection.from(target), timeout);
+    }
+
     public static ClientSession buildSSHClientSession(Target target, long timeout) throws IOException {
-        Connection connection = Connection.from(target);
+        return buildSSHClientSession(Connection.from(target), timeout);
+    }
+
+    private static ClientSession buildSSHClientSession(Connection connection, long timeout) throws IOException {
         SshClient defaultClient = createDefaultClient();
         defaultClient.setUserAuthFactories(getAuthFactory(connection));
-        ClientSession session = getConnectedSession(defaultClient, connection);
-
-        session.auth().verify(timeout);
-        return session;
+        try {
+            ClientSession session = getConnectedSession(defaultClient, connection);
+            session.auth().verify(timeout);
+            return session;
+        } catch (IOException | RuntimeException e) {
+            defaultClient.stop();
+            throw e;
+        }
     }
 
     private static SshClient createDefaultClient() {
@@ -74,4 +98,25 @@ public class SshClientFactory {
         return session;
     }
 
+    private static class MinaSessionFactory implements SshSessionRegistry.SessionFactory<ClientSession> {
+
+        @Override
+        public ClientSession open(Connection connection, long timeout) throws IOException {
+            return buildSSHClientSession(connection, timeout);
+        }
+
+        @Override
+        public boolean isHealthy(ClientSession session) {
+            return session.isOpen() && session.isAuthenticated();
+        }
+
+        @Override
+        public void close(ClientSession session) throws IOException {
+            try {
+                session.close();
+            } finally {
+                ((SshClient) session.getFactoryManager()).stop();
+            }
+        }
+    }
 }
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.ssh;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of authenticated SSH connections shared by ssh, sftp and scp actions across steps and scenarios.<br>
+ * Connections are keyed by host, port and credentials, so that each step only opens a new channel
+ * on an already authenticated connection instead of going through key exchange and authentication again.<br>
+ * Channels opened at the same time on a connection are limited by {@link Connection#maxChannelsPerConnection},
+ * as servers limit them (OpenSSH MaxSessions), so that other connections to the host are pooled beyond.
+ * <p>
+ * Each use of a connection is a {@link Lease}, from {@link #acquire} to {@link Lease#close}:
+ * <ul>
+ *     <li>A connection found closed or unauthenticated when acquired is replaced by a new one</li>
+ *     <li>Leases held at the same time on a host are not limited, unless the target sets {@link Connection#maxSessionsPerHost}: others then wait for the given timeout</li>
+ *     <li>Connections not acquired for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} are evicted and closed once released by all their users</li>
+ * </ul>
+ * Pool statistics are exposed as <i>chutney.action.ssh.pool.*</i> metrics tagged by client library.
+ */
+public class SshSessionRegistry<S> implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshSessionRegistry.class);
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final String client;
+    private final SessionFactory<S> sessionFactory;
+    private final Cache<Key, SharedSession<S>> sessions;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final LongAdder connects = new LongAdder();
+
+    SshSessionRegistry(String client, SessionFactory<S> sessionFactory, Duration expireAfterAccess) {
+        this.client = client;
+        this.sessionFactory = sessionFactory;
+        this.sessions = CacheBuilder.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((RemovalListener<Key, SharedSession<S>>) notification -> notification.getValue().evict())
+            .build();
+    }
+
+    /**
+     * @param client name of the client library, used as metrics tag and shutdown thread name
+     */
+    public static <S> SshSessionRegistry<S> withShutdownHook(String client, SessionFactory<S> sessionFactory) {
+        SshSessionRegistry<S> registry = new SshSessionRegistry<>(client, sessionFactory, DEFAULT_EXPIRE_AFTER_ACCESS);
+        Runtime.getRuntime().addShutdownHook(new Thread(registry::invalidateAll, "ssh-" + client + "-sessions-shutdown"));
+        return registry;
+    }
+
+    /**
+     * @param timeout in milliseconds, to wait for a free session on the host when limited, and to authenticate
+     * @return a lease on an authenticated connection, which must be closed after use
+     */
+    public Lease<S> acquire(Connection connection, long timeout) throws IOException {
+        String host = connection.serverHost + ":" + connection.serverPort;
+        Semaphore permits = hostPermits(host, connection.maxSessionsPerHost);
+        acquirePermit(permits, host, connection.maxSessionsPerHost, timeout);
+        try {
+            Key key = Key.of(connection);
+            while (true) {
+                boolean[] created = {false};
+                SharedSession<S> shared = get(key, () -> {
+                    created[0] = true;
+                    return open(connection, timeout);
+                });
+                if (!created[0] && !sessionFactory.isHealthy(shared.session)) {
+                    LOGGER.debug("Replace unhealthy ssh connection to {}", host);
+                    sessions.asMap().remove(key, shared);
+                    continue;
+                }
+                switch (shared.acquire(connection.maxChannelsPerConnection)) {
+                    case ACQUIRED -> {
+                        return new Lease<>(shared, permits, created[0]);
+                    }
+                    case FULL -> key = key.next();
+                    // Evicted between get and acquire
+                    case EVICTED -> sessions.asMap().remove(key, shared);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            releasePermit(permits);
+            throw e;
+        }
+    }
+
+    long size() {
+        sessions.cleanUp();
+        return sessions.size();
+    }
+
+    void invalidateAll() {
+        sessions.invalidateAll();
+        sessions.cleanUp();
+    }
+
+    /**
+     * @return permits shared by targets with the same host and limit, null when unlimited
+     */
+    private Semaphore hostPermits(String host, int maxSessionsPerHost) {
+        if (maxSessionsPerHost <= 0) {
+            return null;
+        }
+        return hostPermits.computeIfAbsent(host + "/" + maxSessionsPerHost, h -> new Semaphore(maxSessionsPerHost, true));
+    }
+
+    private static void acquirePermit(Semaphore permits, String host, int maxSessionsPerHost, long timeout) throws IOException {
+        if (permits == null) {
+            return;
+        }
+        try {
+            if (!permits.tryAcquire(timeout, MILLISECONDS)) {
+                throw new IOException("No ssh session available on " + host + " after " + timeout + " ms, " + maxSessionsPerHost + " sessions already in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a ssh session on " + host);
+        }
+    }
+
+    private static void releasePermit(Semaphore permits) {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private SharedSession<S> open(Connection connection, long timeout) throws IOException {
+        SharedSession<S> shared = new SharedSession<>(sessionFactory.open(connection, timeout), sessionFactory);
+        connects.increment();
+        return shared;
+    }
+
+    private SharedSession<S> get(Key key, SessionLoader<S> loader) throws IOException {
+        try {
+            return sessions.get(key, loader::load);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("chutney.action.ssh.pool.connects", connects, LongAdder::sum)
+            .description("Number of ssh connections opened and authenticated")
+            .tag("client", client)
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.ssh.pool.connections", sessions, Cache::size)
+            .description("Number of pooled ssh connections")
+            .tag("client", client)
+            .register(meterRegistry);
+        Gauge.builder("chutney.action.ssh.pool.sessions", sessions, s -> s.asMap().values().stream().mapToInt(SharedSession::references).sum())
+            .description("Number of sessions in use over pooled ssh connections")
+            .tag("client", client)
+            .register(meterRegistry);
+    }
+
+    public interface SessionFactory<S> {
+        /**
+         * @return a connected and authenticated session
+         */
+        S open(Connection connection, long timeout) throws IOException;
+
+        boolean isHealthy(S session);
+
+        void close(S session) throws IOException;
+    }
+
+    private interface SessionLoader<S> {
+        SharedSession<S> load() throws IOException;
+    }
+
+    public static class Lease<S> implements AutoCloseable {
+        private final SharedSession<S> shared;
+        private final Semaphore permits;
+        private final boolean newSession;
+        private boolean released;
+
+        private Lease(SharedSession<S> shared, Semaphore permits, boolean newSession) {
+            this.shared = shared;
+            this.permits = permits;
+            this.newSession = newSession;
+        }
+
+        public S session() {
+            return shared.session;
+        }
+
+        /**
+         * @return true if the connection has been opened for this lease, false if reused from the pool
+         */
+        public boolean isNewSession() {
+            return newSession;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            shared.release();
+            releasePermit(permits);
+        }
+    }
+
+    private static class SharedSession<S> {
+        private final S session;
+        private final SessionFactory<S> sessionFactory;
+        private int references;
+        private boolean evicted;
+        private boolean closed;
+
+        private SharedSession(S session, SessionFactory<S> sessionFactory) {
+            this.session = session;
+            this.sessionFactory = sessionFactory;
+        }
+
+        private synchronized int references() {
+            return references;
+        }
+
+        private synchronized Acquisition acquire(int maxReferences) {
+            if (evicted) {
+                return Acquisition.EVICTED;
+            }
+            if (references >= maxReferences) {
+                return Acquisition.FULL;
+            }
+            references++;
+            return Acquisition.ACQUIRED;
+        }
+
+        private void release() {
+            synchronized (this) {
+                references--;
+            }
+            closeIfUnused();
+        }
+
+        private void evict() {
+            synchronized (this) {
+                evicted = true;
+            }
+            closeIfUnused();
+        }
+
+        // Session is closed outside the lock since disconnecting may block on network
+        private void closeIfUnused() {
+            synchronized (this) {
+                if (!evicted || references > 0 || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                sessionFactory.close(session);
+            } catch (IOException e) {
+                LOGGER.warn("Cannot close ssh connection", e);
+            }
+        }
+    }
+
+    private enum Acquisition {
+        ACQUIRED, FULL, EVICTED
+    }
+
+    /**
+     * @param slot rank of the connection among the ones opened with the same credentials to the host
+     */
+    private record Key(String host, int port, String username, String password, String privateKey, String passphrase, int slot) {
+
+        static Key of(Connection connection) {
+            return new Key(connection.serverHost, connection.serverPort, connection.username, connection.password, connection.privateKey, connection.passphrase, 0);
+        }
+
+        Key next() {
+            return new Key(host, port, username, password, privateKey, passphrase, slot + 1);
+        }
+
+        @Override
+        public String toString() {
+            return username + "@" + host + ":" + port + "#" + slot;
+        }
+    }
+}
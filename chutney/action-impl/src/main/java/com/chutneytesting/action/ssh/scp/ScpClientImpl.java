@@ -18,18 +18,18 @@ package com.chutneytesting.action.ssh.scp;
 
 import com.chutneytesting.action.spi.injectable.Target;
 import com.chutneytesting.action.ssh.SshClientFactory;
+import com.chutneytesting.action.ssh.SshSessionRegistry;
 import java.io.IOException;
 import java.util.Collections;
 import org.apache.sshd.client.session.ClientSession;
-import org.apache.sshd.scp.client.CloseableScpClient;
 import org.apache.sshd.scp.client.ScpClientCreator;
 
 public class ScpClientImpl implements ScpClient {
 
-    private final ClientSession session;
-    private final CloseableScpClient scpClient;
+    private final SshSessionRegistry.Lease<ClientSession> session;
+    private final org.apache.sshd.scp.client.ScpClient scpClient;
 
-    private ScpClientImpl(ClientSession session, CloseableScpClient scpClient) {
+    private ScpClientImpl(SshSessionRegistry.Lease<ClientSession> session, org.apache.sshd.scp.client.ScpClient scpClient) {
         this.session = session;
         this.scpClient = scpClient;
     }
@@ -45,21 +45,17 @@ public class ScpClientImpl implements ScpClient {
     }
 
     @Override
-    public void close() throws Exception {
+    public void close() {
         session.close();
-        scpClient.close();
     }
 
+    /**
+     * Create a scp client on a pooled session, which is released on {@link #close()}.
+     * Each transfer opens its own channel.
+     */
     public static ScpClient buildFor(Target target, long timeout) throws IOException {
-        ClientSession session = SshClientFactory.buildSSHClientSession(target, timeout);
-        return new ScpClientImpl(session, closeableScpClient(session));
-    }
-
-    private static CloseableScpClient closeableScpClient(ClientSession session) {
-        ScpClientCreator creator = ScpClientCreator.instance();
-        return CloseableScpClient.singleSessionInstance(
-            creator.createScpClient(session)
-        );
+        SshSessionRegistry.Lease<ClientSession> session = SshClientFactory.acquireSSHClientSession(target, timeout);
+        return new ScpClientImpl(session, ScpClientCreator.instance().createScpClient(session.session()));
     }
 
 }
@@ -22,6 +22,7 @@ import static java.time.ZoneId.systemDefault;
 import com.chutneytesting.action.spi.injectable.Logger;
 import com.chutneytesting.action.spi.injectable.Target;
 import com.chutneytesting.action.ssh.SshClientFactory;
+import com.chutneytesting.action.ssh.SshSessionRegistry;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -44,10 +45,10 @@ import org.apache.sshd.sftp.client.impl.DefaultSftpClientFactory;
 
 public class SftpClientImpl implements ChutneySftpClient {
 
-    private final ClientSession session;
+    private final SshSessionRegistry.Lease<ClientSession> session;
     private final SftpClient sftpClient;
 
-    private SftpClientImpl(ClientSession session, SftpClient sftpClient) {
+    private SftpClientImpl(SshSessionRegistry.Lease<ClientSession> session, SftpClient sftpClient) {
         this.session = session;
         this.sftpClient = sftpClient;
     }
@@ -101,19 +102,29 @@ public class SftpClientImpl implements ChutneySftpClient {
 
     @Override
     public void close() throws Exception {
-        sftpClient.close();
-        session.close();
+        try {
+            sftpClient.close();
+        } finally {
+            session.close();
+        }
     }
 
+    /**
+     * Open a sftp channel on a pooled session, which is released on {@link #close()}.
+     */
     public static ChutneySftpClient buildFor(Target target, long timeout, Logger logger) throws IOException {
-        ClientSession session = SshClientFactory.buildSSHClientSession(target, timeout);
-        return new SftpClientImpl(session, buildSftpClient(session, logger));
+        SshSessionRegistry.Lease<ClientSession> session = SshClientFactory.acquireSSHClientSession(target, timeout);
+        try {
+            return new SftpClientImpl(session, buildSftpClient(session.session(), logger));
+        } catch (IOException | RuntimeException e) {
+            session.close();
+            throw e;
+        }
     }
 
     private static SftpClient buildSftpClient(ClientSession session, Logger logger) throws IOException {
         SftpClientFactory factory = DefaultSftpClientFactory.INSTANCE;
-        SftpClient client = factory.createSftpClient(session, new ActionSftpErrorDataHandler(logger));
-        return client.singleSessionInstance();
+        return factory.createSftpClient(session, new ActionSftpErrorDataHandler(logger));
     }
 
     /*
@@ -21,13 +21,17 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import com.chutneytesting.action.spi.injectable.Logger;
+import com.chutneytesting.action.spi.time.Duration;
 import com.chutneytesting.action.ssh.Connection;
+import com.chutneytesting.action.ssh.SshClientFactory;
+import com.chutneytesting.action.ssh.SshSessionRegistry;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.PublicKey;
 import java.util.List;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import net.schmizz.sshj.SSHClient;
 import net.schmizz.sshj.common.IOUtils;
 import net.schmizz.sshj.common.LoggerFactory;
@@ -40,6 +44,8 @@ import net.schmizz.sshj.userauth.keyprovider.KeyProvider;
 
 public class SshJClient implements SshClient {
 
+    private static final SshSessionRegistry<SSHClient> SESSIONS = SshSessionRegistry.withShutdownHook("sshj", new SshJSessionFactory());
+
     private final Connection connection;
     private final Logger logger;
     private final boolean shell;
@@ -55,19 +61,31 @@ public class SshJClient implements SshClient {
         this.shell = shell;
     }
 
+    /**
+     * @return binder of pooled sessions metrics
+     */
+    public static MeterBinder metrics() {
+        return SESSIONS;
+    }
+
     @Override
     public CommandResult execute(Command command) throws IOException {
-        SSHClient sshClient = new SSHClient();
-        connect(sshClient, connection);
-        try {
-            authenticate(sshClient, connection);
-            return executeCommand(sshClient, command);
-        } finally {
-            sshClient.disconnect();
+        try (SshSessionRegistry.Lease<SSHClient> lease = SESSIONS.acquire(connection, Duration.parseToMs(SshClientFactory.DEFAULT_TIMEOUT))) {
+            logAuthentication(lease.isNewSession());
+            return executeCommand(lease.session(), command);
+        }
+    }
+
+    private void logAuthentication(boolean newSession) {
+        String reused = newSession ? "" : " (pooled session)";
+        if (isBlank(connection.privateKey)) {
+            logger.info("Authentication via username/password as " + connection.username + reused);
+        } else {
+            logger.info("Authentication via private key as " + connection.username + reused);
         }
     }
 
-    private void connect(SSHClient client, Connection connection) throws IOException {
+    private static void connect(SSHClient client, Connection connection) throws IOException {
         client.addHostKeyVerifier(new HostKeyVerifier() {
             @Override
             public boolean verify(String hostname, int port, PublicKey key) {
@@ -82,21 +100,19 @@ public class SshJClient implements SshClient {
         client.connect(connection.serverHost, connection.serverPort);
     }
 
-    private void authenticate(SSHClient client, Connection connection) throws IOException {
+    private static void authenticate(SSHClient client, Connection connection) throws IOException {
         if (isBlank(connection.privateKey)) {
-            logger.info("Authentication via username/password as " + connection.username);
             loginWithPassword(client, connection.username, connection.password);
         } else {
-            logger.info("Authentication via private key as " + connection.username);
             loginWithPrivateKey(client, connection.username, connection.privateKey, connection.passphrase);
         }
     }
 
-    private void loginWithPassword(SSHClient client, String username, String password) throws UserAuthException, TransportException {
+    private static void loginWithPassword(SSHClient client, String username, String password) throws UserAuthException, TransportException {
         client.authPassword(username, password);
     }
 
-    private void loginWithPrivateKey(SSHClient client, String username, String privateKey, String passphrase) throws IOException {
+    private static void loginWithPrivateKey(SSHClient client, String username, String privateKey, String passphrase) throws IOException {
         KeyProvider keyProvider = client.loadKeys(privateKey, passphrase);
         client.authPublickey(username, keyProvider);
     }
@@ -162,4 +178,30 @@ public class SshJClient implements SshClient {
         return IOUtils.readFully(inputStream).toString().replaceAll("\r", "");
     }
 
+    private static class SshJSessionFactory implements SshSessionRegistry.SessionFactory<SSHClient> {
+
+        @Override
+        public SSHClient open(Connection connection, long timeout) throws IOException {
+            SSHClient sshClient = new SSHClient();
+            sshClient.setConnectTimeout((int) timeout);
+            try {
+                connect(sshClient, connection);
+                authenticate(sshClient, connection);
+                return sshClient;
+            } catch (IOException | RuntimeException e) {
+                sshClient.disconnect();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isHealthy(SSHClient sshClient) {
+            return sshClient.isConnected() && sshClient.isAuthenticated();
+        }
+
+        @Override
+        public void close(SSHClient sshClient) throws IOException {
+            sshClient.disconnect();
+        }
+    }
 }
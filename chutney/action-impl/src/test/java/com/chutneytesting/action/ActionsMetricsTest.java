@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ServiceLoader;
+import org.junit.jupiter.api.Test;
+
+public class ActionsMetricsTest {
+
+    @Test
+    public void should_bind_actions_metrics_to_given_registry_only() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ServiceLoader.load(MeterBinder.class).forEach(binder -> binder.bindTo(meterRegistry));
+
+        assertThat(meterRegistry.getMeters()).extracting(m -> m.getId().getName()).contains(
+            "chutney.action.http.pool.count",
+            "chutney.action.groovy.compile",
+            "chutney.action.xsd.cache.size",
+            "chutney.action.ssh.pool.connections",
+            "chutney.action.kafka.hub.count"
+        );
+        assertThat(meterRegistry.find("chutney.action.ssh.pool.connects").meters()).extracting(m -> m.getId().getTag("client"))
+            .containsExactlyInAnyOrder("mina", "sshj");
+        assertThat(Metrics.globalRegistry.getMeters()).map(Meter::getId).map(Meter.Id::getName)
+            .noneMatch(name -> name.startsWith("chutney.action."));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.assertion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.xml.sax.SAXException;
+
+public class XsdSchemaCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final XsdSchemaCache sut = new XsdSchemaCache();
+    private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader(XsdSchemaCacheTest.class.getClassLoader());
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        sut.bindTo(meterRegistry);
+    }
+
+    @Test
+    public void should_compile_same_xsd_once() throws SAXException, IOException {
+        Schema schema = sut.get("classpath:/xsd_samples/shipTo.xsd", resourceLoader);
+
+        assertThat(sut.get("classpath:/xsd_samples/shipTo.xsd", resourceLoader)).isSameAs(schema);
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.xsd.compile").functionTimer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_compile_again_when_imported_xsd_is_modified() throws SAXException, IOException {
+        Path xsd = tempDir.resolve("root.xsd");
+        Path importedXsd = tempDir.resolve("value.xsd");
+        Files.writeString(xsd, """
+            <xs:schema xmlns:xs="http://www.w3.org/2001/XMLSchema">
+                <xs:include schemaLocation="value.xsd"/>
+                <xs:element name="root" type="value"/>
+            </xs:schema>
+            """);
+        writeValueXsd(importedXsd, "[a-z]+", Instant.parse("2020-01-01T00:00:00Z"));
+        String xsdPath = "file:" + xsd;
+
+        Schema schema = sut.get(xsdPath, resourceLoader);
+        assertThat(sut.get(xsdPath, resourceLoader)).isSameAs(schema);
+        validate(schema, "<root>abc</root>");
+
+        writeValueXsd(importedXsd, "[0-9]+", Instant.parse("2021-01-01T00:00:00Z"));
+        Schema recompiledSchema = sut.get(xsdPath, resourceLoader);
+
+        assertThat(recompiledSchema).isNotSameAs(schema);
+        validate(recompiledSchema, "<root>123</root>");
+        assertThatThrownBy(() -> validate(recompiledSchema, "<root>abc</root>"))
+            .isInstanceOf(SAXException.class);
+    }
+
+    private static void writeValueXsd(Path path, String pattern, Instant lastModified) throws IOException {
+        Files.writeString(path, """
+            <xs:schema xmlns:xs="http://www.w3.org/2001/XMLSchema">
+                <xs:simpleType name="value">
+                    <xs:restriction base="xs:string">
+                        <xs:pattern value="%s"/>
+                    </xs:restriction>
+                </xs:simpleType>
+            </xs:schema>
+            """.formatted(pattern));
+        Files.setLastModifiedTime(path, FileTime.from(lastModified));
+    }
+
+    private static void validate(Schema schema, String xml) throws SAXException, IOException {
+        schema.newValidator().validate(new StreamSource(new StringReader(xml)));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class JsonDocumentsTest {
+
+    @Test
+    public void should_parse_same_string_document_once() {
+        String document = "{\"a\": {\"b\": [1, 2]}}";
+
+        assertThat(JsonDocuments.read(document)).isSameAs(JsonDocuments.read(document));
+        assertThat(JsonDocuments.read(new String(document))).isNotSameAs(JsonDocuments.read(document));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_copy_document_independently_of_shared_one() {
+        String document = "{\"a\": {\"b\": [1, 2]}}";
+        Object shared = JsonDocuments.read(document);
+
+        Map<String, Object> copy = (Map<String, Object>) JsonDocuments.copy(document);
+        ((Map<String, Object>) copy.get("a")).put("c", "new");
+        ((List<Object>) ((Map<String, Object>) copy.get("a")).get("b")).add(3);
+
+        assertThat(JsonDocuments.read(document)).isSameAs(shared);
+        assertThat(JsonPath.parse(shared).jsonString()).isEqualTo("{\"a\":{\"b\":[1,2]}}");
+    }
+
+    @Test
+    public void should_parse_mutable_documents_at_each_read() {
+        Map<String, Object> document = new HashMap<>(Map.of("a", 1));
+        assertThat(JsonPath.parse(JsonDocuments.read(document)).read("$.a", Integer.class)).isEqualTo(1);
+
+        document.put("a", 2);
+
+        assertThat(JsonPath.parse(JsonDocuments.read(document)).read("$.a", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    public void should_compile_path_once() {
+        assertThat(JsonDocuments.compile("$.a.b[0]")).isSameAs(JsonDocuments.compile("$.a.b[0]"));
+        assertThatThrownBy(() -> JsonDocuments.compile("$."))
+            .isInstanceOf(InvalidPathException.class);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.jdom2.Document;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.jupiter.api.Test;
+
+public class XmlUtilsTest {
+
+    @Test
+    public void should_parse_same_string_document_once() throws XmlUtils.InvalidXmlDocumentException {
+        String document = "<root><node>value</node></root>";
+
+        Document read = XmlUtils.readDocument(document);
+
+        assertThat(XmlUtils.readDocument(document)).isSameAs(read);
+        assertThat(XmlUtils.toDocument(document)).isNotSameAs(read);
+    }
+
+    @Test
+    public void should_compile_xpath_once_by_thread_namespaces_and_filter() throws XmlUtils.InvalidXPathException {
+        XPathExpression<Object> xpath = XmlUtils.compileXPath("//ns:node", Map.of("ns", "http://ns.org"));
+
+        assertThat(XmlUtils.compileXPath("//ns:node", Map.of("ns", "http://ns.org"))).isSameAs(xpath);
+        assertThat(XmlUtils.compileXPath("//ns:node", Map.of("ns", "http://other.org")).getNamespace("ns").getURI()).isEqualTo("http://other.org");
+        assertThat(XmlUtils.compileXPath("boolean(//ns:node)", Map.of("ns", "http://ns.org"), Filters.fboolean()).getFilter()).isSameAs(Filters.fboolean());
+    }
+
+    @Test
+    public void should_not_share_compiled_xpath_between_threads() throws Exception {
+        XPathExpression<Object> xpath = XmlUtils.compileXPath("//node");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            XPathExpression<Object> otherThreadXpath = executor.submit(() -> XmlUtils.compileXPath("//node")).get();
+            assertThat(otherThreadXpath).isNotSameAs(xpath);
+            assertThat(executor.submit(() -> XmlUtils.compileXPath("//node")).get()).isSameAs(otherThreadXpath);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_not_cache_invalid_xpath() {
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(XmlUtils.InvalidXPathException.class)
+                .isThrownBy(() -> XmlUtils.compileXPath("?@hjy1"))
+                .withMessage("Unable to compile XPath: ?@hjy1");
+        }
+    }
+
+    @Test
+    public void should_reuse_parser_by_thread() throws Exception {
+        assertThat(XmlUtils.localSaxBuilder()).isSameAs(XmlUtils.localSaxBuilder());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(XmlUtils::localSaxBuilder).get()).isNotSameAs(XmlUtils.localSaxBuilder());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
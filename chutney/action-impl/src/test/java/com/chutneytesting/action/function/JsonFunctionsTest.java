@@ -54,6 +54,18 @@ public class JsonFunctionsTest {
         assertThat(result).isInstanceOfSatisfying(List.class, list -> assertThat(list).contains("value1"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void read_objects_and_arrays_can_be_modified_without_altering_the_document() {
+        String json = "{\"dev\":{\"name\":\"Bruce\", \"skills\":[\"fight\"]}}";
+
+        ((Map<String, Object>) JsonFunctions.jsonPath(json, "$.dev")).put("name", "Batman");
+        ((List<Object>) JsonFunctions.jsonPath(json, "$.dev.skills")).add("fly");
+
+        assertThat(JsonFunctions.jsonPath(json, "$.dev.name")).isEqualTo("Bruce");
+        assertThat(JsonFunctions.jsonPath(json, "$.dev.skills")).isEqualTo(List.of("fight"));
+    }
+
     @Test
     public void should_update_a_value_at_given_path() {
 
@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import com.chutneytesting.action.common.XmlUtils;
 import java.util.HashMap;
 import java.util.Map;
+import org.jdom2.Element;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -84,6 +85,16 @@ public class XPathFunctionTest {
         };
     }
 
+    @Test
+    public void matching_elements_can_be_modified_without_altering_the_document() throws XmlUtils.InvalidXPathException, XmlUtils.InvalidXmlDocumentException {
+        Element element = (Element) XPathFunction.xpath(STANDARD_XML, "/node1");
+
+        assertThat(element.getParent()).isNull();
+        element.removeContent();
+
+        assertThat(XPathFunction.xpath(STANDARD_XML, "/node1/node3")).isEqualTo("text12");
+    }
+
     @Test
     public void invalid_document_throws() {
         assertThatExceptionOfType(XmlUtils.InvalidXmlDocumentException.class).isThrownBy(
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.groovy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GroovyScriptCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GroovyScriptCache sut = new GroovyScriptCache();
+
+    @BeforeEach
+    public void setUp() {
+        sut.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sut.invalidateAll();
+    }
+
+    @Test
+    public void should_compile_same_script_once_and_create_new_instances_with_their_own_binding() {
+        String script = "return ['result': value * 2]";
+
+        Script first = sut.create(script, new Binding(Map.of("value", 1)));
+        Script second = sut.create(script, new Binding(Map.of("value", 2)));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getClass()).isSameAs(first.getClass());
+        assertThat(first.run()).isEqualTo(Map.of("result", 2));
+        assertThat(second.run()).isEqualTo(Map.of("result", 4));
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.groovy.compile").functionTimer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.groovy.instantiate").functionTimer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_compile_different_scripts_in_different_classes() {
+        Script first = sut.create("return 1", new Binding());
+        Script second = sut.create("return 2", new Binding());
+
+        assertThat(second.getClass()).isNotSameAs(first.getClass());
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_evict_scripts_not_used_anymore() {
+        GroovyScriptCache expiringCache = new GroovyScriptCache(GroovyScriptCache.DEFAULT_MAXIMUM_SIZE, Duration.ofMillis(1));
+        expiringCache.create("return 1", new Binding());
+
+        await(5);
+
+        assertThat(expiringCache.size()).isZero();
+    }
+
+    @Test
+    public void should_not_cache_script_which_cannot_be_compiled() {
+        assertThatThrownBy(() -> sut.create("retu]", new Binding()))
+            .isInstanceOf(CompilationFailedException.class);
+
+        assertThat(sut.size()).isZero();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
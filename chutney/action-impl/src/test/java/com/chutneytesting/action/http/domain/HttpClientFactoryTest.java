@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.http.domain;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.chutneytesting.action.TestLogger;
+import com.chutneytesting.action.TestTarget;
+import com.chutneytesting.action.spi.injectable.Target;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+public class HttpClientFactoryTest {
+
+    private final WireMockServer wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClientRegistry registry = new HttpClientRegistry();
+    private final HttpClientFactory sut = new HttpClientFactory(registry);
+
+    @BeforeEach
+    public void setUp() {
+        registry.bindTo(meterRegistry);
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/ping")).willReturn(aResponse().withStatus(200).withBody("pong")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.invalidateAll();
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void should_reuse_pooled_connections_across_clients_of_same_target() {
+        for (int i = 0; i < 10; i++) {
+            ResponseEntity<String> response = sut.create(new TestLogger(), target("http"), String.class, 2000).get("/ping", new HttpHeaders());
+            assertThat(response.getBody()).isEqualTo("pong");
+        }
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.poolStats()).hasSize(1);
+        assertThat(registry.poolStats().values().iterator().next().getAvailable()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.http.pool.count").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.http.pool.connections").tag("state", "available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_share_clients_between_different_targets_or_timeouts() {
+        sut.create(new TestLogger(), target("http"), String.class, 2000).get("/ping", new HttpHeaders());
+        sut.create(new TestLogger(), target("http"), String.class, 1000).get("/ping", new HttpHeaders());
+        sut.create(new TestLogger(), target("other"), String.class, 2000).get("/ping", new HttpHeaders());
+        sut.create(new TestLogger(), TestTarget.TestTargetBuilder.builder()
+            .withTargetId("http")
+            .withUrl("http://localhost:" + wireMockServer.port())
+            .withProperty("user", "someone")
+            .build(), String.class, 2000).get("/ping", new HttpHeaders());
+
+        assertThat(registry.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_close_clients_not_used_anymore() {
+        HttpClientRegistry expiringRegistry = new HttpClientRegistry(Duration.ofMillis(1));
+        HttpClientFactory expiringSut = new HttpClientFactory(expiringRegistry);
+        expiringSut.create(new TestLogger(), target("http"), String.class, 2000).get("/ping", new HttpHeaders());
+
+        await(5);
+
+        assertThat(expiringRegistry.size()).isZero();
+    }
+
+    @Test
+    public void should_limit_connections_by_route_with_target_property() {
+        Target target = TestTarget.TestTargetBuilder.builder()
+            .withTargetId("http")
+            .withUrl("http://localhost:" + wireMockServer.port())
+            .withProperty("maxConnectionsPerRoute", "3")
+            .build();
+
+        sut.create(new TestLogger(), target, String.class, 2000).get("/ping", new HttpHeaders());
+
+        HttpClientRegistry.PooledHttpClient pooledClient = registry.acquire(target, 2000, () -> null);
+        pooledClient.release();
+        assertThat(pooledClient.connectionManager().getDefaultMaxPerRoute()).isEqualTo(3);
+        assertThat(pooledClient.connectionManager().getMaxTotal()).isEqualTo(100);
+    }
+
+    @Test
+    public void should_close_evicted_client_once_released() {
+        sut.create(new TestLogger(), target("http"), String.class, 2000).get("/ping", new HttpHeaders());
+        HttpClientRegistry.PooledHttpClient pooledClient = registry.acquire(target("http"), 2000, () -> null);
+
+        registry.invalidateAll();
+        assertThat(registry.size()).isZero();
+        assertThat(pooledClient.isClosed()).isFalse();
+        assertThat(pooledClient.restTemplate().getForObject(wireMockServer.baseUrl() + "/ping", String.class)).isEqualTo("pong");
+
+        pooledClient.release();
+        assertThat(pooledClient.isClosed()).isTrue();
+    }
+
+    @Test
+    public void should_not_share_cookies_between_calls_of_pooled_client() {
+        wireMockServer.stubFor(get(urlEqualTo("/login")).willReturn(aResponse().withStatus(200).withHeader("Set-Cookie", "session=secret; Path=/")));
+
+        sut.create(new TestLogger(), target("http"), String.class, 2000).get("/login", new HttpHeaders());
+        sut.create(new TestLogger(), target("http"), String.class, 2000).get("/ping", new HttpHeaders());
+
+        assertThat(registry.size()).isEqualTo(1);
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/ping")).withoutHeader("Cookie"));
+    }
+
+    private Target target(String name) {
+        return TestTarget.TestTargetBuilder.builder()
+            .withTargetId(name)
+            .withUrl("http://localhost:" + wireMockServer.port())
+            .build();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -157,6 +157,30 @@ public abstract class KafkaBasicConsumeActionIntegrationTest {
 
     }
 
+    @Test
+    public void should_consume_messages_sent_before_step_with_shared_consumer() {
+        // given
+        Map<String, String> props = new HashMap<>();
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, OffsetResetStrategy.EARLIEST.name().toLowerCase());
+        Target target = targetBuilder.withProperty("sharedConsumer", "true").build();
+
+        producer.send(new ProducerRecord<>(uniqueTopic, 123, "1"));
+        ActionExecutionResult actionExecutionResult = getKafkaBasicConsumeAction(target, props, false).execute();
+        assertThat(actionExecutionResult.status).isEqualTo(Success);
+        assertThat(assertActionOutputsSize(actionExecutionResult, 1).get(0).get("payload")).isEqualTo("1");
+
+        // when
+        producer.send(new ProducerRecord<>(uniqueTopic, 123, "2"));
+        producer.flush();
+        await(1000);
+        actionExecutionResult = getKafkaBasicConsumeAction(target, props, false).execute();
+
+        // then
+        assertThat(actionExecutionResult.status).isEqualTo(Success);
+        assertThat(assertActionOutputsSize(actionExecutionResult, 1).get(0).get("payload")).isEqualTo("2");
+    }
+
     private KafkaBasicConsumeAction getKafkaBasicConsumeAction(Target target, Map<String, String> props, boolean resetOffset) {
         return new KafkaBasicConsumeAction(target, uniqueTopic, GROUP, props, 1, null, null, TEXT_PLAIN_VALUE, "10 s", null, resetOffset, logger);
     }
@@ -181,6 +205,14 @@ public abstract class KafkaBasicConsumeActionIntegrationTest {
         return body;
     }
 
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static Producer<Integer, String> createProducer(String brokerPath) {
         Map<String, Object> producerProps = new HashMap<>();
         producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerPath);
@@ -252,6 +252,33 @@ public class KafkaBasicConsumeActionTest {
         assertActionOutputsSize(actionExecutionResult, 1);
     }
 
+    @Test
+    public void should_return_exactly_nb_message_asked_when_received_by_several_listener_threads() throws InterruptedException {
+        // Given
+        Action sut = givenKafkaConsumeAction(5, "$..[?($.payload.id)]", null, APPLICATION_JSON_VALUE, "3 sec");
+        MessageListener<String, String> listener = overrideActionMessageListenerContainer(sut);
+        List<Thread> listenerThreads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            listenerThreads.add(new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    listener.onMessage(buildRecord(thread * 10L + i, "KEY", "{\"id\": \"" + thread + "-" + i + "\"}"));
+                }
+            }));
+        }
+        listenerThreads.forEach(Thread::start);
+        for (Thread listenerThread : listenerThreads) {
+            listenerThread.join();
+        }
+
+        // When
+        ActionExecutionResult actionExecutionResult = sut.execute();
+
+        // Then
+        assertThat(actionExecutionResult.status).isEqualTo(Success);
+        assertActionOutputsSize(actionExecutionResult, 5);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = APPLICATION_JSON_VALUE)
     @NullSource
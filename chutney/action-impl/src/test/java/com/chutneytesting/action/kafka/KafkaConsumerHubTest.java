@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+public class KafkaConsumerHubTest {
+
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private MessageListener<String, String> listener;
+    private Clock clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Test
+    public void should_offer_received_records_to_first_accepting_subscriber() {
+        KafkaConsumerHub sut = hub(Duration.ofSeconds(10), 10);
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        try (KafkaConsumerHub.Subscription ignored = sut.subscribe(collect(first, "a"));
+             KafkaConsumerHub.Subscription ignored2 = sut.subscribe(collect(second, "a", "b"))) {
+            listener.onMessage(record("a"));
+            listener.onMessage(record("b"));
+            listener.onMessage(record("c"));
+        }
+
+        assertThat(first).containsExactly("a");
+        assertThat(second).containsExactly("b");
+        assertThat(sut.buffered()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_offer_records_received_before_subscription_within_look_back() {
+        KafkaConsumerHub sut = hub(Duration.ofSeconds(10), 10);
+        listener.onMessage(record("old"));
+        clock = Clock.offset(clock, Duration.ofSeconds(8));
+        listener.onMessage(record("recent"));
+        clock = Clock.offset(clock, Duration.ofSeconds(5));
+        List<String> consumed = new ArrayList<>();
+
+        sut.subscribe(collect(consumed, "old", "recent")).close();
+
+        assertThat(consumed).containsExactly("recent");
+        assertThat(sut.buffered()).isZero();
+    }
+
+    @Test
+    public void should_bound_look_back_buffer_size() {
+        KafkaConsumerHub sut = hub(Duration.ofSeconds(10), 2);
+        listener.onMessage(record("1"));
+        listener.onMessage(record("2"));
+        listener.onMessage(record("3"));
+        List<String> consumed = new ArrayList<>();
+
+        sut.subscribe(collect(consumed, "1", "2", "3")).close();
+
+        assertThat(consumed).containsExactly("2", "3");
+    }
+
+    @Test
+    public void should_stop_evicted_hub_once_last_subscription_is_closed() {
+        KafkaConsumerHub sut = hub(Duration.ofSeconds(10), 10);
+        KafkaConsumerHub.Subscription subscription = sut.subscribe(record -> false);
+
+        sut.evict();
+        verify(container, never()).stop();
+        assertThat(sut.subscribe(record -> false)).isNull();
+
+        subscription.close();
+        verify(container, times(1)).stop();
+    }
+
+    @Test
+    public void should_share_started_hub_between_subscriptions_of_same_key() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaConsumerHubRegistry registry = new KafkaConsumerHubRegistry();
+        registry.bindTo(meterRegistry);
+        KafkaConsumerHubRegistry.Key key = new KafkaConsumerHubRegistry.Key("kafka", "tcp://localhost:9092", "topic", "group", Map.of());
+
+        try (KafkaConsumerHub.Subscription ignored = registry.subscribe(key, () -> hub(Duration.ofSeconds(10), 10), record -> false);
+             KafkaConsumerHub.Subscription ignored2 = registry.subscribe(key, () -> hub(Duration.ofSeconds(10), 10), record -> false)) {
+            assertThat(meterRegistry.get("chutney.action.kafka.hub.subscribers").gauge().value()).isEqualTo(2);
+        }
+
+        verify(container, times(1)).start();
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.invalidateAll();
+        verify(container, times(1)).stop();
+    }
+
+    private KafkaConsumerHub hub(Duration lookBack, int bufferSize) {
+        return new KafkaConsumerHub(l -> {
+            listener = l;
+            return container;
+        }, lookBack, bufferSize, new DelegatingClock());
+    }
+
+    private static Predicate<ConsumerRecord<String, String>> collect(List<String> consumed, String... accepted) {
+        List<String> acceptedValues = List.of(accepted);
+        return record -> {
+            if (acceptedValues.contains(record.value())) {
+                consumed.add(record.value());
+                return true;
+            }
+            return false;
+        };
+    }
+
+    private static ConsumerRecord<String, String> record(String value) {
+        return new ConsumerRecord<>("topic", 0, 0L, "key", value);
+    }
+
+    private class DelegatingClock extends Clock {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.chutneytesting.action.TestTarget;
+import com.chutneytesting.action.spi.injectable.Target;
+import com.chutneytesting.tools.CloseableResource;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class MongoClientRegistryTest {
+
+    private final MongoClientRegistry registry = new MongoClientRegistry();
+    private final DefaultMongoDatabaseFactory sut = new DefaultMongoDatabaseFactory(registry);
+
+    @AfterEach
+    public void tearDown() {
+        registry.invalidateAll();
+    }
+
+    @Test
+    public void should_share_client_between_databases_of_same_target() {
+        try (CloseableResource<MongoDatabase> first = sut.create(target("mongo", "db"));
+             CloseableResource<MongoDatabase> second = sut.create(target("mongo", "db"))) {
+            assertThat(second.getResource()).isNotNull();
+        }
+        sut.create(target("mongo", "db")).close();
+
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_share_client_between_different_targets() {
+        sut.create(target("mongo", "db")).close();
+        sut.create(target("mongo", "otherDb")).close();
+        sut.create(TestTarget.TestTargetBuilder.builder()
+            .withTargetId("mongo")
+            .withUrl("mongodb://localhost:27017")
+            .withProperty("databaseName", "db")
+            .withProperty("maxPoolSize", "5")
+            .build()).close();
+
+        assertThat(registry.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_close_evicted_client_once_released() {
+        MongoClientRegistry expiringRegistry = new MongoClientRegistry(Duration.ofMillis(1));
+        MongoClientRegistry.SharedMongoClient client = expiringRegistry.acquire(target("mongo", "db"), "mongodb://localhost:27017/", () -> MongoClients.create("mongodb://localhost:27017/"));
+
+        await(5);
+        assertThat(expiringRegistry.size()).isZero();
+        assertThat(client.isClosed()).isFalse();
+
+        client.release();
+        assertThat(client.isClosed()).isTrue();
+    }
+
+    @Test
+    public void should_close_released_clients_on_invalidation() {
+        MongoClientRegistry.SharedMongoClient client = registry.acquire(target("mongo", "db"), "mongodb://localhost:27017/", () -> MongoClients.create("mongodb://localhost:27017/"));
+        client.release();
+
+        registry.invalidateAll();
+
+        assertThat(client.isClosed()).isTrue();
+    }
+
+    private Target target(String name, String databaseName) {
+        return TestTarget.TestTargetBuilder.builder()
+            .withTargetId(name)
+            .withUrl("mongodb://localhost:27017")
+            .withProperty("databaseName", databaseName)
+            .build();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -70,7 +70,7 @@ public class SqlActionTest {
     public void should_output_only_one_result_when_single_statement() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("select * from users"), 2);
+        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("select * from users"), 2, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -98,7 +98,7 @@ public class SqlActionTest {
     public void should_provide_affectedRows_when_single_statement() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("UPDATE USERS SET NAME = 'toto' WHERE ID = 1"), 5);
+        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("UPDATE USERS SET NAME = 'toto' WHERE ID = 1"), 5, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -111,7 +111,7 @@ public class SqlActionTest {
     public void should_output_only_many_results_when_multi_statements() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users where id = 1", "select * from users where id = 2") , 2);
+        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users where id = 1", "select * from users where id = 2") , 2, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -146,7 +146,7 @@ public class SqlActionTest {
     public void should_be_non_sensitive_to_header_case_or_spaces() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users"), 2);
+        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users"), 2, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -158,4 +158,30 @@ public class SqlActionTest {
         assertThat(rows.get("NaMe")).isEqualTo(List.of("laitue","carotte", "tomate"));
         assertThat(rows.get(" EMAIL ")).isEqualTo(List.of("laitue@fake.com","kakarot@fake.db","null"));
     }
+
+    @Test
+    public void should_count_rows_and_output_first_chunk_when_streaming() {
+        // Given
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users"), 5, 2);
+
+        // When
+        ActionExecutionResult result = action.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Success);
+        assertThat(result.outputs.get("rowCount")).isEqualTo(3L);
+
+        Rows rows = (Rows) result.outputs.get("rows");
+        assertThat(rows.get("NAME")).isEqualTo(List.of("laitue", "carotte"));
+        verify(logger).info("3 rows fetched");
+    }
+
+    @Test
+    public void should_refuse_non_positive_chunk_size() {
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users"), 5, 0);
+
+        assertThat(action.validateInputs()).contains("chunkSize must be positive");
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.sql.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.chutneytesting.action.TestTarget;
+import com.chutneytesting.action.spi.injectable.Target;
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class DefaultSqlClientFactoryTest {
+
+    private static final String DB_NAME = "test_" + DefaultSqlClientFactoryTest.class;
+
+    private final DataSourceRegistry registry = new DataSourceRegistry();
+    private final DefaultSqlClientFactory sut = new DefaultSqlClientFactory(registry);
+
+    @BeforeEach
+    public void setUp() {
+        new EmbeddedDatabaseBuilder()
+            .setName(DB_NAME)
+            .setType(EmbeddedDatabaseType.H2)
+            .setScriptEncoding("UTF-8")
+            .ignoreFailedDrops(true)
+            .addScripts("db/sql/create_db.sql", "db/sql/insert_users.sql")
+            .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.invalidateAll();
+    }
+
+    @Test
+    public void should_share_datasource_between_clients_of_same_target() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            Records records = sut.create(target("1")).execute("select * from users");
+            assertThat(records.records).hasSize(3);
+        }
+
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_share_datasource_between_different_target_configurations() {
+        sut.create(target("1"));
+        sut.create(target("2"));
+        sut.create(TestTarget.TestTargetBuilder.builder()
+            .withTargetId("sql")
+            .withUrl("jdbc:h2:mem")
+            .withProperty("jdbcUrl", "jdbc:h2:mem:" + DB_NAME)
+            .withProperty("user", "sa")
+            .withProperty("dataSource.maximumPoolSize", "2")
+            .build());
+
+        assertThat(registry.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_close_datasources_not_used_anymore() throws SQLException {
+        DataSourceRegistry expiringRegistry = new DataSourceRegistry(DataSourceRegistry.DEFAULT_MAXIMUM_SIZE, Duration.ofMillis(1));
+        SqlClient sqlClient = new DefaultSqlClientFactory(expiringRegistry).create(target("1"));
+        sqlClient.execute("select * from users");
+
+        await(5);
+
+        assertThat(expiringRegistry.size()).isZero();
+    }
+
+    @Test
+    public void should_close_evicted_datasource_once_its_clients_are_closed() throws SQLException {
+        SqlClient sqlClient = sut.create(target("1"));
+
+        registry.invalidateAll();
+        assertThat(registry.size()).isZero();
+        assertThat(sqlClient.execute("select * from users").records).hasSize(3);
+
+        sqlClient.close();
+        assertThatThrownBy(() -> sqlClient.execute("select * from users"))
+            .isInstanceOf(SQLException.class)
+            .hasMessageContaining("has been closed");
+    }
+
+    @Test
+    public void should_close_least_recently_used_datasource_when_too_many_are_cached() {
+        DataSourceRegistry boundedRegistry = new DataSourceRegistry(1, DataSourceRegistry.DEFAULT_EXPIRE_AFTER_ACCESS);
+        DefaultSqlClientFactory boundedSut = new DefaultSqlClientFactory(boundedRegistry);
+
+        boundedSut.create(target("1"));
+        boundedSut.create(target("2"));
+
+        assertThat(boundedRegistry.size()).isEqualTo(1);
+        boundedRegistry.invalidateAll();
+    }
+
+    private Target target(String minimumIdle) {
+        return TestTarget.TestTargetBuilder.builder()
+            .withTargetId("sql")
+            .withUrl("jdbc:h2:mem")
+            .withProperty("jdbcUrl", "jdbc:h2:mem:" + DB_NAME)
+            .withProperty("user", "sa")
+            .withProperty("dataSource.minimumIdle", minimumIdle)
+            .build();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package com.chutneytesting.action.sql.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
 
 import com.chutneytesting.action.TestTarget;
 import com.chutneytesting.action.spi.injectable.Target;
@@ -28,6 +30,7 @@ import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -129,10 +132,83 @@ public class SqlClientTest {
 
             SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
 
-            Exception exception = assertThrows(NotEnoughMemoryException.class, () -> sqlClient.execute("select * from users"));
+            Exception exception = assertThrows(NotEnoughMemoryException.class, () -> sqlClient.stream("select * from users", 1, chunk -> {}));
             assertThat(exception.getMessage()).isEqualTo("Running step was stopped to prevent application crash. 42MB memory used of 1337MB max.\n" +
                 "Current step may not be the cause.\n" +
                 "Query fetched 2 rows");
         }
     }
+
+    @Test
+    public void should_check_memory_when_chunks_begin() throws SQLException {
+        try (MockedStatic<ChutneyMemoryInfo> chutneyMemoryInfoMockedStatic = Mockito.mockStatic(ChutneyMemoryInfo.class)) {
+            chutneyMemoryInfoMockedStatic.when(ChutneyMemoryInfo::hasEnoughAvailableMemory).thenReturn(true);
+
+            SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+            sqlClient.stream("select * from users", 2, chunk -> {});
+            sqlClient.execute("select * from users");
+
+            chutneyMemoryInfoMockedStatic.verify(ChutneyMemoryInfo::hasEnoughAvailableMemory, times(3));
+        }
+    }
+
+    @Test
+    public void should_stream_select_query_results_by_chunks() throws SQLException {
+        SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+        List<Records> chunks = new ArrayList<>();
+
+        sqlClient.stream("select * from users order by id", 2, chunks::add);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0).rows().get("NAME")).containsExactly("laitue", "carotte");
+        assertThat(chunks.get(1).rows().get("NAME")).containsExactly("tomate");
+        assertThat(chunks.get(1).getHeaders()).containsExactly("ID", "NAME", "EMAIL");
+    }
+
+    @Test
+    public void should_stream_one_empty_chunk_when_no_result() throws SQLException {
+        SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+        List<Records> chunks = new ArrayList<>();
+
+        sqlClient.stream("select * from users where id < 0", 2, chunks::add);
+
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).count()).isZero();
+        assertThat(chunks.get(0).getHeaders()).containsExactly("ID", "NAME", "EMAIL");
+    }
+
+    @Test
+    public void should_commit_streamed_statements() throws SQLException {
+        SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+        List<Records> chunks = new ArrayList<>();
+
+        sqlClient.stream("UPDATE USERS SET NAME = 'streamed' WHERE ID = 1", 2, chunks::add);
+
+        assertThat(chunks.get(0).affectedRows).isEqualTo(1);
+        assertThat(sqlClient.execute("select name from users where id = 1").row(0).get("NAME")).isEqualTo("streamed");
+    }
+
+    @Test
+    public void should_rollback_streamed_statement_when_result_is_not_walked_until_its_end() throws SQLException {
+        SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+
+        assertThatThrownBy(() -> sqlClient.stream("UPDATE USERS SET NAME = 'streamed' WHERE ID = 1", 2, chunk -> {
+            throw new IllegalStateException("consumer failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sqlClient.execute("select name from users where id = 1").row(0).get("NAME")).isEqualTo("laitue");
+        assertThat(sqlClient.execute("UPDATE USERS SET NAME = 'executed' WHERE ID = 2").affectedRows).isEqualTo(1);
+        assertThat(sqlClient.execute("select name from users where id = 2").row(0).get("NAME")).isEqualTo("executed");
+    }
+
+    @Test
+    public void should_keep_null_values_of_primitive_columns() throws SQLException {
+        SqlClient sqlClient = new DefaultSqlClientFactory().create(sqlTarget);
+
+        Records actual = sqlClient.execute("select cast(null as int) as i, cast(1 as bigint) as l, cast(2.5 as double) as d from users where id = 1");
+
+        assertThat(actual.row(0).get("i")).isEqualTo("null");
+        assertThat(actual.row(0).get("l")).isEqualTo(1L);
+        assertThat(actual.row(0).get("d")).isEqualTo(2.5d);
+    }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.action.ssh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.chutneytesting.action.TestTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SshSessionRegistryTest {
+
+    private final FakeSessionFactory sessionFactory = new FakeSessionFactory();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SshSessionRegistry<FakeSession> sut = new SshSessionRegistry<>("fake", sessionFactory, Duration.ofMinutes(1));
+
+    @BeforeEach
+    public void setUp() {
+        sut.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sut.invalidateAll();
+    }
+
+    @Test
+    public void should_share_session_between_leases_of_same_connection() throws IOException {
+        try (SshSessionRegistry.Lease<FakeSession> first = sut.acquire(connection("user", "pwd"), 100);
+             SshSessionRegistry.Lease<FakeSession> second = sut.acquire(connection("user", "pwd"), 100)) {
+            assertThat(first.isNewSession()).isTrue();
+            assertThat(second.isNewSession()).isFalse();
+            assertThat(second.session()).isSameAs(first.session());
+            assertThat(meterRegistry.get("chutney.action.ssh.pool.sessions").tag("client", "fake").gauge().value()).isEqualTo(2);
+        }
+
+        assertThat(sessionFactory.opened).hasSize(1);
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.ssh.pool.connections").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.action.ssh.pool.sessions").gauge().value()).isZero();
+        assertThat(meterRegistry.get("chutney.action.ssh.pool.connects").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_share_session_between_different_credentials() throws IOException {
+        sut.acquire(connection("user", "pwd"), 100).close();
+        sut.acquire(connection("user", "otherPwd"), 100).close();
+        sut.acquire(connection("other", "pwd"), 100).close();
+
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_replace_unhealthy_session() throws IOException {
+        FakeSession first;
+        try (SshSessionRegistry.Lease<FakeSession> lease = sut.acquire(connection("user", "pwd"), 100)) {
+            first = lease.session();
+        }
+        first.healthy = false;
+
+        try (SshSessionRegistry.Lease<FakeSession> lease = sut.acquire(connection("user", "pwd"), 100)) {
+            assertThat(lease.isNewSession()).isTrue();
+            assertThat(lease.session()).isNotSameAs(first);
+        }
+        assertThat(first.closed).isTrue();
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_limit_sessions_in_use_by_host_when_set_on_target() throws IOException {
+        SshSessionRegistry.Lease<FakeSession> first = sut.acquire(connection("user", "pwd", "2"), 100);
+        SshSessionRegistry.Lease<FakeSession> second = sut.acquire(connection("other", "pwd", "2"), 100);
+
+        assertThatThrownBy(() -> sut.acquire(connection("user", "pwd", "2"), 10))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("No ssh session available on localhost:22");
+
+        first.close();
+        first.close();
+        sut.acquire(connection("user", "pwd", "2"), 10).close();
+        second.close();
+    }
+
+    @Test
+    public void should_not_limit_sessions_in_use_by_host_by_default() throws IOException {
+        List<SshSessionRegistry.Lease<FakeSession>> leases = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            leases.add(sut.acquire(connection("user", "pwd"), 10));
+        }
+
+        assertThat(meterRegistry.get("chutney.action.ssh.pool.sessions").gauge().value()).isEqualTo(25);
+        leases.forEach(SshSessionRegistry.Lease::close);
+    }
+
+    @Test
+    public void should_open_another_connection_once_channels_per_connection_are_all_used() throws IOException {
+        List<SshSessionRegistry.Lease<FakeSession>> leases = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            leases.add(sut.acquire(connection("user", "pwd"), 10));
+        }
+
+        assertThat(sessionFactory.opened).hasSize(3);
+        assertThat(leases.stream().map(SshSessionRegistry.Lease::session).filter(s -> s == sessionFactory.opened.get(0))).hasSize(10);
+        assertThat(leases.stream().map(SshSessionRegistry.Lease::session).filter(s -> s == sessionFactory.opened.get(2))).hasSize(5);
+
+        leases.get(0).close();
+        try (SshSessionRegistry.Lease<FakeSession> lease = sut.acquire(connection("user", "pwd"), 10)) {
+            assertThat(lease.isNewSession()).isFalse();
+            assertThat(lease.session()).isSameAs(sessionFactory.opened.get(0));
+        }
+        leases.forEach(SshSessionRegistry.Lease::close);
+    }
+
+    @Test
+    public void should_limit_channels_per_connection_when_set_on_target() throws IOException {
+        Connection connection = Connection.from(target("user", "pwd").withProperty("maxChannelsPerConnection", "2").build());
+        List<SshSessionRegistry.Lease<FakeSession>> leases = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            leases.add(sut.acquire(connection, 10));
+        }
+
+        assertThat(sessionFactory.opened).hasSize(2);
+        assertThat(sut.size()).isEqualTo(2);
+        leases.forEach(SshSessionRegistry.Lease::close);
+    }
+
+    @Test
+    public void should_release_host_permit_when_connection_fails() {
+        sessionFactory.failure = new IOException("Connection refused");
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> sut.acquire(connection("user", "pwd", "2"), 10))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection refused");
+        }
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    public void should_close_evicted_session_once_released() throws IOException {
+        SshSessionRegistry<FakeSession> expiringSut = new SshSessionRegistry<>("fake", sessionFactory, Duration.ofMillis(1));
+        SshSessionRegistry.Lease<FakeSession> lease = expiringSut.acquire(connection("user", "pwd"), 100);
+
+        await(5);
+        assertThat(expiringSut.size()).isZero();
+        assertThat(lease.session().closed).isFalse();
+
+        lease.close();
+        assertThat(lease.session().closed).isTrue();
+    }
+
+    private static Connection connection(String user, String password) {
+        return Connection.from(target(user, password).build());
+    }
+
+    private static Connection connection(String user, String password, String maxSessionsPerHost) {
+        return Connection.from(target(user, password).withProperty("maxSessionsPerHost", maxSessionsPerHost).build());
+    }
+
+    private static TestTarget.TestTargetBuilder target(String user, String password) {
+        return TestTarget.TestTargetBuilder.builder()
+            .withTargetId("ssh")
+            .withUrl("ssh://localhost:22")
+            .withProperty("user", user)
+            .withProperty("password", password);
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class FakeSession {
+        private boolean healthy = true;
+        private boolean closed;
+    }
+
+    private static class FakeSessionFactory implements SshSessionRegistry.SessionFactory<FakeSession> {
+        private final List<FakeSession> opened = new ArrayList<>();
+        private IOException failure;
+
+        @Override
+        public FakeSession open(Connection connection, long timeout) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            FakeSession session = new FakeSession();
+            opened.add(session);
+            return session;
+        }
+
+        @Override
+        public boolean isHealthy(FakeSession session) {
+            return session.healthy;
+        }
+
+        @Override
+        public void close(FakeSession session) {
+            session.closed = true;
+        }
+    }
+}
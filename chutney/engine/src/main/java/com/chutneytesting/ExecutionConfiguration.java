@@ -35,6 +35,7 @@ import com.chutneytesting.engine.domain.execution.ExecutionEngine;
 import com.chutneytesting.engine.domain.execution.ExecutionManager;
 import com.chutneytesting.engine.domain.execution.engine.DefaultExecutionEngine;
 import com.chutneytesting.engine.domain.execution.engine.DefaultStepExecutor;
+import com.chutneytesting.engine.domain.execution.engine.evaluation.SpelExpressionCache;
 import com.chutneytesting.engine.domain.execution.engine.evaluation.StepDataEvaluator;
 import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctionCallback;
 import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctions;
@@ -64,6 +65,7 @@ public class ExecutionConfiguration {
     private final TestEngine embeddedTestEngine;
 
     private final SpelFunctions spelFunctions;
+    private final SpelExpressionCache spelExpressionCache;
     private final Set<StepExecutionStrategy> stepExecutionStrategies;
 
     private final Long reporterTTL;
@@ -77,6 +79,7 @@ public class ExecutionConfiguration {
 
         ActionTemplateLoader actionTemplateLoaderV2 = createActionTemplateLoaderV2();
         spelFunctions = createSpelFunctions();
+        spelExpressionCache = new SpelExpressionCache();
         stepExecutionStrategies = createStepExecutionStrategies();
 
         actionTemplateRegistry = new DefaultActionTemplateRegistry(new ActionTemplateLoaders(singletonList(actionTemplateLoaderV2)));
@@ -105,6 +108,10 @@ public class ExecutionConfiguration {
         return executionEngine;
     }
 
+    public SpelExpressionCache spelExpressionCache() {
+        return spelExpressionCache;
+    }
+
     private ActionTemplateLoader createActionTemplateLoaderV2() {
         return new DefaultActionTemplateLoader<>(
             "chutney.actions",
@@ -137,7 +144,7 @@ public class ExecutionConfiguration {
 
     private ExecutionEngine createExecutionEngine(ExecutorService actionExecutor, String user, String password) {
         return new DefaultExecutionEngine(
-            new StepDataEvaluator(spelFunctions),
+            new StepDataEvaluator(spelFunctions, spelExpressionCache),
             new StepExecutionStrategies(stepExecutionStrategies),
             new DelegationService(new DefaultStepExecutor(actionTemplateRegistry), new HttpClient(user, password)),
             reporter,
@@ -23,37 +23,173 @@ import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subjects.Subject;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Synchronous event bus.
+ *
+ * Subscribers are indexed by event class, and by execution id for {@link #registerOnExecutionId(Class, long, Consumer)}.
+ * Publishing an event only looks up its own subscribers instead of filtering every event for every subscriber.
+ *
+ * Each execution having its own subscribers gets its own lane, other events go through a shared lane.
+ * Events of a lane are delivered one at a time, in publishing order, by the publishing thread.
+ * If the lane is busy, the event is queued and delivered by the thread currently draining the lane.
+ */
 public class RxBus {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RxBus.class);
     private static final RxBus INSTANCE = new RxBus();
 
     public static RxBus getInstance() {
         return INSTANCE;
     }
 
-    private final Subject<Object> bus = PublishSubject.create().toSerialized();
+    private final Map<Class<?>, List<Consumer<Object>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Lane sharedLane = new Lane();
+    private final Subject<Object> observable = PublishSubject.create().toSerialized();
+
+    private final LongAdder posted = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dispatchLatencyNanos = new LongAdder();
+    private final AtomicLong maxDispatchLatencyNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    RxBus() {
+    }
 
     public void post(Object event) {
-        bus.onNext(event);
+        posted.increment();
+        Lane lane = sharedLane;
+        if (event instanceof Event e) {
+            lane = lanes.getOrDefault(e.executionId(), sharedLane);
+        }
+        lane.post(event);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> Disposable register(final Class<T> eventClass, Consumer<T> onNext) {
-        return bus
-            .filter(event -> event.getClass().equals(eventClass))
-            .map(obj -> (T) obj)
-            .subscribe(onNext);
+        Consumer<Object> subscriber = (Consumer<Object>) onNext;
+        subscribers.computeIfAbsent(eventClass, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+        return Disposable.fromAction(() -> subscribers.get(eventClass).remove(subscriber));
     }
 
+    @SuppressWarnings("unchecked")
     public <T extends Event> Disposable registerOnExecutionId(final Class<T> eventClass, long executionId, Consumer<? super Event> onNext) {
-        return bus
-            .filter(event -> event.getClass().equals(eventClass))
-            .map(obj -> (T) obj)
-            .filter(e -> e.executionId() == executionId)
-            .subscribe(onNext);
+        Consumer<Object> subscriber = (Consumer<Object>) onNext;
+        lanes.compute(executionId, (id, lane) -> {
+            Lane l = lane == null ? new Lane() : lane;
+            l.subscribers.computeIfAbsent(eventClass, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+            return l;
+        });
+        return Disposable.fromAction(() ->
+            lanes.computeIfPresent(executionId, (id, lane) -> {
+                lane.remove(eventClass, subscriber);
+                return lane.subscribers.isEmpty() ? null : lane;
+            })
+        );
     }
 
+    /**
+     * @return all published events, to be used for monitoring only
+     */
     public Observable<Object> toObservable() {
-        return bus;
+        return observable;
+    }
+
+    public Metrics metrics() {
+        long deliveredCount = delivered.sum();
+        return new Metrics(
+            posted.sum(),
+            deliveredCount,
+            lanes.size(),
+            lanes.values().stream().mapToInt(Lane::pending).sum() + sharedLane.pending(),
+            maxQueueDepth.get(),
+            Duration.ofNanos(deliveredCount == 0 ? 0 : dispatchLatencyNanos.sum() / deliveredCount),
+            Duration.ofNanos(maxDispatchLatencyNanos.get())
+        );
+    }
+
+    /**
+     * @param posted              number of events published
+     * @param delivered           number of events delivered to their subscribers
+     * @param lanes               number of execution lanes currently opened
+     * @param pending             number of events waiting for delivery
+     * @param maxQueueDepth       maximum number of events waiting for delivery in one lane
+     * @param meanDispatchLatency mean duration between publishing and delivery to all subscribers
+     * @param maxDispatchLatency  maximum duration between publishing and delivery to all subscribers
+     */
+    public record Metrics(long posted, long delivered, int lanes, int pending, int maxQueueDepth, Duration meanDispatchLatency, Duration maxDispatchLatency) {
+    }
+
+    private void dispatch(Object event, Lane lane) {
+        deliver(event, subscribers.get(event.getClass()));
+        if (lane != sharedLane) {
+            deliver(event, lane.subscribers.get(event.getClass()));
+        }
+        if (observable.hasObservers()) {
+            observable.onNext(event);
+        }
+    }
+
+    private void deliver(Object event, List<Consumer<Object>> eventSubscribers) {
+        if (eventSubscribers == null) {
+            return;
+        }
+        for (Consumer<Object> subscriber : eventSubscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Throwable t) {
+                LOGGER.error("Subscriber failed on event {}", event.getClass().getSimpleName(), t);
+            }
+        }
+    }
+
+    private final class Lane {
+        private final Map<Class<?>, List<Consumer<Object>>> subscribers = new ConcurrentHashMap<>();
+        private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private void post(Object event) {
+            queue.offer(new PendingEvent(event, System.nanoTime()));
+            int depth = wip.getAndIncrement();
+            if (depth != 0) {
+                maxQueueDepth.accumulateAndGet(depth + 1, Math::max);
+                return;
+            }
+            do {
+                PendingEvent pending = queue.poll();
+                dispatch(pending.event, this);
+                long latency = System.nanoTime() - pending.postedAt;
+                delivered.increment();
+                dispatchLatencyNanos.add(latency);
+                maxDispatchLatencyNanos.accumulateAndGet(latency, Math::max);
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private int pending() {
+            return wip.get();
+        }
+
+        private void remove(Class<?> eventClass, Consumer<Object> subscriber) {
+            subscribers.computeIfPresent(eventClass, (c, l) -> {
+                l.remove(subscriber);
+                return l.isEmpty() ? null : l;
+            });
+        }
+    }
+
+    private record PendingEvent(Object event, long postedAt) {
     }
 }
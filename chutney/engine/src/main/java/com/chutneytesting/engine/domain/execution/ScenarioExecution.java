@@ -24,18 +24,20 @@ import com.chutneytesting.engine.domain.execution.command.StopExecutionCommand;
 import com.chutneytesting.engine.domain.execution.event.EndScenarioExecutionEvent;
 import io.reactivex.rxjava3.disposables.Disposable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 public class ScenarioExecution {
 
-    private final List<FinallyAction> finallyActions = new ArrayList<>();
+    private final List<FinallyAction> finallyActions = Collections.synchronizedList(new ArrayList<>());
     private final ActionsConfiguration actionConfiguration;
     public final long executionId;
 
-    private boolean pause = false;
-    private boolean stop = false;
+    // Read by steps running in parallel, and written by bus subscribers
+    private volatile boolean pause = false;
+    private volatile boolean stop = false;
 
     private Disposable endExecutionSubscriber;
 
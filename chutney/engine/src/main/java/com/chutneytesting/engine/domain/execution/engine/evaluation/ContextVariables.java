@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view over several variable maps, without copying them.
+ * When a key is present in several maps, the last given map wins.
+ */
+public final class ContextVariables extends AbstractMap<String, Object> {
+
+    private final List<Map<String, Object>> layers;
+
+    private ContextVariables(List<Map<String, Object>> layers) {
+        this.layers = layers;
+    }
+
+    @SafeVarargs
+    public static ContextVariables of(Map<String, Object>... layers) {
+        return new ContextVariables(List.of(layers));
+    }
+
+    @Override
+    public Object get(Object key) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Map<String, Object> layer = layers.get(i);
+            Object value = layer.get(key);
+            if (value != null || layer.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return layers.stream().anyMatch(l -> l.containsKey(key));
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        layers.forEach(merged::putAll);
+        return unmodifiableSet(merged.entrySet());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Bounded and thread-safe cache of parsed SpEL {@link Expression}, keyed by expression text.
+ *
+ * Parsed expressions hold no evaluation state and can be shared between steps, iterations and executions.
+ */
+public class SpelExpressionCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 2000;
+
+    private final ExpressionParser parser;
+    private final Cache<String, Expression> expressions;
+
+    public SpelExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE, SpelCompilerMode.OFF);
+    }
+
+    public SpelExpressionCache(long maximumSize, SpelCompilerMode compilerMode) {
+        this.parser = new SpelExpressionParser(new SpelParserConfiguration(compilerMode, SpelExpressionCache.class.getClassLoader()));
+        this.expressions = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    public Expression get(String expressionAsString) throws EvaluationException {
+        try {
+            return expressions.get(expressionAsString, () -> parser.parseExpression(expressionAsString));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Exception cause = e.getCause() instanceof Exception ex ? ex : e;
+            throw new EvaluationException("Cannot parse " + expressionAsString + " , " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @return hit, miss and eviction counts since creation
+     */
+    public CacheStats stats() {
+        return expressions.stats();
+    }
+
+    public long size() {
+        return expressions.size();
+    }
+
+    /**
+     * Exposed for metrics binding only.
+     */
+    public Cache<String, Expression> cache() {
+        return expressions;
+    }
+
+    public void invalidateAll() {
+        expressions.invalidateAll();
+    }
+}
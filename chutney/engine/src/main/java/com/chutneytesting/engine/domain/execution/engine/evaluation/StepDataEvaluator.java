@@ -16,46 +16,42 @@
 
 package com.chutneytesting.engine.domain.execution.engine.evaluation;
 
-import static com.chutneytesting.engine.domain.execution.engine.evaluation.Strings.escapeForRegex;
-
 import com.chutneytesting.action.spi.injectable.Target;
 import com.chutneytesting.engine.domain.environment.TargetImpl;
 import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctions;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.ParseException;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 public class StepDataEvaluator {
 
-    private static final String EVALUATION_STRING_PREFIX = "${";
-    private static final String EVALUATION_STRING_SUFFIX = "}";
-    private static final String EVALUATION_STRING_ESCAPE = "\\";
-    private static final Pattern EVALUATION_OBJECT_PATTERN = Pattern.compile("^(?:" + escapeForRegex(EVALUATION_STRING_ESCAPE) + ")?" + escapeForRegex(EVALUATION_STRING_PREFIX) + "(?:(?!" + escapeForRegex(EVALUATION_STRING_PREFIX) + ").)*" + escapeForRegex(EVALUATION_STRING_SUFFIX) + "$", Pattern.DOTALL);
+    private final SpelExpressionCache expressionCache;
+    private final StandardEvaluationContext evaluationContextTemplate;
 
+    public StepDataEvaluator(SpelFunctions spelFunctions) {
+        this(spelFunctions, new SpelExpressionCache());
+    }
 
-    private final SpelFunctions spelFunctions;
-    private final ExpressionParser parser = new SpelExpressionParser();
+    public StepDataEvaluator(SpelFunctions spelFunctions, SpelExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+        this.evaluationContextTemplate = StepEvaluationContext.template(spelFunctions);
+    }
 
-    public StepDataEvaluator(SpelFunctions spelFunctions) {
-        this.spelFunctions = spelFunctions;
+    public SpelExpressionCache expressionCache() {
+        return expressionCache;
     }
 
     public Map<String, Object> evaluateNamedDataWithContextVariables(final Map<String, Object> data, final Map<String, Object> contextVariables) throws EvaluationException {
         Map<String, Object> evaluatedNamedData = new LinkedHashMap<>();
 
-        StandardEvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
+        EvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
 
         data.forEach(
             (dataName, dataValue) -> {
@@ -78,7 +74,7 @@ public class StepDataEvaluator {
     public Target evaluateTarget(final Target target, final Map<String, Object> contextVariables) throws EvaluationException {
         TargetImpl.TargetBuilder builder = TargetImpl.builder();
 
-        StandardEvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
+        EvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
 
         builder.withName(target.name());
         builder.withUrl((String) evaluateObject(target.rawUri(), evaluationContext));
@@ -87,20 +83,12 @@ public class StepDataEvaluator {
     }
 
     private Object evaluate(final Object o, final Map<String, Object> contextVariables, boolean silentResolve) throws EvaluationException {
-        StandardEvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
+        EvaluationContext evaluationContext = buildEvaluationContext(contextVariables);
         return evaluateObject(o, evaluationContext, silentResolve);
     }
 
-    private StandardEvaluationContext buildEvaluationContext(Map<String, Object> contextVariables) {
-        StandardEvaluationContext evaluationContext = new StandardEvaluationContext();
-        evaluationContext.registerMethodFilter(Runtime.class, methods -> Collections.emptyList());
-        evaluationContext.registerMethodFilter(ProcessBuilder.class, methods -> Collections.emptyList());
-
-        if (spelFunctions != null) {
-            spelFunctions.stream().forEach(f -> evaluationContext.registerFunction(f.getName(), f.getMethod()));
-        }
-        evaluationContext.setVariables(contextVariables);
-        return evaluationContext;
+    private EvaluationContext buildEvaluationContext(Map<String, Object> contextVariables) {
+        return new StepEvaluationContext(evaluationContextTemplate, contextVariables);
     }
 
     private Object evaluateObject(final Object object, final EvaluationContext evaluationContext) throws EvaluationException {
@@ -111,10 +99,12 @@ public class StepDataEvaluator {
     private Object evaluateObject(final Object object, final EvaluationContext evaluationContext, boolean silentResolve) throws EvaluationException {
         Object inputEvaluatedValue;
         if (object instanceof String stringValue) {
-            if (hasOnlyOneSpel(stringValue)) {
-              inputEvaluatedValue = Strings.replaceExpression(stringValue, s -> evaluate(parser, evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
+            Template template = Template.of(stringValue);
+            if (template.isSingleExpression()) {
+                // Only one spel, it can be evaluated as a whole java Object, ex: ${#webdriver} will retrieve the object Webdriver stored in the context
+                inputEvaluatedValue = template.evaluate(s -> evaluate(evaluationContext, s), silentResolve);
             } else {
-              inputEvaluatedValue = Strings.replaceExpressions(stringValue, s -> evaluate(parser, evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
+                inputEvaluatedValue = template.render(s -> evaluate(evaluationContext, s), silentResolve);
             }
         } else if (object instanceof Map map) {
             Map evaluatedMap = new LinkedHashMap();
@@ -147,8 +137,8 @@ public class StepDataEvaluator {
         return inputEvaluatedValue;
     }
 
-    private Object evaluate(ExpressionParser parser, final EvaluationContext evaluationContext, String expressionAsString) throws EvaluationException {
-        final Expression expression = parseExpression(parser, expressionAsString);
+    private Object evaluate(final EvaluationContext evaluationContext, String expressionAsString) throws EvaluationException {
+        final Expression expression = expressionCache.get(expressionAsString);
 
         try {
             Object result = expression.getValue(evaluationContext);
@@ -167,26 +157,4 @@ public class StepDataEvaluator {
             throw new EvaluationException("Cannot resolve " + expressionAsString + " , " + initialException.getMessage(), initialException);
         }
     }
-
-    /**
-     * If there is only one spel, it means it can be evaluated as a whole java Object.
-     * ex: ${#webdriver} will retrieve the object Webdriver stored in the context
-     * If there are multiple spel, it will be a String concatenation
-     *
-     * @param template
-     * @return true if only one spel in template
-     */
-    private boolean hasOnlyOneSpel(String template) {
-        return EVALUATION_OBJECT_PATTERN.matcher(template.trim()).matches();
-    }
-
-    private Expression parseExpression(ExpressionParser parser, String expressionAsString) {
-        Expression expression;
-        try {
-            expression = parser.parseExpression(expressionAsString);
-        } catch (ParseException e) {
-            throw new EvaluationException("Cannot parse " + expressionAsString + " , " + e.getMessage(), e);
-        }
-        return expression;
-    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctions;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Lightweight {@link EvaluationContext} built for each evaluation.
+ *
+ * Resolvers, accessors and functions come from a shared template, built once per {@link StepDataEvaluator}.
+ * Variables are read directly from the given context variables, never copied.
+ * Variables set during the evaluation are kept in a local overlay and never written back to the context variables.
+ */
+final class StepEvaluationContext implements EvaluationContext {
+
+    private final StandardEvaluationContext template;
+    private final Map<String, Object> contextVariables;
+    private Map<String, Object> overlay;
+
+    StepEvaluationContext(StandardEvaluationContext template, Map<String, Object> contextVariables) {
+        this.template = template;
+        this.contextVariables = contextVariables == null ? Collections.emptyMap() : contextVariables;
+    }
+
+    /**
+     * Build the shared immutable part of the evaluation contexts.
+     * Lazy fields of {@link StandardEvaluationContext} are initialized here, so the template is safe to share between threads.
+     */
+    static StandardEvaluationContext template(SpelFunctions spelFunctions) {
+        StandardEvaluationContext template = new StandardEvaluationContext();
+        template.registerMethodFilter(Runtime.class, methods -> Collections.emptyList());
+        template.registerMethodFilter(ProcessBuilder.class, methods -> Collections.emptyList());
+        if (spelFunctions != null) {
+            spelFunctions.stream().forEach(f -> template.registerFunction(f.getName(), f.getMethod()));
+        }
+        template.getPropertyAccessors();
+        template.getConstructorResolvers();
+        template.getTypeLocator();
+        template.getTypeConverter();
+        return template;
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        if (overlay == null) {
+            overlay = new HashMap<>();
+        }
+        overlay.put(name, value);
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        if (overlay != null && overlay.containsKey(name)) {
+            return overlay.get(name);
+        }
+        Object value = contextVariables.get(name);
+        if (value != null) {
+            return value;
+        }
+        return template.lookupVariable(name);
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return template.getRootObject();
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return template.getPropertyAccessors();
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return template.getConstructorResolvers();
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return template.getMethodResolvers();
+    }
+
+    @Override
+    public BeanResolver getBeanResolver() {
+        return template.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return template.getTypeLocator();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return template.getTypeConverter();
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return template.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return template.getOperatorOverloader();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * String template parsed once into literal and expression segments.
+ *
+ * Expressions are delimited by <b>${</b> and <b>}</b>, the first <b>}</b> closing the expression.
+ * An expression prefixed by <b>\</b> is escaped and rendered as is, without the escape character.
+ *
+ * Parsed templates are immutable and cached, so they can be shared between threads.
+ */
+final class Template {
+
+    static final String PREFIX = "${";
+    static final String SUFFIX = "}";
+    static final char ESCAPE = '\\';
+
+    private static final long CACHE_MAXIMUM_WEIGHT = 4_000_000; // in chars
+    private static final Cache<String, Template> CACHE = CacheBuilder.newBuilder()
+        .maximumWeight(CACHE_MAXIMUM_WEIGHT)
+        .weigher((String source, Template template) -> source.length())
+        .build();
+
+    private final String source;
+    private final List<Segment> segments;
+    private final SingleExpression singleExpression;
+
+    private Template(String source, List<Segment> segments, SingleExpression singleExpression) {
+        this.source = source;
+        this.segments = segments;
+        this.singleExpression = singleExpression;
+    }
+
+    static Template of(String source) {
+        if (source.indexOf(PREFIX) < 0) {
+            return new Template(source, List.of(Segment.literal(source)), null);
+        }
+        Template template = CACHE.getIfPresent(source);
+        if (template == null) {
+            template = parse(source);
+            CACHE.put(source, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return true if the whole trimmed template is one expression, meaning it can be evaluated as a whole java Object.
+     */
+    boolean isSingleExpression() {
+        return singleExpression != null;
+    }
+
+    /**
+     * Evaluate the template as a whole java Object.
+     * Only meaningful when {@link #isSingleExpression()} is true, the template is returned as is otherwise.
+     */
+    Object evaluate(Function<String, Object> evaluator, boolean silentResolve) {
+        if (singleExpression == null) {
+            return source;
+        }
+        if (singleExpression.escaped) {
+            return PREFIX + singleExpression.expression + SUFFIX;
+        }
+        return silentResolve ? source : evaluator.apply(singleExpression.expression);
+    }
+
+    /**
+     * Render the template as a String, replacing each expression by its evaluation.
+     * Expressions evaluated to null, or failing when silently resolved, are kept as is.
+     */
+    String render(Function<String, Object> evaluator, boolean silentResolve) {
+        if (segments.size() == 1 && segments.get(0).expression == null) {
+            return segments.get(0).text;
+        }
+        final StringBuilder sb = new StringBuilder(source.length());
+        for (Segment segment : segments) {
+            if (segment.expression == null) {
+                sb.append(segment.text);
+            } else {
+                try {
+                    Object o = evaluator.apply(segment.expression);
+                    sb.append(o != null ? String.valueOf(o) : segment.text);
+                } catch (Exception e) {
+                    if (!silentResolve) {
+                        throw e;
+                    }
+                    sb.append(segment.text);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Template parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(PREFIX, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(SUFFIX, open + PREFIX.length());
+            if (close < 0) {
+                break;
+            }
+            boolean escaped = open > position && source.charAt(open - 1) == ESCAPE;
+            literal.append(source, position, escaped ? open - 1 : open);
+            if (escaped) {
+                literal.append(source, open, close + SUFFIX.length());
+            } else {
+                if (!literal.isEmpty()) {
+                    segments.add(Segment.literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(Segment.expression(source.substring(open + PREFIX.length(), close), source.substring(open, close + SUFFIX.length())));
+            }
+            position = close + SUFFIX.length();
+        }
+        literal.append(source, position, source.length());
+        if (!literal.isEmpty() || segments.isEmpty()) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return new Template(source, List.copyOf(segments), SingleExpression.parse(source.trim()));
+    }
+
+    private record Segment(String text, String expression) {
+        static Segment literal(String text) {
+            return new Segment(text, null);
+        }
+
+        static Segment expression(String expression, String text) {
+            return new Segment(text, expression);
+        }
+    }
+
+    private record SingleExpression(String expression, boolean escaped) {
+        static SingleExpression parse(String trimmed) {
+            int start = trimmed.startsWith(PREFIX) ? 0 : (trimmed.length() > 0 && trimmed.charAt(0) == ESCAPE && trimmed.startsWith(PREFIX, 1)) ? 1 : -1;
+            if (start < 0 || !trimmed.endsWith(SUFFIX) || trimmed.length() < start + PREFIX.length() + SUFFIX.length()) {
+                return null;
+            }
+            int expressionStart = start + PREFIX.length();
+            if (trimmed.indexOf(PREFIX, expressionStart) >= 0) {
+                return null;
+            }
+            return new SingleExpression(trimmed.substring(expressionStart, trimmed.length() - SUFFIX.length()), start == 1);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.chutneytesting.engine.domain.execution.engine.step;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
 
@@ -28,6 +29,7 @@ import com.chutneytesting.engine.domain.execution.RxBus;
 import com.chutneytesting.engine.domain.execution.ScenarioExecution;
 import com.chutneytesting.engine.domain.execution.StepDefinition;
 import com.chutneytesting.engine.domain.execution.engine.StepExecutor;
+import com.chutneytesting.engine.domain.execution.engine.evaluation.ContextVariables;
 import com.chutneytesting.engine.domain.execution.engine.evaluation.EvaluationException;
 import com.chutneytesting.engine.domain.execution.engine.evaluation.StepDataEvaluator;
 import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContext;
@@ -35,16 +37,15 @@ import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContex
 import com.chutneytesting.engine.domain.execution.event.BeginStepExecutionEvent;
 import com.chutneytesting.engine.domain.execution.event.EndStepExecutionEvent;
 import com.chutneytesting.engine.domain.execution.event.PauseStepExecutionEvent;
+import com.chutneytesting.engine.domain.execution.event.ResetStepExecutionEvent;
 import com.chutneytesting.engine.domain.execution.report.Status;
 import com.chutneytesting.engine.domain.execution.report.StepExecutionReport;
 import com.chutneytesting.engine.domain.execution.strategies.StepStrategyDefinition;
 import com.chutneytesting.tools.Try;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,7 +64,9 @@ public class Step {
     private final StepDefinition definition;
 
     private final StepState state;
+    // Guarded by itself, iterations may be added or removed while reports are built from snapshots
     private final List<Step> steps;
+    private volatile List<Step> stepsSnapshot;
     private Target target;
     private final StepExecutor executor;
     private final StepDataEvaluator dataEvaluator;
@@ -75,7 +78,7 @@ public class Step {
         this.definition = definition;
         this.target = definition.getTarget().orElse(TargetImpl.NONE);
         this.executor = executor;
-        this.steps = steps;
+        this.steps = new ArrayList<>(steps);
         this.state = new StepState(definition.name);
         this.stepContext = new StepContext();
     }
@@ -176,7 +179,7 @@ public class Step {
         if (!isParentStep() || Status.FAILURE.equals(state.status())) {
             return Lists.newArrayList(state.status());
         } else {
-            return this.steps.stream()
+            return subSteps().stream()
                 .map(Step::status)
                 .collect(Collectors.toList());
         }
@@ -202,9 +205,14 @@ public class Step {
         state.successOccurred(message);
     }
 
-    public void resetExecution() {
+    public void resetExecution(ScenarioExecution scenarioExecution) {
+        reset();
+        RxBus.getInstance().post(new ResetStepExecutionEvent(scenarioExecution, this));
+    }
+
+    private void reset() {
         state.reset();
-        steps.forEach(Step::resetExecution);
+        subSteps().forEach(Step::reset);
     }
 
     public void startWatch() {
@@ -247,8 +255,21 @@ public class Step {
         return definition.type;
     }
 
+    /**
+     * @return an immutable snapshot of the sub steps, kept until they change
+     */
     public List<Step> subSteps() {
-        return Collections.unmodifiableList(steps);
+        List<Step> snapshot = stepsSnapshot;
+        if (snapshot == null) {
+            synchronized (steps) {
+                snapshot = stepsSnapshot;
+                if (snapshot == null) {
+                    snapshot = List.copyOf(steps);
+                    stepsSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
     }
 
     public StepExecutor executor() {
@@ -260,7 +281,7 @@ public class Step {
     }
 
     public boolean isParentStep() {
-        return !steps.isEmpty();
+        return !subSteps().isEmpty();
     }
 
     public void updateContextFrom(StepExecutionReport remoteReport) {
@@ -273,11 +294,7 @@ public class Step {
     }
 
     private Map<String, Object> buildEvaluationContext(ScenarioContext scenarioContext, Map<String, Object> localContext) {
-        Map<String, Object> evaluationContext = new HashMap<>();
-        evaluationContext.putAll(scenarioContext);
-        evaluationContext.putAll(localContext);
-        evaluationContext.put("target", target);
-        return evaluationContext;
+        return ContextVariables.of(scenarioContext, localContext, singletonMap("target", target));
     }
 
     private void updateContextWith(ActionExecutionResult.Status status, Map<String, Object> actionOutputs, List<String> information, List<String> errors) {
@@ -326,11 +343,17 @@ public class Step {
     }
 
     public void addStepExecution(Step step) {
-        this.steps.add(step);
+        synchronized (steps) {
+            steps.add(step);
+            stepsSnapshot = null;
+        }
     }
 
     public void addStepExecution(List<Step> steps) {
-        steps.forEach(this::addStepExecution);
+        synchronized (this.steps) {
+            this.steps.addAll(steps);
+            stepsSnapshot = null;
+        }
     }
 
     public Map<String, Object> getEvaluatedInputs() {
@@ -346,7 +369,29 @@ public class Step {
     }
 
     public void removeStepExecution() {
-        this.steps.clear();
+        synchronized (steps) {
+            steps.clear();
+            stepsSnapshot = null;
+        }
+    }
+
+    public void removeStepExecution(Step step) {
+        synchronized (steps) {
+            steps.remove(step);
+            stepsSnapshot = null;
+        }
+    }
+
+    public void replaceStepExecution(Step step, Step replacement) {
+        synchronized (steps) {
+            int index = steps.lastIndexOf(step);
+            if (index < 0) {
+                steps.add(replacement);
+            } else {
+                steps.set(index, replacement);
+            }
+            stepsSnapshot = null;
+        }
     }
 
 
@@ -373,10 +418,7 @@ public class Step {
         }
 
         private Map<String, Object> evaluationContext() {
-            final Map<String, Object> allResults = Maps.newLinkedHashMap(scenarioContext);
-            allResults.putAll(localContext);
-            allResults.putAll(stepOutputs);
-            return allResults;
+            return ContextVariables.of(scenarioContext, localContext, stepOutputs);
         }
 
         private ScenarioContext getScenarioContext() {
@@ -27,6 +27,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
@@ -38,11 +39,12 @@ public class StepState {
 
     private final Stopwatch stopwatch = Stopwatch.createUnstarted();
 
-    private Status status = Status.NOT_EXECUTED;
-    private Instant startDate;
-    private final List<String> errors = new ArrayList<>();
-    private final List<String> informations = new ArrayList<>();
-    private String name;
+    // Read by the reporter while steps are running, possibly in parallel
+    private volatile Status status = Status.NOT_EXECUTED;
+    private volatile Instant startDate;
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> informations = Collections.synchronizedList(new ArrayList<>());
+    private volatile String name;
 
     public StepState(String name) {
         this.name = name;
@@ -64,7 +66,7 @@ public class StepState {
     void endExecution(boolean isParentStep) {
         if (stopwatch.isRunning()) {
             stopwatch.stop();
-            if (isParentStep) {
+            if (isParentStep && status != Status.FAILURE) {
                 status = Status.EXECUTED;
             }
         }
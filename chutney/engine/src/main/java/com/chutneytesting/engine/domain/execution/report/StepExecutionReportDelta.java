@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.report;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change of an execution report.
+ *
+ * @param executionId the execution
+ * @param version     incremented on each change of the execution report
+ * @param path        indexes of the changed step, from the root step, empty when the whole report is given
+ * @param step        report of the changed step, with all its sub steps
+ * @param ancestors   reports of the changed step ancestors, from the root step, without their sub steps
+ */
+public record StepExecutionReportDelta(long executionId, long version, List<Integer> path, StepExecutionReport step, List<StepExecutionReport> ancestors) {
+
+    public static StepExecutionReportDelta snapshot(long executionId, long version, StepExecutionReport report) {
+        return new StepExecutionReportDelta(executionId, version, emptyList(), report, emptyList());
+    }
+
+    public boolean isSnapshot() {
+        return path.isEmpty();
+    }
+
+    /**
+     * Apply this change to a previous report of the same execution.
+     *
+     * @return the updated report, sharing unchanged steps with the previous one
+     */
+    public StepExecutionReport applyTo(StepExecutionReport previous) {
+        if (isSnapshot()) {
+            return step;
+        }
+        return applyTo(previous, 0);
+    }
+
+    private StepExecutionReport applyTo(StepExecutionReport previous, int depth) {
+        if (depth == path.size()) {
+            return step;
+        }
+        int index = path.get(depth);
+        List<StepExecutionReport> steps = new ArrayList<>(previous.steps);
+        steps.set(index, applyTo(previous.steps.get(index), depth + 1));
+        return new StepExecutionReportBuilder()
+            .from(ancestors.get(depth))
+            .setSteps(steps)
+            .createStepExecutionReport();
+    }
+}
@@ -17,25 +17,44 @@
 package com.chutneytesting.engine.domain.execution.strategies;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 
 import com.chutneytesting.engine.domain.execution.ScenarioExecution;
-import com.chutneytesting.engine.domain.execution.StepDefinition;
 import com.chutneytesting.engine.domain.execution.StepDefinitionBuilder;
-import com.chutneytesting.engine.domain.execution.engine.StepExecutor;
 import com.chutneytesting.engine.domain.execution.engine.evaluation.StepDataEvaluator;
 import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContext;
 import com.chutneytesting.engine.domain.execution.engine.step.Step;
 import com.chutneytesting.engine.domain.execution.report.Status;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.RateLimiter;
+import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-import org.apache.commons.lang3.tuple.Pair;
-
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute a step, or its sub-steps, for each element of a dataset.
+ * Expects following strategy properties:
+ * - dataset: list of iterations data, or any iterable, iterator or stream of them
+ * - index: optional name of the iteration index placeholder in step definition, defaults to "i"
+ * - parallelism: optional maximum number of iterations running at the same time, defaults to 1
+ * - ratePerSecond: optional maximum number of iterations started per second
+ * - compactReport: optional, when true successful iterations are summarized in a single step of the report, defaults to false
+ * <p>
+ * Iterations are built one at a time, just before being run, so that large datasets are not copied as a whole.
+ * <p>
+ * When run in parallel, iterations do not see each other outputs,
+ * which are merged into the scenario context in iterations order once all of them are done.
+ */
 public class ForEachStrategy implements StepExecutionStrategy {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForEachStrategy.class);
+
     @Override
     public String getType() {
         return "for";
@@ -52,125 +71,149 @@ public class ForEachStrategy implements StepExecutionStrategy {
             () -> new IllegalArgumentException("Strategy definition cannot be empty")
         );
 
-        List<Map<String, Object>> dataset = getDataset(step, scenarioContext, strategyDefinition, step.dataEvaluator());
         final String indexName = (String) Optional.ofNullable(strategyDefinition.strategyProperties.get("index")).orElse("i");
+        final int parallelism = strategyDefinition.strategyProperties.positiveInteger("parallelism", 1);
+        final Double ratePerSecond = strategyDefinition.strategyProperties.positiveNumber("ratePerSecond").orElse(null);
+        final boolean compactReport = Boolean.parseBoolean(String.valueOf(strategyDefinition.strategyProperties.get("compactReport")).trim());
+        Iterator<Map<String, Object>> dataset = getDataset(step, scenarioContext, strategyDefinition, step.dataEvaluator());
         step.beginExecution(scenarioExecution);
-        AtomicInteger index = new AtomicInteger(0);
-        Map<String, Object> context = new HashMap<>(scenarioContext);
-        context.putAll(localContext);
-        step.resolveName(context);
-        if (step.isParentStep()) {
-            List<Step> subSteps = List.copyOf(step.subSteps());
+        try {
+            Map<String, Object> context = new HashMap<>(scenarioContext);
+            context.putAll(localContext);
+            step.resolveName(context);
+
+            IterationExecution iterationExecution = step.isParentStep()
+                ? (iteration, iterationScenarioContext, iterationLocalContext) -> DefaultStepExecutionStrategy.instance.execute(scenarioExecution, iteration, iterationScenarioContext, iterationLocalContext, strategies)
+                : (iteration, iterationScenarioContext, iterationLocalContext) -> iteration.execute(scenarioExecution, iterationScenarioContext, iterationLocalContext);
+            if (compactReport) {
+                CompactedIterations compactedIterations = new CompactedIterations(step);
+                IterationExecution execution = iterationExecution;
+                iterationExecution = (iteration, iterationScenarioContext, iterationLocalContext) -> {
+                    Status status = execution.execute(iteration, iterationScenarioContext, iterationLocalContext);
+                    compactedIterations.iterationEnded(iteration, status);
+                    return status;
+                };
+            }
+
+            IterationTemplate template = new IterationTemplate(indexName, step, step.subSteps());
             step.removeStepExecution();
-
-            List<Pair<Step, Map<String, Object>>> iterations = dataset.stream()
-                .map(iterationContext -> buildParentIteration(indexName, index.getAndIncrement(), step, subSteps, iterationContext))
-                .peek(p -> step.addStepExecution(p.getLeft()))
-                .toList();
-
-            iterations.forEach(it -> {
-                Map<String, Object> mergedContext = new HashMap<>(localContext);
-                mergedContext.putAll(it.getRight());
-                DefaultStepExecutionStrategy.instance.execute(scenarioExecution, it.getLeft(), scenarioContext, mergedContext, strategies);
+            AtomicInteger index = new AtomicInteger(0);
+            Iterator<Iteration> iterations = Iterators.transform(dataset, iterationContext -> {
+                Step iteration = template.iteration(index.getAndIncrement());
+                step.addStepExecution(iteration);
+                return new Iteration(iteration, iterationContext);
             });
 
-        } else {
-            List<Pair<Step, Map<String, Object>>> iterations = dataset.stream()
-                .map(iterationContext -> buildIteration(indexName, index.getAndIncrement(), step, iterationContext))
-                .peek(e -> step.addStepExecution(e.getKey()))
-                .toList();
-
-            iterations.forEach(it -> {
-                Map<String, Object> mergedContext = new HashMap<>(localContext);
-                mergedContext.putAll(it.getRight());
-                it.getLeft().execute(scenarioExecution, scenarioContext, mergedContext);
-            });
+            executeIterations(step, iterations, scenarioContext, localContext, parallelism, ratePerSecond, iterationExecution);
+        } catch (RuntimeException e) {
+            step.failure(e);
+            LOGGER.warn("Intercepted exception!", e);
+        } finally {
+            step.endExecution(scenarioExecution);
         }
-        step.endExecution(scenarioExecution);
         return step.status();
     }
 
-    private static List<Map<String, Object>> getDataset(Step step, ScenarioContext scenarioContext, StepStrategyDefinition strategyDefinition, StepDataEvaluator evaluator) {
-        List<Map<String, Object>> dataset = (List<Map<String, Object>>) step.dataEvaluator().evaluate(strategyDefinition.strategyProperties.get("dataset"), scenarioContext);
-        if (dataset.isEmpty()) {
-            throw new IllegalArgumentException("Step iteration cannot have empty dataset");
+    private static void executeIterations(Step step,
+                                          Iterator<Iteration> iterations,
+                                          ScenarioContext scenarioContext,
+                                          Map<String, Object> localContext,
+                                          int parallelism,
+                                          Double ratePerSecond,
+                                          IterationExecution iterationExecution) {
+        if (parallelism == 1) {
+            RateLimiter rateLimiter = Optional.ofNullable(ratePerSecond).map(RateLimiter::create).orElse(null);
+            iterations.forEachRemaining(it -> {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+                iterationExecution.execute(it.step(), scenarioContext, iterationLocalContext(localContext, it.context()));
+            });
+        } else {
+            Iterator<ParallelBranches.Branch> branches = Iterators.transform(iterations,
+                it -> branchContext -> iterationExecution.execute(it.step(), branchContext, iterationLocalContext(localContext, it.context())));
+            new ParallelBranches(step.name(), parallelism, ratePerSecond, false).execute(scenarioContext, branches);
         }
-
-        return dataset.stream()
-            .map(iterationData -> iterationData.entrySet().stream()
-                .map(e -> Map.entry(e.getKey(), evaluator.evaluate(e.getValue(), scenarioContext)))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
-            .toList();
-    }
-
-    private Pair<Step, Map<String, Object>> buildParentIteration(String indexName, Integer index, Step step, List<Step> subSteps, Map<String, Object> iterationContext) {
-
-        StepDefinition newDef = iterationDefinition(indexName, index, step.definition(), new StepStrategyDefinition("", new StrategyProperties()));
-        List<Step> newSubSteps = subSteps.stream().map(
-            subStep -> buildIterationDefinition(indexName, index, subStep.dataEvaluator(), subStep.definition(), subStep.executor(), subStep.subSteps(), subStep.strategy().orElse(new StepStrategyDefinition("", new StrategyProperties())))
-        ).toList();
-
-        return Pair.of(
-            new Step(step.dataEvaluator(), newDef, step.executor(), newSubSteps),
-            iterationContext
-        );
     }
 
-    private Pair<Step, Map<String, Object>> buildIteration(String indexName, Integer index, Step step, Map<String, Object> iterationContext) {
-        return Pair.of(
-            new Step(step.dataEvaluator(), iterationDefinition(indexName, index, step.definition(), new StepStrategyDefinition("", new StrategyProperties())), step.executor(), emptyList()),
-            iterationContext
-        );
+    private static Map<String, Object> iterationLocalContext(Map<String, Object> localContext, Map<String, Object> iterationContext) {
+        Map<String, Object> mergedContext = new HashMap<>(localContext);
+        mergedContext.putAll(iterationContext);
+        return mergedContext;
     }
 
-    private Step buildIterationDefinition(String indexName, Integer index, StepDataEvaluator dataEvaluator, StepDefinition definition, StepExecutor executor, List<Step> subStep, StepStrategyDefinition strategy) {
-        StepDefinition iterationDefinition = iterationDefinition(indexName, index, definition, Optional.ofNullable(strategy).orElse(new StepStrategyDefinition("", new StrategyProperties())));
-        return new Step(dataEvaluator, iterationDefinition, executor, subStep.stream().map(step -> buildIterationDefinition(indexName, index, step.dataEvaluator(), step.definition(), step.executor(), step.subSteps(), step.strategy().orElse(null))).collect(Collectors.toList())); // We need this list to be mutable because of the clear in step.removeStepExecution()
+    @FunctionalInterface
+    private interface IterationExecution {
+        Status execute(Step iteration, ScenarioContext scenarioContext, Map<String, Object> localContext);
     }
 
-    private StepDefinition iterationDefinition(String indexName, Integer index, StepDefinition definition, StepStrategyDefinition strategyDefinition) {
-        return StepDefinitionBuilder.copyFrom(definition)
-            .withName(index(indexName, index, definition.name))
-            .withInputs(index(indexName, index, definition.inputs()))
-            .withOutputs(index(indexName, index, definition.outputs))
-            .withValidations(index(indexName, index, definition.validations))
-            .withStrategy(strategyDefinition)
-            .withSteps(definition
-                .steps
-                .stream()
-                .map(subStep -> iterationDefinition(indexName, index, subStep, subStep.getStrategy().orElse(new StepStrategyDefinition("", new StrategyProperties()))))
-                .toList())
-            .build();
+    private record Iteration(Step step, Map<String, Object> context) {
     }
 
-    private String index(String indexName, Integer index, String string) {
-        return string.replace("<" + indexName + ">", index.toString());
-    }
-
-    private Map<String, Object> index(String indexName, Integer index, Map<String, Object> inputs) {
-        return inputs.entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> index(indexName, index, e.getKey()),
-                e -> index(indexName, index, e.getValue())
-            ));
-    }
+    /**
+     * Dataset rows are evaluated one at a time, when their iteration is built,
+     * against the scenario context as it was before the first iteration.
+     */
+    @SuppressWarnings("unchecked")
+    private static Iterator<Map<String, Object>> getDataset(Step step, ScenarioContext scenarioContext, StepStrategyDefinition strategyDefinition, StepDataEvaluator evaluator) {
+        Object dataset = step.dataEvaluator().evaluate(strategyDefinition.strategyProperties.get("dataset"), scenarioContext);
+        Iterator<Map<String, Object>> rows;
+        if (dataset instanceof Iterable<?> iterable) {
+            rows = (Iterator<Map<String, Object>>) iterable.iterator();
+        } else if (dataset instanceof Iterator<?> iterator) {
+            rows = (Iterator<Map<String, Object>>) iterator;
+        } else if (dataset instanceof Stream<?> stream) {
+            rows = (Iterator<Map<String, Object>>) stream.iterator();
+        } else {
+            throw new IllegalArgumentException("Step iteration dataset must be a list: " + dataset);
+        }
+        if (!rows.hasNext()) {
+            throw new IllegalArgumentException("Step iteration cannot have empty dataset");
+        }
 
-    private List<Object> index(String indexName, Integer index, List<Object> inputs) {
-        return inputs.stream()
-            .map(e -> index(indexName, index, e))
-            .toList();
+        Map<String, Object> datasetContext = new HashMap<>(scenarioContext);
+        return Iterators.transform(rows, iterationData -> {
+            Map<String, Object> iterationContext = new HashMap<>();
+            iterationData.forEach((key, value) -> iterationContext.put(key, evaluator.evaluate(value, datasetContext)));
+            return iterationContext;
+        });
     }
 
-    private Object index(String indexName, Integer index, Object value) {
-        if (value instanceof Map) {
-            return index(indexName, index, (Map) value);
+    /**
+     * Replace successful iterations of a step by a single summary step, so that the report keeps only failed iterations in details.
+     */
+    private static class CompactedIterations {
+        private final Step step;
+        private int successes = 0;
+        private Duration duration = Duration.ZERO;
+        private Step summary;
+
+        private CompactedIterations(Step step) {
+            this.step = step;
         }
 
-        if (value instanceof List) {
-            return index(indexName, index, (List) value);
+        private synchronized void iterationEnded(Step iteration, Status status) {
+            if (status != Status.SUCCESS) {
+                return;
+            }
+            successes++;
+            duration = duration.plus(iteration.duration());
+            Step newSummary = Step.nonExecutable(StepDefinitionBuilder.copyFrom(step.definition())
+                .withName(successes + (successes == 1 ? " successful iteration" : " successful iterations"))
+                .withStrategy(null)
+                .withInputs(emptyMap())
+                .withOutputs(emptyMap())
+                .withValidations(emptyMap())
+                .withSteps(emptyList())
+                .build());
+            newSummary.success("Successful iterations lasted " + duration.toMillis() + " ms");
+            if (summary == null) {
+                step.replaceStepExecution(iteration, newSummary);
+            } else {
+                step.removeStepExecution(iteration);
+                step.replaceStepExecution(summary, newSummary);
+            }
+            summary = newSummary;
         }
-
-        return index(indexName, index, (String) value);
-
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.strategies;
+
+import com.chutneytesting.engine.domain.execution.StepDefinition;
+import com.chutneytesting.engine.domain.execution.StepDefinitionBuilder;
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Build the steps of a "for" strategy iteration, replacing the index placeholder by the iteration index
+ * in names, inputs, outputs and validations of the iterated step and its sub-steps.
+ * <p>
+ * Step definitions are parsed once, on first iteration, splitting texts around the placeholder,
+ * and definitions without any placeholder are shared by all iterations.
+ * <p>
+ * Not thread safe, iterations are expected to be built one at a time.
+ */
+final class IterationTemplate {
+
+    private static final StepStrategyDefinition NO_STRATEGY = new StepStrategyDefinition("", new StrategyProperties());
+    private static final String NO_INDEX = "";
+
+    private final String placeholder;
+    private final Step step;
+    private final List<Step> subSteps;
+    private final Map<StepDefinition, DefinitionTemplate> templates = new IdentityHashMap<>();
+    private DefinitionTemplate rootTemplate;
+
+    /**
+     * @param subSteps steps to copy in each iteration, empty when each iteration is a copy of the step itself
+     */
+    IterationTemplate(String indexName, Step step, List<Step> subSteps) {
+        this.placeholder = "<" + indexName + ">";
+        this.step = step;
+        this.subSteps = List.copyOf(subSteps);
+    }
+
+    Step iteration(int index) {
+        if (rootTemplate == null) {
+            rootTemplate = new DefinitionTemplate(step.definition(), NO_STRATEGY);
+        }
+        String indexValue = String.valueOf(index);
+        return new Step(step.dataEvaluator(), rootTemplate.render(indexValue), step.executor(), iterationSteps(subSteps, indexValue));
+    }
+
+    private List<Step> iterationSteps(List<Step> steps, String index) {
+        List<Step> iterationSteps = new ArrayList<>(steps.size());
+        for (Step s : steps) {
+            iterationSteps.add(new Step(s.dataEvaluator(), template(s.definition()).render(index), s.executor(), iterationSteps(s.subSteps(), index)));
+        }
+        return iterationSteps;
+    }
+
+    private DefinitionTemplate template(StepDefinition definition) {
+        DefinitionTemplate template = templates.get(definition);
+        if (template == null) {
+            template = new DefinitionTemplate(definition, definition.getStrategy().orElse(NO_STRATEGY));
+            templates.put(definition, template);
+        }
+        return template;
+    }
+
+    private Object compile(Object value) {
+        if (value instanceof String text) {
+            return compileText(text);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return compileMap(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> items = new ArrayList<>(list.size());
+            boolean indexed = false;
+            for (Object item : list) {
+                Object compiled = compile(item);
+                indexed |= compiled instanceof Template;
+                items.add(compiled);
+            }
+            return indexed ? new ListTemplate(items) : value;
+        }
+        return value;
+    }
+
+    private Object compileText(String text) {
+        if (!text.contains(placeholder)) {
+            return text;
+        }
+        return new TextTemplate(text.split(Pattern.quote(placeholder), -1));
+    }
+
+    private Object compileMap(Map<?, ?> map) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        boolean indexed = false;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey() instanceof String k ? compileText(k) : entry.getKey();
+            Object value = compile(entry.getValue());
+            indexed |= key instanceof Template || value instanceof Template;
+            entries.put(key, value);
+        }
+        return indexed ? new MapTemplate(entries) : map;
+    }
+
+    private static Object render(Object compiled, String index) {
+        return compiled instanceof Template template ? template.render(index) : compiled;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> renderMap(Object compiled, String index) {
+        return (Map<String, Object>) render(compiled, index);
+    }
+
+    private interface Template {
+        Object render(String index);
+    }
+
+    private record TextTemplate(String[] parts) implements Template {
+        @Override
+        public Object render(String index) {
+            return String.join(index, parts);
+        }
+    }
+
+    private record ListTemplate(List<Object> items) implements Template {
+        @Override
+        public Object render(String index) {
+            List<Object> rendered = new ArrayList<>(items.size());
+            items.forEach(item -> rendered.add(IterationTemplate.render(item, index)));
+            return rendered;
+        }
+    }
+
+    private record MapTemplate(Map<Object, Object> entries) implements Template {
+        @Override
+        public Object render(String index) {
+            Map<Object, Object> rendered = new LinkedHashMap<>();
+            entries.forEach((key, value) -> rendered.put(IterationTemplate.render(key, index), IterationTemplate.render(value, index)));
+            return rendered;
+        }
+    }
+
+    private class DefinitionTemplate {
+        private final StepDefinition definition;
+        private final StepStrategyDefinition strategy;
+        private final Object name;
+        private final Object inputs;
+        private final Object outputs;
+        private final Object validations;
+        private final List<DefinitionTemplate> steps;
+        private final StepDefinition constant;
+
+        private DefinitionTemplate(StepDefinition definition, StepStrategyDefinition strategy) {
+            this.definition = definition;
+            this.strategy = strategy;
+            this.name = compileText(definition.name);
+            this.inputs = compileMap(definition.inputs());
+            this.outputs = compileMap(definition.outputs);
+            this.validations = compileMap(definition.validations);
+            this.steps = definition.steps.stream().map(IterationTemplate.this::template).toList();
+
+            boolean indexed = name instanceof Template || inputs instanceof Template || outputs instanceof Template || validations instanceof Template
+                || steps.stream().anyMatch(s -> s.constant == null);
+            this.constant = indexed ? null : build(NO_INDEX);
+        }
+
+        private StepDefinition render(String index) {
+            return constant != null ? constant : build(index);
+        }
+
+        private StepDefinition build(String index) {
+            return StepDefinitionBuilder.copyFrom(definition)
+                .withName((String) IterationTemplate.render(name, index))
+                .withInputs(renderMap(inputs, index))
+                .withOutputs(renderMap(outputs, index))
+                .withValidations(renderMap(validations, index))
+                .withStrategy(strategy)
+                .withSteps(steps.stream().map(s -> s.render(index)).toList())
+                .build();
+        }
+    }
+}
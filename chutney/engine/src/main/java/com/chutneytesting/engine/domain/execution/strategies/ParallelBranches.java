@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.strategies;
+
+import com.chutneytesting.engine.domain.execution.engine.VirtualThreads;
+import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContext;
+import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContextImpl;
+import com.chutneytesting.engine.domain.execution.report.Status;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run branches concurrently on a pool shared by all executions, each one on a copy of the scenario context, so that branches do not see each other outputs.
+ * Once all branches are done, entries set by each branch are merged into the scenario context in branches order,
+ * so that an entry set by many branches always ends with the value of the last one.
+ * <p>
+ * Branches may be started at a limited rate, and no more branch is started once one of them has failed if required.
+ */
+final class ParallelBranches {
+
+    private static final int MAXIMUM_BRANCHES_THREADS = 200;
+
+    /**
+     * Threads are created on demand, and released when idle.
+     * Once all of them are busy, a branch runs on the thread which starts it, so that nested branches always make progress.
+     */
+    private static final ExecutorService BRANCHES_EXECUTOR = new ThreadPoolExecutor(
+        0, MAXIMUM_BRANCHES_THREADS,
+        60, TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        new BranchThreadFactory(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private final String name;
+    private final int maxConcurrency;
+    private final RateLimiter rateLimiter;
+    private final boolean stopOnFailure;
+
+    /**
+     * @param ratePerSecond maximum number of branches started per second, null for no limit
+     */
+    ParallelBranches(String name, int maxConcurrency, Double ratePerSecond, boolean stopOnFailure) {
+        this.name = Optional.ofNullable(name).orElse("");
+        this.maxConcurrency = maxConcurrency;
+        this.rateLimiter = Optional.ofNullable(ratePerSecond).map(RateLimiter::create).orElse(null);
+        this.stopOnFailure = stopOnFailure;
+    }
+
+    /**
+     * @throws IllegalStateException when a branch throws or waiting for branches is interrupted
+     */
+    void execute(ScenarioContext scenarioContext, List<Branch> branches) {
+        execute(scenarioContext, branches.iterator());
+    }
+
+    /**
+     * Branches are taken from the iterator only when one of the running branches is done,
+     * so that at most {@code maxConcurrency} branches are built and running at the same time.
+     *
+     * @throws IllegalStateException when a branch throws or waiting for branches is interrupted
+     */
+    void execute(ScenarioContext scenarioContext, Iterator<Branch> branches) {
+        if (!branches.hasNext()) {
+            return;
+        }
+        ExecutorService executor = executor();
+        Semaphore running = new Semaphore(maxConcurrency);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<BranchOutputs> branchesOutputs = new ArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            while (branches.hasNext() && !(stopOnFailure && failed.get())) {
+                acquire(running);
+                Branch branch = branches.next();
+                BranchContext branchContext = new BranchContext(scenarioContext);
+                BranchOutputs branchOutputs = new BranchOutputs();
+                branchesOutputs.add(branchOutputs);
+                futures.add(executor.submit(() -> {
+                    try {
+                        executeBranch(branch, branchContext, branchOutputs, failed);
+                    } finally {
+                        running.release();
+                    }
+                }));
+            }
+            awaitAll(futures);
+        } finally {
+            if (executor != BRANCHES_EXECUTOR) {
+                executor.shutdown();
+            }
+        }
+        branchesOutputs.forEach(branchOutputs -> scenarioContext.putAll(branchOutputs.entries));
+    }
+
+    /**
+     * Branches of a scenario running on a virtual thread run on virtual threads too, still bounded by {@code maxConcurrency}.
+     */
+    private ExecutorService executor() {
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            return VirtualThreads.newThreadPerTaskExecutor("parallel-step-" + name + "-");
+        }
+        return BRANCHES_EXECUTOR;
+    }
+
+    private void executeBranch(Branch branch, BranchContext branchContext, BranchOutputs branchOutputs, AtomicBoolean failed) {
+        if (stopOnFailure && failed.get()) {
+            return;
+        }
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        try {
+            if (branch.execute(branchContext) == Status.FAILURE) {
+                failed.set(true);
+            }
+        } finally {
+            branchOutputs.entries = branchContext.setEntries();
+        }
+    }
+
+    private static void acquire(Semaphore running) {
+        try {
+            running.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for parallel steps have been interrupted", e);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Waiting for parallel steps have been interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Branch {
+        Status execute(ScenarioContext branchContext);
+    }
+
+    /**
+     * Copy of the scenario context remembering which entries have been set by its branch.
+     */
+    @SuppressWarnings("serial")
+    private static class BranchContext extends ScenarioContextImpl {
+        private final Set<String> setKeys = new LinkedHashSet<>();
+
+        private BranchContext(ScenarioContext scenarioContext) {
+            super();
+            super.putAll(scenarioContext);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            setKeys.add(key);
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ?> m) {
+            m.forEach(this::put);
+        }
+
+        private Map<String, Object> setEntries() {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            setKeys.forEach(key -> entries.put(key, get(key)));
+            return entries;
+        }
+    }
+
+    /**
+     * Entries set by a branch, kept without its whole context until all branches are done.
+     */
+    private static class BranchOutputs {
+        private Map<String, Object> entries = Map.of();
+    }
+
+    private static class BranchThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "parallel-step-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
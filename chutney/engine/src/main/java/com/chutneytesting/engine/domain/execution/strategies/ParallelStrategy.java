@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.strategies;
+
+import com.chutneytesting.engine.domain.execution.ScenarioExecution;
+import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContext;
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
+import com.chutneytesting.engine.domain.execution.report.Status;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute sub-steps concurrently, each one as an independent branch.
+ * Expects following optional strategy property:
+ * - maxConcurrency: maximum number of branches running at the same time, defaults to {@link #DEFAULT_MAX_CONCURRENCY}
+ * <p>
+ * Each branch runs on a copy of the scenario context, so that branches do not see each other outputs.
+ * Once all branches are done, their outputs are merged into the scenario context in sub-steps declaration order,
+ * so that an output set by many branches always ends with the value of the last declared one.
+ * <p>
+ * As in sequential execution, no more branch is started once one of them has failed, running ones are awaited.
+ */
+public class ParallelStrategy implements StepExecutionStrategy {
+
+    private static final String TYPE = "parallel";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelStrategy.class);
+
+    static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public Status execute(ScenarioExecution scenarioExecution,
+                          Step step,
+                          ScenarioContext scenarioContext,
+                          Map<String, Object> localContext,
+                          StepExecutionStrategies strategies) {
+
+        if (!step.isParentStep()) {
+            return step.execute(scenarioExecution, scenarioContext, localContext);
+        }
+
+        step.beginExecution(scenarioExecution);
+        try {
+            Map<String, Object> context = new HashMap<>(scenarioContext);
+            context.putAll(localContext);
+            step.resolveName(context);
+            int maxConcurrency = step.strategy()
+                .map(strategyDefinition -> strategyDefinition.strategyProperties.positiveInteger("maxConcurrency", DEFAULT_MAX_CONCURRENCY))
+                .orElse(DEFAULT_MAX_CONCURRENCY);
+            List<ParallelBranches.Branch> branches = step.subSteps().stream()
+                .map(subStep -> (ParallelBranches.Branch) branchContext -> executeBranch(scenarioExecution, subStep, branchContext, localContext, strategies))
+                .toList();
+            new ParallelBranches(step.name(), maxConcurrency, null, true).execute(scenarioContext, branches);
+        } catch (RuntimeException e) {
+            step.failure(e);
+            LOGGER.warn("Intercepted exception!", e);
+        } finally {
+            step.endExecution(scenarioExecution);
+        }
+        return step.status();
+    }
+
+    private Status executeBranch(ScenarioExecution scenarioExecution, Step branch, ScenarioContext branchContext, Map<String, Object> localContext, StepExecutionStrategies strategies) {
+        try {
+            StepExecutionStrategy strategy = strategies.buildStrategyFrom(branch);
+            return strategy.execute(scenarioExecution, branch, branchContext, localContext, strategies);
+        } catch (RuntimeException e) {
+            branch.failure(e);
+            LOGGER.warn("Intercepted exception!", e);
+            return Status.FAILURE;
+        }
+    }
+}
@@ -24,13 +24,19 @@ import com.chutneytesting.engine.domain.execution.report.Status;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Retry every retryDelay execution of a Step until success or until timeOut
+ * Retry execution of a Step until success or until timeOut
  * Expects following strategy properties:
  * - timeOut: duration before giving up on the execution of a failed step
  * - retryDelay: waiting duration before retrying execution of a failed step
+ * - backoffMultiplier: optional factor applied to the waiting duration after each failed try, defaults to 1 (fixed delay)
+ * - maxRetryDelay: optional maximum waiting duration between two tries, defaults to timeOut
+ * - jitter: optional fraction, between 0 and 1, of the waiting duration randomly removed to spread retries, defaults to 0
+ * - maxAttempts: optional maximum number of tries, whatever the time left
  * <p>
  * Expected duration format: "floating_positive_number [duration_unit]" where
  * floating_positive_number : the duration value (ex.: 10)
@@ -40,11 +46,17 @@ import java.util.concurrent.TimeUnit;
  * - "ms" for milliseconds
  * empty values are interpreted as seconds
  * Example: timeOut: "5 min", or "300 sec", ...
+ * <p>
+ * Waiting between tries is done by short sleeps, ended as soon as the execution is stopped.
+ * It never lasts beyond timeOut, and is skipped when no more try is allowed.
+ * The executing thread is held while waiting, as strategies run synchronously.
+ * Duration of each try and waiting time before the next one are added to the step information.
  */
 
 public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
 
     private static final String TYPE = "retry-with-timeout";
+    private static final long STOP_CHECK_INTERVAL_MS = 100;
 
     @Override
     public String getType() {
@@ -66,9 +78,8 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
         }
         StepStrategyDefinition strategyDefinition = step.strategy().get();
 
-        // TODO - add a backoff parameter
         String timeOut = strategyDefinition.strategyProperties.getProperty("timeOut", String.class);
-        String retryDelay = strategyDefinition.strategyProperties.getProperty("retryDelay", String.class); // TODO - respect State of the art : provide number of retries policy instead
+        String retryDelay = strategyDefinition.strategyProperties.getProperty("retryDelay", String.class);
         if (timeOut == null) {
             throw new IllegalStateException("Undefined parameter 'timeOut'"); // TODO - be friendly -> provide a default value instead
         }
@@ -78,27 +89,46 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
 
         Long timeOutMs = toMilliSeconds(timeOut);
         Long retryDelayMs = toMilliSeconds(retryDelay);
-        Long timeLeft = timeOutMs;
+        Backoff backoff = Backoff.from(strategyDefinition.strategyProperties, retryDelayMs, timeOutMs);
+        int maxAttempts = strategyDefinition.strategyProperties.positiveInteger("maxAttempts", Integer.MAX_VALUE);
+        long deadline = System.currentTimeMillis() + timeOutMs;
+        long timeLeft = timeOutMs;
         Status st = Status.NOT_EXECUTED;
         int tries = 1;
         List<String> lastErrors = new ArrayList<>();
+        List<String> triesTimings = new ArrayList<>();
         do {
             Long tryStartTime = System.currentTimeMillis();
             step.addInformation("Retry strategy definition : [timeOut " + timeOut + "] [delay " + retryDelay + "]");
-            step.addInformation("Try number : " + (tries++));
+            step.addInformation("Try number : " + tries);
 
             st = executeAll(scenarioExecution, step, scenarioContext, localContext, strategies);
+            long tryDuration = System.currentTimeMillis() - tryStartTime;
             if (st == Status.FAILURE) {
+                if (tries >= maxAttempts) {
+                    triesTimings.add(tryTiming(tries, st, tryDuration) + ", max attempts reached");
+                    break;
+                }
+                timeLeft = deadline - System.currentTimeMillis();
+                if (timeLeft <= 0) {
+                    triesTimings.add(tryTiming(tries, st, tryDuration) + ", timeout reached");
+                    break;
+                }
+                long delayMs = Math.min(backoff.delay(tries), timeLeft);
+                triesTimings.add(tryTiming(tries, st, tryDuration) + ", waited " + delayMs + " ms before next try");
                 try {
                     step.startWatch();
-                    TimeUnit.MILLISECONDS.sleep(retryDelayMs);
-                } catch (InterruptedException e) {
-                    throw new IllegalStateException("Sleeping between executions have been interrupted", e);
+                    if (!waitBeforeRetry(scenarioExecution, delayMs)) {
+                        step.stopExecution(scenarioExecution);
+                        st = Status.STOPPED;
+                        break;
+                    }
                 } finally {
                     step.stopWatch();
                 }
-                timeLeft -= System.currentTimeMillis() - tryStartTime;
+                timeLeft = deadline - System.currentTimeMillis();
             } else {
+                triesTimings.add(tryTiming(tries, st, tryDuration));
                 if(!lastErrors.isEmpty()){
                     step.addErrorMessage("Error(s) on last step execution:");
                     lastErrors.forEach(step::addErrorMessage);
@@ -106,12 +136,14 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
                 break;
             }
 
+            tries++;
             if (timeLeft > 0) {
                 lastErrors.clear();
                 lastErrors.addAll(step.errors());
-                step.resetExecution();
+                step.resetExecution(scenarioExecution);
             }
-        } while (timeLeft > 0); // TODO - needs to backoff a bit before retry
+        } while (timeLeft > 0);
+        triesTimings.forEach(step::addInformation);
         return st;
     }
 
@@ -131,12 +163,72 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
         return Status.SUCCESS;
     }
 
+    /**
+     * @return false if the execution has been stopped while waiting
+     * @throws IllegalStateException when sleep is interrupted
+     */
+    private boolean waitBeforeRetry(ScenarioExecution scenarioExecution, long delayMs) {
+        long end = System.currentTimeMillis() + delayMs;
+        try {
+            for (long left = delayMs; left > 0; left = end - System.currentTimeMillis()) {
+                if (scenarioExecution.hasToStop()) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(Math.min(left, STOP_CHECK_INTERVAL_MS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sleeping between executions have been interrupted", e);
+        }
+        return true;
+    }
+
+    private static String tryTiming(int tryNumber, Status status, long durationMs) {
+        return "Try " + tryNumber + " : " + status + " in " + durationMs + " ms";
+    }
+
     // convert duration strings in strategy parameters to milliseconds
-    private long toMilliSeconds(String duration) {
+    private static long toMilliSeconds(String duration) {
         double durationInMS = Duration.parse(duration).toMilliseconds();
         return Math.round(durationInMS);
 
     }
+
+    /**
+     * Exponential backoff, capped by maxRetryDelay, then randomly shortened by jitter.
+     */
+    private record Backoff(long retryDelayMs, double multiplier, long maxRetryDelayMs, double jitter) {
+
+        private static Backoff from(StrategyProperties strategyProperties, long retryDelayMs, long timeOutMs) {
+            double multiplier = Optional.ofNullable(strategyProperties.get("backoffMultiplier"))
+                .map(m -> Double.parseDouble(String.valueOf(m).trim()))
+                .orElse(1d);
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Parameter 'backoffMultiplier' must be greater or equal to 1: " + multiplier);
+            }
+            long maxRetryDelayMs = Optional.ofNullable(strategyProperties.get("maxRetryDelay"))
+                .map(d -> toMilliSeconds(String.valueOf(d)))
+                .orElse(timeOutMs);
+            double jitter = Optional.ofNullable(strategyProperties.get("jitter"))
+                .map(j -> Double.parseDouble(String.valueOf(j).trim()))
+                .orElse(0d);
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Parameter 'jitter' must be between 0 and 1: " + jitter);
+            }
+            return new Backoff(retryDelayMs, multiplier, maxRetryDelayMs, jitter);
+        }
+
+        /**
+         * @param failedTries number of tries already failed, starting at 1
+         */
+        private long delay(int failedTries) {
+            double delay = Math.min(retryDelayMs * Math.pow(multiplier, failedTries - 1), maxRetryDelayMs);
+            if (jitter > 0) {
+                delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+            }
+            return Math.round(delay);
+        }
+    }
 }
 
 /*
@@ -18,6 +18,7 @@ package com.chutneytesting.engine.domain.execution.strategies;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Strategy parameters.
@@ -41,4 +42,33 @@ public class StrategyProperties extends HashMap<String, Object> {
         put(key, value);
         return this;
     }
+
+    /**
+     * @throws IllegalArgumentException when the property is not a positive integer
+     */
+    public int positiveInteger(String key, int defaultValue) {
+        int value = Optional.ofNullable(get(key))
+            .map(v -> Integer.parseInt(String.valueOf(v).trim()))
+            .orElse(defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException("Parameter '" + key + "' must be positive: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the property is set but is not a finite positive number
+     */
+    public Optional<Double> positiveNumber(String key) {
+        Optional<String> value = Optional.ofNullable(get(key)).map(v -> String.valueOf(v).trim());
+        try {
+            Optional<Double> number = value.map(Double::valueOf);
+            if (number.isPresent() && !(number.get() > 0 && Double.isFinite(number.get()))) {
+                throw new IllegalArgumentException("Parameter '" + key + "' must be a positive number: " + value.get());
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + key + "' must be a positive number: " + value.get(), e);
+        }
+    }
 }
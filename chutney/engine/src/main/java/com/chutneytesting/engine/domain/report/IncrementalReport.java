@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.report;
+
+import static java.util.Collections.emptyList;
+
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
+import com.chutneytesting.engine.domain.execution.report.Status;
+import com.chutneytesting.engine.domain.execution.report.StepExecutionReport;
+import com.chutneytesting.engine.domain.execution.report.StepExecutionReportBuilder;
+import com.chutneytesting.engine.domain.execution.report.StepExecutionReportDelta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Report of one execution, updated step by step.
+ *
+ * The report of each step is kept, and only the changed step, with its sub steps and ancestors, is built again on change.
+ * Other steps reports are shared between successive reports.
+ *
+ * Not thread safe, changes of one execution are expected to be notified one at a time.
+ */
+class IncrementalReport {
+
+    @FunctionalInterface
+    interface StepReportBuilder {
+        StepExecutionReport build(Step step, Status status, String environment, List<StepExecutionReport> subStepsReports);
+    }
+
+    private final long executionId;
+    private final Step rootStep;
+    private final StepReportBuilder reportBuilder;
+    private final Map<Step, Node> nodes = new IdentityHashMap<>();
+    private final Map<Step, Step> parents = new IdentityHashMap<>();
+
+    private long version = 0;
+    private volatile StepExecutionReportDelta lastSnapshot;
+
+    IncrementalReport(long executionId, Step rootStep, StepReportBuilder reportBuilder) {
+        this.executionId = executionId;
+        this.rootStep = rootStep;
+        this.reportBuilder = reportBuilder;
+    }
+
+    Step rootStep() {
+        return rootStep;
+    }
+
+    /**
+     * @return last built report, as a snapshot delta, or null if none was built yet
+     */
+    StepExecutionReportDelta lastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+     * Build the report after a change of the given step.
+     *
+     * @param changedStep step which state changed
+     * @param rootStatus  status of the root step
+     * @param environment environment of the execution
+     * @return the change applied to the report
+     */
+    StepExecutionReportDelta update(Step changedStep, Function<Step, Status> rootStatus, String environment) {
+        List<Step> path = pathTo(changedStep);
+        int deltaDepth = lastSnapshot == null ? 0 : path.size() - 1;
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = nodes.get(path.get(depth));
+            if (node != null && !node.hasSameSubSteps(path.get(depth))) {
+                deltaDepth = depth;
+                forgetRemovedSubSteps(node, path.get(depth));
+            }
+        }
+        invalidate(path.get(path.size() - 1));
+        path.forEach(nodes::remove);
+
+        StepExecutionReport rootReport = build(rootStep, rootStatus, environment);
+        version++;
+        lastSnapshot = StepExecutionReportDelta.snapshot(executionId, version, rootReport);
+
+        if (deltaDepth == 0) {
+            return lastSnapshot;
+        }
+        List<Integer> indexes = new ArrayList<>(deltaDepth);
+        List<StepExecutionReport> ancestors = new ArrayList<>(deltaDepth);
+        for (int depth = 0; depth < deltaDepth; depth++) {
+            Step parent = path.get(depth);
+            indexes.add(indexOf(parent.subSteps(), path.get(depth + 1)));
+            ancestors.add(header(nodes.get(parent).report));
+        }
+        return new StepExecutionReportDelta(executionId, version, indexes, nodes.get(path.get(deltaDepth)).report, ancestors);
+    }
+
+    /**
+     * Keep the final report of the execution, fully built.
+     *
+     * @return the final report, as a snapshot delta
+     */
+    StepExecutionReportDelta complete(StepExecutionReport finalReport) {
+        version++;
+        lastSnapshot = StepExecutionReportDelta.snapshot(executionId, version, finalReport);
+        return lastSnapshot;
+    }
+
+    private StepExecutionReport build(Step step, Function<Step, Status> status, String environment) {
+        Node node = nodes.get(step);
+        if (node != null) {
+            return node.report;
+        }
+        List<Step> subSteps = step.subSteps();
+        List<StepExecutionReport> subStepsReports = new ArrayList<>(subSteps.size());
+        for (Step subStep : subSteps) {
+            parents.put(subStep, step);
+            subStepsReports.add(build(subStep, Step::status, environment));
+        }
+        StepExecutionReport report = reportBuilder.build(step, status.apply(step), environment, subStepsReports);
+        nodes.put(step, new Node(report, List.copyOf(subSteps)));
+        return report;
+    }
+
+    private void invalidate(Step step) {
+        Node node = nodes.remove(step);
+        if (node != null) {
+            if (!node.hasSameSubSteps(step)) {
+                forgetRemovedSubSteps(node, step);
+            }
+            node.subSteps.forEach(this::invalidate);
+        }
+        step.subSteps().forEach(this::invalidate);
+    }
+
+    /**
+     * Sub steps may be removed during execution, as compacted iterations, and must not be kept nor reached anymore.
+     */
+    private void forgetRemovedSubSteps(Node node, Step step) {
+        Set<Step> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        current.addAll(step.subSteps());
+        node.subSteps.stream()
+            .filter(subStep -> !current.contains(subStep))
+            .forEach(this::forget);
+    }
+
+    private void forget(Step step) {
+        parents.remove(step);
+        Node node = nodes.remove(step);
+        if (node != null) {
+            node.subSteps.forEach(this::forget);
+        }
+        step.subSteps().forEach(this::forget);
+    }
+
+    private List<Step> pathTo(Step step) {
+        List<Step> path = climb(step);
+        if (path == null) {
+            index(rootStep);
+            path = climb(step);
+        }
+        return path != null ? path : new ArrayList<>(List.of(rootStep));
+    }
+
+    private List<Step> climb(Step step) {
+        List<Step> path = new ArrayList<>();
+        Step current = step;
+        while (current != rootStep) {
+            path.add(0, current);
+            current = parents.get(current);
+            if (current == null) {
+                return null;
+            }
+        }
+        path.add(0, rootStep);
+        return path;
+    }
+
+    private void index(Step parent) {
+        for (Step subStep : parent.subSteps()) {
+            parents.put(subStep, parent);
+            index(subStep);
+        }
+    }
+
+    private static int indexOf(List<Step> steps, Step step) {
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) == step) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static StepExecutionReport header(StepExecutionReport report) {
+        return new StepExecutionReportBuilder()
+            .from(report)
+            .setSteps(emptyList())
+            .createStepExecutionReport();
+    }
+
+    private record Node(StepExecutionReport report, List<Step> subSteps) {
+        private boolean hasSameSubSteps(Step step) {
+            List<Step> current = step.subSteps();
+            if (current.size() != subSteps.size()) {
+                return false;
+            }
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != subSteps.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -27,16 +27,21 @@ import com.chutneytesting.engine.domain.execution.event.EndScenarioExecutionEven
 import com.chutneytesting.engine.domain.execution.event.EndStepExecutionEvent;
 import com.chutneytesting.engine.domain.execution.event.Event;
 import com.chutneytesting.engine.domain.execution.event.PauseStepExecutionEvent;
+import com.chutneytesting.engine.domain.execution.event.ResetStepExecutionEvent;
 import com.chutneytesting.engine.domain.execution.event.StartScenarioExecutionEvent;
 import com.chutneytesting.engine.domain.execution.report.Status;
 import com.chutneytesting.engine.domain.execution.report.StepExecutionReport;
 import com.chutneytesting.engine.domain.execution.report.StepExecutionReportBuilder;
+import com.chutneytesting.engine.domain.execution.report.StepExecutionReportDelta;
 import com.chutneytesting.engine.domain.execution.strategies.StepStrategyDefinition;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subjects.ReplaySubject;
 import io.reactivex.rxjava3.subjects.Subject;
+import io.reactivex.rxjava3.subjects.UnicastSubject;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,7 +59,8 @@ public class Reporter {
     private static final long DEFAULT_RETENTION_DELAY_SECONDS = 5;
 
     private final Map<Long, Subject<StepExecutionReport>> reportsPublishers = new ConcurrentHashMap<>();
-    private final Map<Long, Step> rootSteps = new ConcurrentHashMap<>();
+    private final Map<Long, Subject<StepExecutionReportDelta>> deltasPublishers = new ConcurrentHashMap<>();
+    private final Map<Long, IncrementalReport> reports = new ConcurrentHashMap<>();
     private long retentionDelaySeconds;
 
     public Reporter() {
@@ -72,6 +78,35 @@ public class Reporter {
             .orElseGet(Observable::empty);
     }
 
+    /**
+     * Subscribe to the changes of an execution report.
+     * The first change received is a snapshot of the last report, if any, following ones only hold the changed steps.
+     */
+    public Observable<StepExecutionReportDelta> subscribeOnExecutionDeltas(Long executionId) {
+        LOGGER.trace("Subscribe to deltas for execution {}", executionId);
+        return Optional.ofNullable(deltasPublishers.get(executionId))
+            .map(deltas -> Observable.defer(() -> {
+                UnicastSubject<StepExecutionReportDelta> buffer = UnicastSubject.create();
+                Disposable subscription = deltas.subscribe(buffer::onNext, buffer::onError, buffer::onComplete);
+                StepExecutionReportDelta snapshot = snapshot(executionId).orElse(null);
+                if (snapshot == null) {
+                    return buffer.doOnDispose(subscription::dispose);
+                }
+                return buffer
+                    .filter(delta -> delta.version() > snapshot.version())
+                    .startWithItem(snapshot)
+                    .doOnDispose(subscription::dispose);
+            }))
+            .orElseGet(Observable::empty);
+    }
+
+    /**
+     * @return the last report of an execution, with its version, if any
+     */
+    public Optional<StepExecutionReportDelta> snapshot(Long executionId) {
+        return Optional.ofNullable(reports.get(executionId)).map(IncrementalReport::lastSnapshot);
+    }
+
     public void setRetentionDelaySeconds(long retentionDelaySeconds) {
         this.retentionDelaySeconds = retentionDelaySeconds;
     }
@@ -79,19 +114,20 @@ public class Reporter {
     public void createPublisher(Long executionId, Step rootStep) {
         LOGGER.trace("Create publisher for execution {}", executionId);
         reportsPublishers.put(executionId, ReplaySubject.<StepExecutionReport>createWithSize(1).toSerialized());
-        rootSteps.put(executionId, rootStep);
+        deltasPublishers.put(executionId, PublishSubject.<StepExecutionReportDelta>create().toSerialized());
+        reports.put(executionId, new IncrementalReport(executionId, rootStep, this::buildReport));
         LOGGER.debug("Publishers map size : {}", reportsPublishers.size());
     }
 
     private void storeRootStepAndPublishReport(StartScenarioExecutionEvent event) {
         LOGGER.trace("Store root step for execution {}", event.executionId());
-        rootSteps.put(event.executionId(), event.step);
-        publishReport(event);
+        reports.put(event.executionId(), new IncrementalReport(event.executionId(), event.step, this::buildReport));
+        publishReport(event, event.step);
     }
 
-    private void publishReport(Event event) {
+    private void publishReport(Event event, Step changedStep) {
         LOGGER.trace("Publish report for execution {}", event.executionId());
-        doIfPublisherExists(event.executionId(), (observer) -> observer.onNext(generateRunningReport(event.executionId())));
+        doIfPublisherExists(event.executionId(), (observer) -> observer.onNext(generateRunningReport(event.executionId(), changedStep)));
     }
 
     private void publishLastReport(Event event) {
@@ -106,8 +142,9 @@ public class Reporter {
         });
     }
 
-    private StepExecutionReport generateRunningReport(long executionId) {
-        Step step = rootSteps.get(executionId);
+    private StepExecutionReport generateRunningReport(long executionId, Step changedStep) {
+        IncrementalReport report = reports.get(executionId);
+        Step step = report.rootStep();
         final Status calculatedRootStepStatus = step.status();
 
         final Status finalStatus;
@@ -116,12 +153,21 @@ public class Reporter {
         } else {
             finalStatus = calculatedRootStepStatus;
         }
-        return generateReport(step, s -> finalStatus, getEnvironment(step));
+        StepExecutionReportDelta delta = report.update(changedStep, s -> finalStatus, getEnvironment(step));
+        publishDelta(executionId, delta);
+        return report.lastSnapshot().step();
     }
 
     private StepExecutionReport generateLastReport(long executionId) {
-        Step step = rootSteps.get(executionId);
-        return generateReport(step, Step::status, getEnvironment(step));
+        IncrementalReport report = reports.get(executionId);
+        Step step = report.rootStep();
+        StepExecutionReportDelta delta = report.complete(generateReport(step, Step::status, getEnvironment(step)));
+        publishDelta(executionId, delta);
+        return delta.step();
+    }
+
+    private void publishDelta(long executionId, StepExecutionReportDelta delta) {
+        Optional.ofNullable(deltasPublishers.get(executionId)).ifPresent(deltas -> deltas.onNext(delta));
     }
 
     private static String getEnvironment(Step step) {
@@ -132,16 +178,20 @@ public class Reporter {
     }
 
     StepExecutionReport generateReport(Step step, Function<Step, Status> statusSupplier, String env) {
+        return buildReport(step, statusSupplier.apply(step), env, step.subSteps().stream().map(subStep -> generateReport(subStep, Step::status, env)).collect(Collectors.toList()));
+    }
+
+    private StepExecutionReport buildReport(Step step, Status status, String env, List<StepExecutionReport> subStepsReports) {
         try {
             return new StepExecutionReportBuilder()
                 .setName(step.name())
                 .setEnvironment(env)
                 .setDuration(step.duration().toMillis())
                 .setStartDate(step.startDate())
-                .setStatus(statusSupplier.apply(step))
+                .setStatus(status)
                 .setInformation(step.informations())
                 .setErrors(step.errors())
-                .setSteps(step.subSteps().stream().map(subStep -> generateReport(subStep, Step::status, env)).collect(Collectors.toList()))
+                .setSteps(subStepsReports)
                 .setEvaluatedInputs(step.getEvaluatedInputs())
                 .setStepResults(step.getStepOutputs())
                 .setScenarioContext(step.getScenarioContext())
@@ -168,16 +218,19 @@ public class Reporter {
     private void completePublisher(long executionId, Observer<StepExecutionReport> observer) {
         LOGGER.trace("Complete publisher for execution {}", executionId);
         observer.onComplete();
+        Optional.ofNullable(deltasPublishers.get(executionId)).ifPresent(Observer::onComplete);
         if (retentionDelaySeconds > 0) {
             Completable.timer(retentionDelaySeconds, TimeUnit.SECONDS)
                 .subscribe(() -> {
-                    rootSteps.remove(executionId);
+                    reports.remove(executionId);
                     reportsPublishers.remove(executionId);
+                    deltasPublishers.remove(executionId);
                     LOGGER.trace("Remove publisher for execution {}", executionId);
                 }, throwable -> LOGGER.error("Cannot remove publisher for execution {}", executionId, throwable));
         } else {
-            rootSteps.remove(executionId);
+            reports.remove(executionId);
             reportsPublishers.remove(executionId);
+            deltasPublishers.remove(executionId);
         }
     }
 
@@ -189,9 +242,10 @@ public class Reporter {
     private void busRegistration() {
         RxBus bus = RxBus.getInstance();
         bus.register(StartScenarioExecutionEvent.class, this::storeRootStepAndPublishReport);
-        bus.register(BeginStepExecutionEvent.class, this::publishReport);
-        bus.register(EndStepExecutionEvent.class, this::publishReport);
-        bus.register(PauseStepExecutionEvent.class, this::publishReport);
+        bus.register(BeginStepExecutionEvent.class, e -> publishReport(e, e.step));
+        bus.register(EndStepExecutionEvent.class, e -> publishReport(e, e.step));
+        bus.register(PauseStepExecutionEvent.class, e -> publishReport(e, e.step));
+        bus.register(ResetStepExecutionEvent.class, e -> publishReport(e, e.step));
         bus.register(EndScenarioExecutionEvent.class, this::publishReportAndCompletePublisher);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.chutneytesting.engine.domain.execution.command.PauseExecutionCommand;
+import com.chutneytesting.engine.domain.execution.command.StopExecutionCommand;
+import com.chutneytesting.engine.domain.execution.event.Event;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RxBusTest {
+
+    private final RxBus sut = new RxBus();
+
+    @Test
+    public void should_deliver_events_by_type() {
+        List<Object> received = new ArrayList<>();
+        sut.register(StopExecutionCommand.class, received::add);
+
+        StopExecutionCommand stop = new StopExecutionCommand(1L);
+        sut.post(new PauseExecutionCommand(1L));
+        sut.post(stop);
+        sut.post("not an event");
+
+        assertThat(received).containsExactly(stop);
+    }
+
+    @Test
+    public void should_deliver_events_by_type_and_execution_id() {
+        List<Event> received = new ArrayList<>();
+        sut.registerOnExecutionId(PauseExecutionCommand.class, 1L, received::add);
+
+        PauseExecutionCommand pause = new PauseExecutionCommand(1L);
+        sut.post(new PauseExecutionCommand(2L));
+        sut.post(new StopExecutionCommand(1L));
+        sut.post(pause);
+
+        assertThat(received).containsExactly(pause);
+    }
+
+    @Test
+    public void should_close_execution_lane_when_all_subscribers_are_disposed() {
+        Disposable pause = sut.registerOnExecutionId(PauseExecutionCommand.class, 1L, e -> {});
+        Disposable stop = sut.registerOnExecutionId(StopExecutionCommand.class, 1L, e -> {});
+        assertThat(sut.metrics().lanes()).isEqualTo(1);
+
+        pause.dispose();
+        assertThat(sut.metrics().lanes()).isEqualTo(1);
+
+        stop.dispose();
+        assertThat(sut.metrics().lanes()).isZero();
+    }
+
+    @Test
+    public void should_keep_delivering_when_a_subscriber_fails() {
+        AtomicInteger received = new AtomicInteger();
+        sut.register(StopExecutionCommand.class, e -> {
+            throw new IllegalStateException();
+        });
+        sut.register(StopExecutionCommand.class, e -> received.incrementAndGet());
+
+        sut.post(new StopExecutionCommand(1L));
+        sut.post(new StopExecutionCommand(1L));
+
+        assertThat(received).hasValue(2);
+    }
+
+    @Test
+    public void should_deliver_events_of_one_execution_one_at_a_time() throws InterruptedException {
+        int threads = 8;
+        int eventsPerThread = 500;
+        AtomicInteger concurrentDeliveries = new AtomicInteger();
+        AtomicInteger maxConcurrentDeliveries = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        sut.registerOnExecutionId(StopExecutionCommand.class, 1L, e -> {
+            maxConcurrentDeliveries.accumulateAndGet(concurrentDeliveries.incrementAndGet(), Math::max);
+            received.incrementAndGet();
+            concurrentDeliveries.decrementAndGet();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    sut.post(new StopExecutionCommand(1L));
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(received).hasValue(threads * eventsPerThread);
+        assertThat(maxConcurrentDeliveries).hasValue(1);
+        RxBus.Metrics metrics = sut.metrics();
+        assertThat(metrics.posted()).isEqualTo(threads * eventsPerThread);
+        assertThat(metrics.delivered()).isEqualTo(threads * eventsPerThread);
+        assertThat(metrics.pending()).isZero();
+    }
+}
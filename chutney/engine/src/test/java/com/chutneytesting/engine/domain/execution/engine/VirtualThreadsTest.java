@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.chutneytesting.ExecutionConfiguration;
+import com.chutneytesting.engine.api.execution.ExecutionRequestDto;
+import com.chutneytesting.engine.api.execution.StatusDto;
+import com.chutneytesting.engine.api.execution.StepExecutionReportDto;
+import com.chutneytesting.engine.api.execution.TestEngine;
+import com.chutneytesting.tools.Jsons;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void should_not_run_platform_threads_as_virtual() {
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    public void should_refuse_to_create_executor_when_virtual_threads_are_not_supported() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void should_run_each_task_on_a_new_virtual_thread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        ExecutorService sut = VirtualThreads.newThreadPerTaskExecutor("test-");
+        Thread thread = sut.submit(Thread::currentThread).get();
+        sut.shutdown();
+
+        assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+        assertThat(thread.getName()).startsWith("test-");
+    }
+
+    /**
+     * 1000 scenarios waiting 200 ms each take 20 s on the default 10 threads pool.
+     */
+    @Test
+    public void should_run_many_waiting_scenarios_concurrently_on_virtual_threads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        int scenarios = 1000;
+        ExecutorService engineExecutor = VirtualThreads.newThreadPerTaskExecutor("engine-");
+        ExecutorService clients = VirtualThreads.newThreadPerTaskExecutor("client-");
+        TestEngine testEngine = new ExecutionConfiguration(5L, engineExecutor, emptyMap(), null, null).embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/simpleStep/wait_heavy_scenario.json", ExecutionRequestDto.class);
+
+        long start = System.nanoTime();
+        List<Future<StepExecutionReportDto>> reports = new ArrayList<>(scenarios);
+        for (int i = 0; i < scenarios; i++) {
+            reports.add(clients.submit(() -> testEngine.execute(requestDto)));
+        }
+        for (Future<StepExecutionReportDto> report : reports) {
+            assertThat(report.get().status).isEqualTo(StatusDto.SUCCESS);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        clients.shutdown();
+        testEngine.close();
+
+        assertThat(elapsedMillis).isLessThan(10_000);
+    }
+}
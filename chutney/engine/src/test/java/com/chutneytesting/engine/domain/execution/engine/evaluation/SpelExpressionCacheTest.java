@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctions;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+public class SpelExpressionCacheTest {
+
+    @Test
+    public void should_parse_expression_once() {
+        SpelExpressionCache sut = new SpelExpressionCache();
+
+        Expression first = sut.get("#a + #b");
+        Expression second = sut.get("#a + #b");
+
+        assertThat(second).isSameAs(first);
+        assertThat(sut.stats().missCount()).isEqualTo(1);
+        assertThat(sut.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_evict_least_recently_used_expressions_when_full() {
+        SpelExpressionCache sut = new SpelExpressionCache(1, SpelCompilerMode.OFF);
+
+        sut.get("#a");
+        sut.get("#b");
+
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(sut.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_throw_evaluation_exception_on_unparsable_expression() {
+        SpelExpressionCache sut = new SpelExpressionCache();
+
+        assertThatThrownBy(() -> sut.get("#a +"))
+            .isInstanceOf(EvaluationException.class)
+            .hasMessageStartingWith("Cannot parse #a +");
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    public void should_share_parsed_expressions_between_evaluations() {
+        SpelExpressionCache cache = new SpelExpressionCache(100, SpelCompilerMode.MIXED);
+        StepDataEvaluator sut = new StepDataEvaluator(new SpelFunctions(), cache);
+
+        for (int i = 0; i < 50; i++) {
+            Object result = sut.evaluate("${#value + 1} and ${#value * 2}", Map.of("value", i));
+            assertThat(result).isEqualTo((i + 1) + " and " + (i * 2));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+}
@@ -24,6 +24,7 @@ import com.chutneytesting.engine.domain.execution.evaluation.SpelFunctions;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -182,6 +183,25 @@ public class StepDataEvaluatorTest {
         sut.evaluateNamedDataWithContextVariables(inputs, scenarioContext);
     }
 
+    @Test
+    public void should_read_layered_context_variables_without_modifying_them() {
+        // Given
+        Map<String, Object> scenarioContext = new HashMap<>(Map.of("a", "scenario", "b", "scenario"));
+        Map<String, Object> localContext = new HashMap<>(Map.of("b", "local"));
+
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("a", "${#a}-${#b}");
+        inputs.put("c", "${#a}");
+
+        // When
+        Map<String, Object> evaluatedInputs = sut.evaluateNamedDataWithContextVariables(inputs, ContextVariables.of(scenarioContext, localContext));
+
+        // Then
+        assertThat(evaluatedInputs).containsEntry("a", "scenario-local").containsEntry("c", "scenario-local");
+        assertThat(scenarioContext).containsOnly(Map.entry("a", "scenario"), Map.entry("b", "scenario"));
+        assertThat(localContext).containsOnly(Map.entry("b", "local"));
+    }
+
     @Test
     public void should_not_resolve_unknown_var_template_with_unique_var() {
         // Given
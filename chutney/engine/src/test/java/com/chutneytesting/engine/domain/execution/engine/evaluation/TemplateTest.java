@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.engine.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TemplateTest {
+
+    private static final Function<String, Object> UPPER_CASE = String::toUpperCase;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "no expression | no expression",
+        "${a} | A",
+        "${a} and ${b} | A and B",
+        "{\"k\": \"${a}\", \"l\": [${b}, ${c}]} | {\"k\": \"A\", \"l\": [B, C]}",
+        "\\${a} and ${b} | ${a} and B",
+        "${a}\\${b}${c} | A${b}C",
+        "${a ${b} | A ${B",
+        "${a} ${ | A ${",
+        "} ${a}} | } A}",
+    })
+    public void should_render_expressions(String template, String expected) {
+        assertThat(Template.of(template).render(UPPER_CASE, false)).isEqualTo(expected);
+    }
+
+    @Test
+    public void should_keep_expression_evaluated_to_null() {
+        assertThat(Template.of("x${a}y").render(s -> null, false)).isEqualTo("x${a}y");
+    }
+
+    @Test
+    public void should_keep_failing_expression_when_silently_resolved() {
+        Function<String, Object> failing = s -> {
+            throw new IllegalStateException(s);
+        };
+
+        assertThat(Template.of("x${a}y${b}").render(failing, true)).isEqualTo("x${a}y${b}");
+        assertThatThrownBy(() -> Template.of("x${a}y${b}").render(failing, false)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "${a} | true",
+        "'  ${a}  ' | true",
+        "\\${a} | true",
+        "${'with } inside'} | true",
+        "${} | true",
+        "${a}${b} | false",
+        "x${a} | false",
+        "${a}x | false",
+        "${a | false",
+        "no expression | false",
+    })
+    public void should_detect_single_expression(String template, boolean expected) {
+        assertThat(Template.of(template).isSingleExpression()).isEqualTo(expected);
+    }
+
+    @Test
+    public void should_evaluate_single_expression_as_a_whole() {
+        assertThat(Template.of(" ${'with } inside'} ").evaluate(s -> s, false)).isEqualTo("'with } inside'");
+        assertThat(Template.of("\\${a}").evaluate(UPPER_CASE, false)).isEqualTo("${a}");
+        assertThat(Template.of("${a}").evaluate(UPPER_CASE, true)).isEqualTo("${a}");
+    }
+
+    @Test
+    public void should_parse_template_once() {
+        String source = "${a} and ${b}";
+        AtomicInteger evaluations = new AtomicInteger();
+
+        Template first = Template.of(source);
+        Template second = Template.of(new String(source));
+        first.render(s -> evaluations.incrementAndGet(), false);
+
+        assertThat(second).isSameAs(first);
+        assertThat(evaluations).hasValue(2);
+    }
+}
@@ -184,6 +184,17 @@ public class StepStateTest {
         assertThat(stepState.status()).isEqualTo(Status.EXECUTED);
     }
 
+    @Test
+    void should_keep_parent_step_failure_when_end_execution() {
+        StepState stepState = new StepState();
+        stepState.beginExecution();
+        stepState.errorOccurred("...");
+
+        stepState.endExecution(true);
+
+        assertThat(stepState.status()).isEqualTo(Status.FAILURE);
+    }
+
     @Nested
     @DisplayName("Concurrent messages modifications")
     class ConcurrentMessagesModification {
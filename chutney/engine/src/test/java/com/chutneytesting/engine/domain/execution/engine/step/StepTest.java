@@ -59,6 +59,7 @@ import com.chutneytesting.tools.Jsons;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
@@ -461,6 +462,26 @@ public class StepTest {
         return step.execute(ScenarioExecution.createScenarioExecution(null), scenarioContext);
     }
 
+    @Test
+    public void should_give_sub_steps_snapshots_while_iterations_are_added_and_replaced() {
+        Step step = buildEmptyStep(mock(StepExecutor.class));
+        Step first = buildEmptyStep(mock(StepExecutor.class));
+        Step second = buildEmptyStep(mock(StepExecutor.class));
+        Step summary = buildEmptyStep(mock(StepExecutor.class));
+
+        step.addStepExecution(first);
+        List<Step> snapshot = step.subSteps();
+        assertThat(step.subSteps()).isSameAs(snapshot);
+
+        step.addStepExecution(second);
+        step.replaceStepExecution(first, summary);
+        step.replaceStepExecution(second, first);
+        step.replaceStepExecution(second, second);
+
+        assertThat(snapshot).containsExactly(first);
+        assertThat(step.subSteps()).containsExactly(summary, first, second);
+    }
+
     private Step buildEmptyStep(StepExecutor stepExecutor) {
         StepDefinition fakeStepDefinition = new StepDefinition("fakeScenario", fakeTarget, "actionType", null, null, null, null, null);
         return new Step(dataEvaluator, fakeStepDefinition, stepExecutor, emptyList());
@@ -18,20 +18,33 @@ package com.chutneytesting.engine.domain.execution.strategies;
 
 import static com.chutneytesting.engine.api.execution.StatusDto.FAILURE;
 import static com.chutneytesting.engine.api.execution.StatusDto.SUCCESS;
+import static com.chutneytesting.engine.domain.execution.ScenarioExecution.createScenarioExecution;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.chutneytesting.ExecutionConfiguration;
 import com.chutneytesting.engine.api.execution.ExecutionRequestDto;
 import com.chutneytesting.engine.api.execution.StepExecutionReportDto;
 import com.chutneytesting.engine.api.execution.TestEngine;
+import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContextImpl;
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
 import com.chutneytesting.tools.Jsons;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class ForEachStrategyTest {
 
@@ -371,4 +384,90 @@ class ForEachStrategyTest {
         assertThat(result.steps.get(0).steps.get(0).steps.get(0).steps.get(0).steps.get(0).steps.get(0).name).isEqualTo("0 0 0 - level 3 - level1.0 level2.0 level3.0");
         assertThat(result.steps.get(0).steps.get(0).steps.get(0).steps.get(0).steps.get(0).steps.get(1).name).isEqualTo("0 0 1 - level 3 - level1.0 level2.0 level3.1");
     }
+
+    @Test
+    public void should_run_iterations_in_parallel_and_merge_outputs_in_iterations_order() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/forEachStrategy/parallel_step_iterations.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result).hasFieldOrPropertyWithValue("status", SUCCESS);
+        assertThat(result.steps.get(0).duration).isLessThan(1500);
+        assertThat(result.steps.get(0).steps).extracting(s -> s.name)
+            .containsExactly("0 - Hello Tata", "1 - Hello Baba", "2 - Hello Lala", "3 - Hello Nana");
+        assertThat(result.steps.get(0).steps.get(3).steps.get(1).name).isEqualTo("3 - Put Nana");
+        assertThat(result.steps.get(1).name).isEqualTo("After : Tata Nana Nana");
+    }
+
+    @Test
+    public void should_limit_iterations_rate() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/forEachStrategy/rate_limited_step_iterations.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result).hasFieldOrPropertyWithValue("status", SUCCESS);
+        assertThat(result.steps.get(0).steps).hasSize(5);
+        assertThat(result.steps.get(0).duration).isGreaterThanOrEqualTo(350);
+    }
+
+    @Test
+    public void should_summarize_successful_iterations_when_report_is_compacted() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/forEachStrategy/compacted_step_iterations.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        StepExecutionReportDto parentStep = result.steps.get(0);
+        assertThat(parentStep.status).isEqualTo(FAILURE);
+        assertThat(parentStep.steps).extracting(s -> s.name)
+            .containsExactly("3 successful iterations", "2 - Hello website on C");
+        assertThat(parentStep.steps.get(0).status).isEqualTo(SUCCESS);
+        assertThat(parentStep.steps.get(1).status).isEqualTo(FAILURE);
+        assertThat(parentStep.steps.get(1).errors).contains("Validation [check_2_ok : ${#env != \"C\"}] : KO");
+    }
+
+    @Test
+    public void should_end_step_in_failure_when_a_dataset_row_cannot_be_evaluated() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/forEachStrategy/failing_dataset_row_iterations.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result).hasFieldOrPropertyWithValue("status", FAILURE);
+        StepExecutionReportDto parentStep = result.steps.get(0);
+        assertThat(parentStep.status).isEqualTo(FAILURE);
+        assertThat(parentStep.errors).isNotEmpty();
+        assertThat(parentStep.duration).isNotNegative();
+        assertThat(parentStep.steps).extracting(s -> s.name).containsExactly("0 - Hello Tata");
+        assertThat(parentStep.steps.get(0).status).isEqualTo(SUCCESS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "NaN", "Infinity", "fast"})
+    public void should_fail_before_execution_when_rate_per_second_is_not_a_positive_number(String ratePerSecond) {
+        // G
+        Step step = mock(Step.class);
+        StrategyProperties properties = new StrategyProperties(Map.of("dataset", List.of(Map.of()), "ratePerSecond", ratePerSecond));
+        when(step.strategy()).thenReturn(Optional.of(new StepStrategyDefinition("for", properties)));
+
+        // W / T
+        assertThatThrownBy(() -> new ForEachStrategy().execute(createScenarioExecution(null), step, new ScenarioContextImpl(), Map.of(), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Parameter 'ratePerSecond' must be a positive number: " + ratePerSecond);
+        verify(step, never()).beginExecution(any());
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.strategies;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.chutneytesting.engine.domain.execution.StepDefinition;
+import com.chutneytesting.engine.domain.execution.StepDefinitionBuilder;
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IterationTemplateTest {
+
+    @Test
+    public void should_replace_index_placeholder_in_step_definition() {
+        StepDefinition definition = definition("<i> - step <i>", Map.of("key_<i>", List.of("value <i>", 42)), Map.of("out", Map.of("<i>", "<j>")));
+        Step step = new Step(null, definition, null, emptyList());
+
+        StepDefinition iteration = new IterationTemplate("i", step, emptyList()).iteration(3).definition();
+
+        assertThat(iteration.name).isEqualTo("3 - step 3");
+        assertThat(iteration.inputs()).containsExactly(Map.entry("key_3", List.of("value 3", 42)));
+        assertThat(iteration.outputs).containsExactly(Map.entry("out", Map.of("3", "<j>")));
+        assertThat(iteration.getStrategy()).hasValueSatisfying(strategy -> assertThat(strategy.type).isEmpty());
+    }
+
+    @Test
+    public void should_share_sub_step_definitions_without_index_placeholder_between_iterations() {
+        StepDefinition constantDefinition = definition("constant", Map.of("key", "value"), Map.of());
+        StepDefinition indexedDefinition = definition("indexed <i>", Map.of(), Map.of());
+        Step step = new Step(null, definition("parent", Map.of(), Map.of()), null, emptyList());
+        List<Step> subSteps = List.of(new Step(null, constantDefinition, null, emptyList()), new Step(null, indexedDefinition, null, emptyList()));
+        IterationTemplate sut = new IterationTemplate("i", step, subSteps);
+
+        Step first = sut.iteration(0);
+        Step second = sut.iteration(1);
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.subSteps().get(0).definition()).isSameAs(second.subSteps().get(0).definition());
+        assertThat(first.subSteps().get(1).definition().name).isEqualTo("indexed 0");
+        assertThat(second.subSteps().get(1).definition().name).isEqualTo("indexed 1");
+    }
+
+    private static StepDefinition definition(String name, Map<String, Object> inputs, Map<String, Object> outputs) {
+        return new StepDefinitionBuilder()
+            .withName(name)
+            .withType("success")
+            .withInputs(inputs)
+            .withOutputs(outputs)
+            .build();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.engine.domain.execution.strategies;
+
+import static com.chutneytesting.engine.api.execution.StatusDto.FAILURE;
+import static com.chutneytesting.engine.api.execution.StatusDto.NOT_EXECUTED;
+import static com.chutneytesting.engine.api.execution.StatusDto.SUCCESS;
+import static com.chutneytesting.tools.WaitUtils.awaitDuring;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.chutneytesting.ExecutionConfiguration;
+import com.chutneytesting.engine.api.execution.ExecutionRequestDto;
+import com.chutneytesting.engine.api.execution.StepExecutionReportDto;
+import com.chutneytesting.engine.api.execution.TestEngine;
+import com.chutneytesting.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import com.chutneytesting.engine.domain.execution.engine.scenario.ScenarioContextImpl;
+import com.chutneytesting.engine.domain.execution.engine.step.Step;
+import com.chutneytesting.engine.domain.execution.report.Status;
+import com.chutneytesting.tools.Jsons;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ParallelStrategyTest {
+
+    private final StepExecutionStrategy sut = new ParallelStrategy();
+
+    @Test
+    public void should_run_branches_concurrently_and_merge_their_outputs_in_declaration_order() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/parallelStrategy/parallel_strategy_branches_merged_in_order.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result).hasFieldOrPropertyWithValue("status", SUCCESS);
+        assertThat(result.steps.get(0).steps).extracting(s -> s.status).containsOnly(SUCCESS);
+        assertThat(result.steps.get(0).duration).isLessThan(1400);
+        assertThat(result.steps.get(1).name).isEqualTo("After : value1 value2 branch2");
+    }
+
+    @Test
+    public void should_not_start_branches_once_one_has_failed() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/parallelStrategy/parallel_strategy_with_failing_branch.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result).hasFieldOrPropertyWithValue("status", FAILURE);
+        assertThat(result.steps.get(0).steps).extracting(s -> s.status).containsExactly(FAILURE, NOT_EXECUTED);
+        assertThat(result.steps.get(1).status).isEqualTo(NOT_EXECUTED);
+    }
+
+    @Test
+    public void should_limit_running_branches_to_max_concurrency() {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Step> branches = newArrayList(sleepingStep(running, maxRunning), sleepingStep(running, maxRunning), sleepingStep(running, maxRunning), sleepingStep(running, maxRunning));
+        Step rootStep = mock(Step.class);
+        when(rootStep.subSteps()).thenReturn(branches);
+        when(rootStep.isParentStep()).thenReturn(true);
+        when(rootStep.strategy()).thenReturn(Optional.of(new StepStrategyDefinition("parallel", new StrategyProperties().setProperty("maxConcurrency", 2))));
+        when(rootStep.status()).thenReturn(Status.SUCCESS);
+
+        StepExecutionStrategies strategies = mock(StepExecutionStrategies.class);
+        when(strategies.buildStrategyFrom(any())).thenReturn(DefaultStepExecutionStrategy.instance);
+
+        // When
+        Status actualStatus = sut.execute(null, rootStep, new ScenarioContextImpl(), strategies);
+
+        // Then
+        assertThat(actualStatus).isEqualTo(Status.SUCCESS);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_run_branches_of_successive_executions_on_shared_threads() {
+        // Given
+        Set<Thread> firstThreads = ConcurrentHashMap.newKeySet();
+        Set<Thread> secondThreads = ConcurrentHashMap.newKeySet();
+        StepExecutionStrategies strategies = mock(StepExecutionStrategies.class);
+        when(strategies.buildStrategyFrom(any())).thenReturn(DefaultStepExecutionStrategy.instance);
+
+        // When
+        sut.execute(null, parallelStep(threadRecordingStep(firstThreads), threadRecordingStep(firstThreads)), new ScenarioContextImpl(), strategies);
+        awaitDuring(100, MILLISECONDS);
+        sut.execute(null, parallelStep(threadRecordingStep(secondThreads), threadRecordingStep(secondThreads)), new ScenarioContextImpl(), strategies);
+
+        // Then
+        assertThat(firstThreads).hasSize(2).allMatch(thread -> thread.getName().startsWith("parallel-step-"));
+        assertThat(firstThreads).containsAll(secondThreads);
+    }
+
+    private static Step parallelStep(Step... branches) {
+        Step rootStep = mock(Step.class);
+        when(rootStep.subSteps()).thenReturn(List.of(branches));
+        when(rootStep.isParentStep()).thenReturn(true);
+        when(rootStep.strategy()).thenReturn(Optional.of(new StepStrategyDefinition("parallel", new StrategyProperties())));
+        when(rootStep.status()).thenReturn(Status.SUCCESS);
+        return rootStep;
+    }
+
+    private static Step threadRecordingStep(Set<Thread> threads) {
+        Step step = mock(Step.class);
+        when(step.dataEvaluator()).thenReturn(new StepDataEvaluator(null));
+        when(step.execute(any(), any(), any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            Thread.sleep(100);
+            return Status.SUCCESS;
+        });
+        return step;
+    }
+
+    private static Step sleepingStep(AtomicInteger running, AtomicInteger maxRunning) {
+        Step step = mock(Step.class);
+        when(step.dataEvaluator()).thenReturn(new StepDataEvaluator(null));
+        when(step.execute(any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+            return Status.SUCCESS;
+        });
+        return step;
+    }
+}
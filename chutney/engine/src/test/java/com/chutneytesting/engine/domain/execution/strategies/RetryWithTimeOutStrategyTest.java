@@ -28,6 +28,7 @@ import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +47,8 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
@@ -117,7 +120,7 @@ public class RetryWithTimeOutStrategyTest {
         long executionDuration = System.currentTimeMillis() - start;
         assertThat(executionDuration).isBetween(1000L, 2000L);
         verify(step, atMost(20)).execute(any(), any());
-        verify(step, atMost(19)).resetExecution();
+        verify(step, atMost(19)).resetExecution(any());
     }
 
     @Test
@@ -263,7 +266,7 @@ public class RetryWithTimeOutStrategyTest {
 
         strategyUnderTest.execute(createScenarioExecution(null), step, null, null);
 
-        verify(step, times(stepStatus.length - 1)).resetExecution();
+        verify(step, times(stepStatus.length - 1)).resetExecution(any());
     }
 
     @ParameterizedTest
@@ -287,6 +290,115 @@ public class RetryWithTimeOutStrategyTest {
                 ));
     }
 
+    @Test
+    public void step_fails_retry_until_max_attempts() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 ms").setProperty("maxAttempts", "3");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(Status.FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, null, null);
+
+        assertThat(stepExecutedStatus).isEqualTo(Status.FAILURE);
+        verify(step, times(3)).execute(any(), any(), any());
+        verify(step, times(2)).resetExecution(any());
+        verify(step).addInformation(and(contains("Try 3 : FAILURE in "), contains("max attempts reached")));
+    }
+
+    @Test
+    public void step_fails_retry_with_exponential_backoff() {
+        StrategyProperties strategyProperties = properties("10 sec", "50 ms")
+            .setProperty("backoffMultiplier", "2")
+            .setProperty("maxRetryDelay", "150 ms");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(Status.FAILURE, Status.FAILURE, Status.FAILURE, Status.SUCCESS);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        long start = System.currentTimeMillis();
+        strategyUnderTest.execute(createScenarioExecution(null), step, null, null);
+
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(300L);
+        verify(step).addInformation(and(contains("Try 1 : FAILURE in "), contains("waited 50 ms before next try")));
+        verify(step).addInformation(and(contains("Try 2 : FAILURE in "), contains("waited 100 ms before next try")));
+        verify(step).addInformation(and(contains("Try 3 : FAILURE in "), contains("waited 150 ms before next try")));
+        verify(step).addInformation(contains("Try 4 : SUCCESS in "));
+    }
+
+    @Test
+    public void step_stops_waiting_before_retry_when_stop_requested() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 sec");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(Status.FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        ScenarioExecution scenarioExecution = createScenarioExecution(null);
+        CompletableFuture.runAsync(() -> stopExecution(scenarioExecution), CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+        long start = System.currentTimeMillis();
+        Status stepExecutedStatus = strategyUnderTest.execute(scenarioExecution, step, null, null);
+
+        assertThat(stepExecutedStatus).isEqualTo(Status.STOPPED);
+        assertThat(System.currentTimeMillis() - start).isLessThan(2000L);
+        verify(step, times(1)).execute(any(), any(), any());
+    }
+
+    @Test
+    public void step_does_not_wait_beyond_timeout() {
+        StrategyProperties strategyProperties = properties("200 ms", "5 sec");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(Status.FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        long start = System.currentTimeMillis();
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, null, null);
+
+        assertThat(stepExecutedStatus).isEqualTo(Status.FAILURE);
+        assertThat(System.currentTimeMillis() - start).isBetween(200L, 2000L);
+        verify(step, times(1)).execute(any(), any(), any());
+        verify(step, never()).resetExecution(any());
+    }
+
+    @Test
+    public void step_does_not_wait_when_timeout_is_reached_by_try() {
+        StrategyProperties strategyProperties = properties("100 ms", "5 sec");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mock(Step.class);
+        when(step.execute(any(), any(), any())).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(150);
+            return Status.FAILURE;
+        });
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        long start = System.currentTimeMillis();
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, null, null);
+
+        assertThat(stepExecutedStatus).isEqualTo(Status.FAILURE);
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000L);
+        verify(step, times(1)).execute(any(), any(), any());
+        verify(step).addInformation(and(contains("Try 1 : FAILURE in "), contains("timeout reached")));
+    }
+
+    @Test
+    public void fails_because_of_invalid_backoff_parameters() {
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", properties("1 sec", "5 ms").setProperty("jitter", "2"));
+        Step step = mockStep(Status.FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+
+        assertThatThrownBy(() -> strategyUnderTest.execute(createScenarioExecution(null), step, null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("jitter");
+    }
+
+    @Test
+    public void fails_because_of_invalid_max_attempts() {
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", properties("1 sec", "5 ms").setProperty("maxAttempts", "0"));
+        Step step = mockStep(Status.FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+
+        assertThatThrownBy(() -> strategyUnderTest.execute(createScenarioExecution(null), step, null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Parameter 'maxAttempts' must be positive: 0");
+    }
+
     private StepExecutionStrategy mockStrategy(Status... expectedStatus) {
         StepExecutionStrategy strategyMock = mock(StepExecutionStrategy.class);
         OngoingStubbing<Status> stub = when(strategyMock.execute(any(), any(), any(), any(), any()));
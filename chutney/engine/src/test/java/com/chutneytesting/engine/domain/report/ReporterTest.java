@@ -16,6 +16,7 @@
 
 package com.chutneytesting.engine.domain.report;
 
+import static com.chutneytesting.engine.domain.execution.report.Status.NOT_EXECUTED;
 import static com.chutneytesting.engine.domain.execution.report.Status.PAUSED;
 import static com.chutneytesting.engine.domain.execution.report.Status.RUNNING;
 import static com.chutneytesting.engine.domain.execution.report.Status.SUCCESS;
@@ -38,6 +39,7 @@ import com.chutneytesting.engine.domain.execution.event.EndScenarioExecutionEven
 import com.chutneytesting.engine.domain.execution.event.StartScenarioExecutionEvent;
 import com.chutneytesting.engine.domain.execution.report.Status;
 import com.chutneytesting.engine.domain.execution.report.StepExecutionReport;
+import com.chutneytesting.engine.domain.execution.report.StepExecutionReportDelta;
 import io.reactivex.rxjava3.observers.TestObserver;
 import java.util.ArrayList;
 import java.util.List;
@@ -191,6 +193,87 @@ public class ReporterTest {
         assertThat(step.status()).isEqualTo(SUCCESS);
     }
 
+    @Test
+    public void should_rebuild_only_changed_steps_reports() {
+        Step subStep1 = step.subSteps().get(0);
+        Step subStep11 = subStep1.subSteps().get(0);
+        Step subStep12 = subStep1.subSteps().get(1);
+
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> observer = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        RxBus.getInstance().post(new StartScenarioExecutionEvent(scenarioExecution, step));
+        subStep11.beginExecution(scenarioExecution);
+        subStep12.beginExecution(scenarioExecution);
+
+        observer.awaitCount(3);
+        List<StepExecutionReport> reports = observer.values();
+        assertThat(reports.get(2).steps.get(1)).isSameAs(reports.get(1).steps.get(1));
+        assertThat(reports.get(2).steps.get(0).steps.get(0)).isSameAs(reports.get(1).steps.get(0).steps.get(0));
+        assertThat(reports.get(2).steps.get(0).steps.get(1)).isNotSameAs(reports.get(1).steps.get(0).steps.get(1));
+        assertThat(reports.get(2).steps.get(0).steps.get(1).status).isEqualTo(RUNNING);
+    }
+
+    @Test
+    public void should_rebuild_sub_steps_reports_of_retried_step() {
+        Step subStep1 = step.subSteps().get(0);
+        Step subStep11 = subStep1.subSteps().get(0);
+
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> observer = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        RxBus.getInstance().post(new StartScenarioExecutionEvent(scenarioExecution, step));
+        subStep11.beginExecution(scenarioExecution);
+        subStep11.failure("first try failed");
+        subStep11.endExecution(scenarioExecution);
+        subStep1.resetExecution(scenarioExecution);
+
+        observer.awaitCount(4);
+        StepExecutionReport retriedSubStep11 = observer.values().get(3).steps.get(0).steps.get(0);
+        assertThat(retriedSubStep11.status).isEqualTo(NOT_EXECUTED);
+        assertThat(retriedSubStep11.errors).isEmpty();
+    }
+
+    @Test
+    public void should_publish_report_deltas_which_rebuild_published_reports() {
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> reportsObserver = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        TestObserver<StepExecutionReportDelta> deltasObserver = sut.subscribeOnExecutionDeltas(scenarioExecution.executionId).test();
+
+        executeFakeScenarioSuccess();
+
+        reportsObserver.awaitDone(5, SECONDS);
+        deltasObserver.awaitDone(5, SECONDS);
+        List<StepExecutionReport> reports = reportsObserver.values();
+        List<StepExecutionReportDelta> deltas = deltasObserver.values();
+        assertThat(deltas).hasSameSizeAs(reports);
+        assertThat(deltas.get(0).isSnapshot()).isTrue();
+        assertThat(deltas.get(2).path()).containsExactly(0);
+        assertThat(deltas.get(3).path()).containsExactly(0, 0);
+
+        StepExecutionReport current = null;
+        for (int i = 0; i < deltas.size(); i++) {
+            assertThat(deltas.get(i).version()).isEqualTo(i + 1);
+            current = deltas.get(i).applyTo(current);
+            assertThat(current).usingRecursiveComparison().isEqualTo(reports.get(i));
+        }
+    }
+
+    @Test
+    public void should_start_deltas_with_last_snapshot_for_late_subscription() {
+        Step subStep1 = step.subSteps().get(0);
+        sut.createPublisher(scenarioExecution.executionId, step);
+        RxBus.getInstance().post(new StartScenarioExecutionEvent(scenarioExecution, step));
+        step.beginExecution(scenarioExecution);
+
+        TestObserver<StepExecutionReportDelta> deltasObserver = sut.subscribeOnExecutionDeltas(scenarioExecution.executionId).test();
+        subStep1.beginExecution(scenarioExecution);
+
+        deltasObserver.awaitCount(2);
+        assertThat(deltasObserver.values().get(0).isSnapshot()).isTrue();
+        assertThat(deltasObserver.values().get(0).version()).isEqualTo(2);
+        assertThat(deltasObserver.values().get(1).path()).containsExactly(0);
+        assertThat(deltasObserver.values().get(1).step().status).isEqualTo(RUNNING);
+    }
+
     private Step buildFakeScenario() {
         List<StepDefinition> subSubSteps = new ArrayList<>();
         StepDefinition subSubStepDef1 = new StepDefinition("fakeStep1", fakeTarget, "actionType", null, null, null, null, null);
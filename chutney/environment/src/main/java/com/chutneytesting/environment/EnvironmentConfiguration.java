@@ -24,12 +24,13 @@ import com.chutneytesting.environment.domain.EnvironmentRepository;
 import com.chutneytesting.environment.domain.EnvironmentService;
 import com.chutneytesting.environment.infra.JsonFilesEnvironmentRepository;
 import com.chutneytesting.server.core.domain.environment.UpdateEnvironmentHandler;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.List;
 
 public class EnvironmentConfiguration {
 
     public static final String DEFAULT_ENV_NAME = "DEFAULT";
-    private final EnvironmentRepository environmentRepository;
+    private final JsonFilesEnvironmentRepository environmentRepository;
     private final EmbeddedEnvironmentApi environmentApi;
     private final EmbeddedTargetApi targetApi;
     private final EmbeddedVariableApi variableApi;
@@ -54,7 +55,7 @@ public class EnvironmentConfiguration {
         }
     }
 
-    private EnvironmentRepository createEnvironmentRepository(String storeFolderPath) {
+    private JsonFilesEnvironmentRepository createEnvironmentRepository(String storeFolderPath) {
         return new JsonFilesEnvironmentRepository(storeFolderPath);
     }
 
@@ -73,4 +74,8 @@ public class EnvironmentConfiguration {
     public EmbeddedVariableApi getEmbeddedVariableApi() {
         return variableApi;
     }
+
+    public MeterBinder getEnvironmentCacheMetrics() {
+        return environmentRepository;
+    }
 }
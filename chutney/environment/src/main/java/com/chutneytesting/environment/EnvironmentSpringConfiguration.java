@@ -20,6 +20,7 @@ import com.chutneytesting.environment.api.environment.EmbeddedEnvironmentApi;
 import com.chutneytesting.environment.api.target.EmbeddedTargetApi;
 import com.chutneytesting.environment.api.variable.EnvironmentVariableApi;
 import com.chutneytesting.server.core.domain.environment.UpdateEnvironmentHandler;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -49,4 +50,9 @@ public class EnvironmentSpringConfiguration {
     EnvironmentVariableApi variableEmbeddedApplication(EnvironmentConfiguration environmentConfiguration) {
         return environmentConfiguration.getEmbeddedVariableApi();
     }
+
+    @Bean
+    MeterBinder environmentCacheMetrics(EnvironmentConfiguration environmentConfiguration) {
+        return environmentConfiguration.getEnvironmentCacheMetrics();
+    }
 }
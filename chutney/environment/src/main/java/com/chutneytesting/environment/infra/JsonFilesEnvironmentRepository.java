@@ -32,22 +32,42 @@ import com.chutneytesting.tools.file.FileUtils;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
-public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
+/**
+ * Store environments as json files.<br>
+ * Parsed environments are kept in memory and reloaded when their file modification time or size changes,
+ * so files edited outside the server are taken into account on next read.
+ */
+public class JsonFilesEnvironmentRepository implements EnvironmentRepository, MeterBinder {
 
     private static final String JSON_FILE_EXT = ".json";
+    private static final String TMP_FILE_EXT = ".tmp";
 
     private final Path storeFolderPath;
+    private final Map<String, CachedEnvironment> cache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
     private final ObjectMapper objectMapper = new ObjectMapper()
         .findAndRegisterModules()
         .enable(SerializationFeature.INDENT_OUTPUT)
@@ -66,13 +86,25 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
     @Override
     public Environment findByName(String name) throws EnvironmentNotFoundException {
         Path environmentPath = getEnvironmentPath(name);
-        if (!Files.exists(environmentPath)) {
+        BasicFileAttributes attributes = readAttributes(environmentPath);
+        if (attributes == null) {
+            cache.remove(name);
             throw new EnvironmentNotFoundException("Configuration file not found: " + environmentPath);
         }
+
+        CachedEnvironment cached = cache.get(name);
+        if (cached != null && cached.isUpToDate(attributes)) {
+            cacheHits.increment();
+            return cached.environment();
+        }
+        cacheMisses.increment();
+
         try {
             byte[] bytes = Files.readAllBytes(environmentPath);
             try {
-                return objectMapper.readValue(bytes, JsonEnvironment.class).toEnvironment();
+                Environment environment = objectMapper.readValue(bytes, JsonEnvironment.class).toEnvironment();
+                cache.put(name, new CachedEnvironment(attributes, environment));
+                return environment;
             } catch (IOException e) {
                 throw new UnsupportedOperationException("Cannot deserialize configuration file: " + environmentPath, e);
             }
@@ -81,6 +113,29 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
         }
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("chutney.environment.cache.requests", cacheHits, LongAdder::sum)
+            .description("Environment reads served from memory or from file")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("chutney.environment.cache.requests", cacheMisses, LongAdder::sum)
+            .description("Environment reads served from memory or from file")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("chutney.environment.cache.size", cache, Map::size)
+            .description("Number of environments kept in memory")
+            .register(registry);
+    }
+
+    long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
     @Override
     public List<String> listNames() throws UnsupportedOperationException {
         return FileUtils.doOnListFiles(storeFolderPath, (pathStream) ->
@@ -105,6 +160,7 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
         try {
             Path backupPath = Paths.get(environmentPath.toString() + UUID.randomUUID().getMostSignificantBits() + ".backup");
             Files.move(environmentPath, backupPath);
+            cache.remove(name);
         } catch (IOException e) {
             throw new CannotDeleteEnvironmentException("Cannot delete configuration file: " + environmentPath, e);
         }
@@ -115,9 +171,14 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
         checkTargetNameUnicity(environment.targets);
         checkVariableNameUnicity(environment.variables);
         try {
-            byte[] bytes = objectMapper.writeValueAsBytes(JsonEnvironment.from(environment));
+            JsonEnvironment jsonEnvironment = JsonEnvironment.from(environment);
+            byte[] bytes = objectMapper.writeValueAsBytes(jsonEnvironment);
             try {
-                Files.write(environmentPath, bytes);
+                write(environmentPath, bytes);
+                BasicFileAttributes attributes = readAttributes(environmentPath);
+                if (attributes != null) {
+                    cache.put(environment.name, new CachedEnvironment(attributes, jsonEnvironment.toEnvironment()));
+                }
             } catch (IOException e) {
                 throw new UnsupportedOperationException("Cannot write in configuration directory: " + storeFolderPath, e);
             }
@@ -126,6 +187,29 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
         }
     }
 
+    /**
+     * Write in a temporary file moved afterward, so readers never see a partially written file.
+     */
+    private void write(Path environmentPath, byte[] bytes) throws IOException {
+        Path tmpPath = environmentPath.resolveSibling(environmentPath.getFileName() + TMP_FILE_EXT);
+        Files.write(tmpPath, bytes);
+        try {
+            Files.move(tmpPath, environmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpPath, environmentPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UnsupportedOperationException("Cannot read configuration file: " + path, e);
+        }
+    }
+
     private void checkTargetNameUnicity(Set<Target> targets) {
         Set<String> notUniqueTargets = targets
             .stream()
@@ -157,4 +241,15 @@ public class JsonFilesEnvironmentRepository implements EnvironmentRepository {
     public Path getEnvironmentPath(String name) {
         return storeFolderPath.resolve(name + JSON_FILE_EXT);
     }
+
+    private record CachedEnvironment(FileTime lastModifiedTime, long size, Environment environment) {
+
+        CachedEnvironment(BasicFileAttributes attributes, Environment environment) {
+            this(attributes.lastModifiedTime(), attributes.size(), environment);
+        }
+
+        boolean isUpToDate(BasicFileAttributes attributes) {
+            return lastModifiedTime.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
 }
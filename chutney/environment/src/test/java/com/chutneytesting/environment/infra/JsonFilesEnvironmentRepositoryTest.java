@@ -27,10 +27,12 @@ import com.chutneytesting.environment.domain.exception.EnvironmentNotFoundExcept
 import com.chutneytesting.environment.domain.exception.TargetAlreadyExistsException;
 import com.chutneytesting.environment.domain.exception.VariableAlreadyExistingException;
 import com.chutneytesting.tools.ThrowingConsumer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -173,4 +175,57 @@ public class JsonFilesEnvironmentRepositoryTest {
         assertThatThrownBy(() -> sut.findByName("MISSING_ENV"))
             .isInstanceOf(EnvironmentNotFoundException.class);
     }
+
+    @Test
+    void should_read_environment_file_once_while_not_modified() {
+        JsonFilesEnvironmentRepository repository = new JsonFilesEnvironmentRepository(CONFIGURATION_FOLDER.toString());
+        repository.save(Environment.builder().withName("TEST").withDescription("some description").build());
+
+        Environment first = repository.findByName("TEST");
+        Environment second = repository.findByName("TEST");
+
+        assertThat(second).isSameAs(first);
+        assertThat(repository.cacheHits()).isEqualTo(2);
+        assertThat(repository.cacheMisses()).isZero();
+    }
+
+    @Test
+    void should_reload_environment_file_modified_outside() throws IOException {
+        JsonFilesEnvironmentRepository repository = new JsonFilesEnvironmentRepository(CONFIGURATION_FOLDER.toString());
+        repository.save(Environment.builder().withName("TEST").withDescription("some description").build());
+        assertThat(repository.findByName("TEST").description).isEqualTo("some description");
+
+        Path environmentPath = repository.getEnvironmentPath("TEST");
+        Files.writeString(environmentPath, "{\"name\":\"TEST\",\"description\":\"modified outside\"}");
+        Files.setLastModifiedTime(environmentPath, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+
+        assertThat(repository.findByName("TEST").description).isEqualTo("modified outside");
+        assertThat(repository.cacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_find_environment_deleted_outside() throws IOException {
+        JsonFilesEnvironmentRepository repository = new JsonFilesEnvironmentRepository(CONFIGURATION_FOLDER.toString());
+        repository.save(Environment.builder().withName("TEST").withDescription("some description").build());
+        repository.findByName("TEST");
+
+        Files.delete(repository.getEnvironmentPath("TEST"));
+
+        assertThatThrownBy(() -> repository.findByName("TEST"))
+            .isInstanceOf(EnvironmentNotFoundException.class);
+    }
+
+    @Test
+    void should_expose_cache_metrics() {
+        JsonFilesEnvironmentRepository repository = new JsonFilesEnvironmentRepository(CONFIGURATION_FOLDER.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        repository.bindTo(meterRegistry);
+        repository.save(Environment.builder().withName("TEST").build());
+
+        repository.findByName("TEST");
+
+        assertThat(meterRegistry.get("chutney.environment.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney.environment.cache.requests").tag("result", "miss").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("chutney.environment.cache.size").gauge().value()).isEqualTo(1);
+    }
 }
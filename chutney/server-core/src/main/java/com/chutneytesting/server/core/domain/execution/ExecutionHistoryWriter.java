@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.server.core.domain.execution;
+
+import static io.reactivex.rxjava3.schedulers.Schedulers.io;
+
+import com.chutneytesting.server.core.domain.execution.history.ExecutionHistory;
+import com.chutneytesting.server.core.domain.execution.history.ExecutionHistoryRepository;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind stage for running executions history.<br>
+ * Intermediate states are coalesced by execution id, only the last one is summarized and stored when pending executions
+ * are flushed together at a fixed interval.
+ * Final states are written synchronously, discarding any pending intermediate state.<br>
+ * A crash loses at most one interval of intermediate states: executions are stored as RUNNING before being followed,
+ * so they are set to KO by {@link ExecutionHistoryRepository#setAllRunningExecutionsToKO()} on next startup.
+ * <p>
+ * With a flush interval lower or equal to zero, every state is written synchronously.
+ */
+class ExecutionHistoryWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionHistoryWriter.class);
+
+    private final ExecutionHistoryRepository executionHistoryRepository;
+    private final long flushIntervalMilliSeconds;
+    private final Map<Long, Supplier<ExecutionHistory.Execution>> pendingExecutions = new ConcurrentHashMap<>();
+    // Not a monitor, since history is written to the database while holding it, possibly from virtual threads
+    private final Lock writeLock = new ReentrantLock();
+    private volatile Disposable flushTask;
+    private volatile boolean shutdown = false;
+
+    ExecutionHistoryWriter(ExecutionHistoryRepository executionHistoryRepository, long flushIntervalMilliSeconds) {
+        this.executionHistoryRepository = executionHistoryRepository;
+        this.flushIntervalMilliSeconds = flushIntervalMilliSeconds;
+    }
+
+    /**
+     * Keep the given state to be written on next flush, replacing any pending state of the same execution.
+     */
+    void writeLater(long executionId, Supplier<ExecutionHistory.Execution> execution) {
+        if (flushIntervalMilliSeconds <= 0 || shutdown) {
+            write(executionId, execution);
+            return;
+        }
+        startFlushTask();
+        pendingExecutions.put(executionId, execution);
+    }
+
+    /**
+     * Write the given state now, discarding any pending state of the same execution.
+     */
+    void write(long executionId, Supplier<ExecutionHistory.Execution> execution) {
+        writeLock.lock();
+        try {
+            pendingExecutions.remove(executionId);
+            ExecutionHistory.Execution updatedExecution = execution.get();
+            executionHistoryRepository.update(updatedExecution.scenarioId(), updatedExecution);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Write the pending state of the given execution now, if any.
+     */
+    void flush(long executionId) {
+        writeLock.lock();
+        try {
+            Supplier<ExecutionHistory.Execution> execution = pendingExecutions.remove(executionId);
+            if (execution != null) {
+                ExecutionHistory.Execution updatedExecution = execution.get();
+                executionHistoryRepository.update(updatedExecution.scenarioId(), updatedExecution);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Write all pending states in one batch.<br>
+     * States are kept pending until written, so that they are written by a later flush when the batch fails,
+     * unless replaced by a newer state meanwhile.
+     */
+    void flush() {
+        writeLock.lock();
+        try {
+            if (pendingExecutions.isEmpty()) {
+                return;
+            }
+            List<ExecutionHistory.Execution> updatedExecutions = new ArrayList<>(pendingExecutions.size());
+            Map<Long, Supplier<ExecutionHistory.Execution>> flushedExecutions = Map.copyOf(pendingExecutions);
+            flushedExecutions.forEach((executionId, execution) -> {
+                try {
+                    updatedExecutions.add(execution.get());
+                } catch (Exception e) {
+                    LOGGER.error("Summarize history for execution {} failed", executionId, e);
+                    pendingExecutions.remove(executionId, execution);
+                }
+            });
+            LOGGER.trace("Flush history for {} executions", updatedExecutions.size());
+            executionHistoryRepository.update(updatedExecutions);
+            flushedExecutions.forEach(pendingExecutions::remove);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int pendingCount() {
+        return pendingExecutions.size();
+    }
+
+    /**
+     * Stop the periodic flush and write all pending states.
+     */
+    void shutdown() {
+        shutdown = true;
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.dispose();
+            }
+        }
+        flush();
+    }
+
+    private void startFlushTask() {
+        if (flushTask == null) {
+            synchronized (this) {
+                if (flushTask == null) {
+                    flushTask = Observable.interval(flushIntervalMilliSeconds, TimeUnit.MILLISECONDS, io())
+                        .subscribe(tick -> safeFlush(), throwable -> LOGGER.error("History flush task failed", throwable));
+                }
+            }
+        }
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOGGER.error("Flush history failed", e);
+        }
+    }
+}
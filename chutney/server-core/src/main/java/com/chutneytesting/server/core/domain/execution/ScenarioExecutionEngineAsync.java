@@ -45,6 +45,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -55,6 +56,7 @@ public class ScenarioExecutionEngineAsync {
     private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioExecutionEngineAsync.class);
     private static final long DEFAULT_RETENTION_DELAY_SECONDS = 5;
     private static final long DEFAULT_DEBOUNCE_MILLISECONDS = 100;
+    private static final long DEFAULT_HISTORY_FLUSH_MILLISECONDS = 0;
 
     private final ObjectMapper reportObjectMapper;
 
@@ -63,6 +65,7 @@ public class ScenarioExecutionEngineAsync {
     private final ExecutionStateRepository executionStateRepository;
     private final ChutneyMetrics metrics;
     private final TestCasePreProcessors testCasePreProcessors;
+    private final ExecutionHistoryWriter executionHistoryWriter;
 
     private final Map<Long, Pair<Observable<ScenarioExecutionReport>, Long>> scenarioExecutions = new ConcurrentHashMap<>();
     private long retentionDelaySeconds;
@@ -85,6 +88,22 @@ public class ScenarioExecutionEngineAsync {
                                         ObjectMapper reportObjectMapper,
                                         long retentionDelaySeconds,
                                         long debounceMilliSeconds) {
+        this(executionHistoryRepository, executionEngine, executionStateRepository, metrics, testCasePreProcessors, reportObjectMapper, retentionDelaySeconds, debounceMilliSeconds, DEFAULT_HISTORY_FLUSH_MILLISECONDS);
+    }
+
+    /**
+     * @param historyFlushMilliSeconds interval between two batch writes of running executions history.
+     *                                 Running executions history is written on each report when lower or equal to zero.
+     */
+    public ScenarioExecutionEngineAsync(ExecutionHistoryRepository executionHistoryRepository,
+                                        ServerTestEngine executionEngine,
+                                        ExecutionStateRepository executionStateRepository,
+                                        ChutneyMetrics metrics,
+                                        TestCasePreProcessors testCasePreProcessors,
+                                        ObjectMapper reportObjectMapper,
+                                        long retentionDelaySeconds,
+                                        long debounceMilliSeconds,
+                                        long historyFlushMilliSeconds) {
         this.executionHistoryRepository = executionHistoryRepository;
         this.executionEngine = executionEngine;
         this.executionStateRepository = executionStateRepository;
@@ -93,6 +112,7 @@ public class ScenarioExecutionEngineAsync {
         this.reportObjectMapper = reportObjectMapper;
         this.retentionDelaySeconds = retentionDelaySeconds;
         this.debounceMilliSeconds = debounceMilliSeconds;
+        this.executionHistoryWriter = new ExecutionHistoryWriter(executionHistoryRepository, historyFlushMilliSeconds);
     }
 
     /**
@@ -179,6 +199,7 @@ public class ScenarioExecutionEngineAsync {
 
             .doOnNext(report -> updateHistory(executionId, executionRequest, report))
 
+            .doOnTerminate(() -> flushHistory(executionId))
             .doOnTerminate(() -> notifyExecutionEnd(executionId, executionRequest.testCase))
             .doOnTerminate(() -> sendMetrics(executionId, executionRequest.testCase))
             .doOnTerminate(() -> cleanExecutionId(executionId))
@@ -237,6 +258,13 @@ public class ScenarioExecutionEngineAsync {
         this.debounceMilliSeconds = debounceMilliSeconds;
     }
 
+    /**
+     * Write pending running executions history and stop deferring it.
+     */
+    public void shutdown() {
+        executionHistoryWriter.shutdown();
+    }
+
     public ExecutionHistory.Execution saveNotExecutedScenarioExecution(ExecutionRequest executionRequest) {
         ExecutionHistory.DetachedExecution detachedExecution = ImmutableExecutionHistory.DetachedExecution.builder()
             .time(LocalDateTime.now())
@@ -345,12 +373,30 @@ public class ScenarioExecutionEngineAsync {
     private void updateHistory(long executionId, ExecutionRequest executionRequest, ScenarioExecutionReport report) {
         LOGGER.trace("Update history for execution {}", executionId);
         try {
-            executionHistoryRepository.update(executionRequest.testCase.id(), summarize(report, executionRequest).attach(executionId, executionRequest.testCase.id()));
+            Supplier<ExecutionHistory.Execution> execution = () -> summarize(report, executionRequest).attach(executionId, executionRequest.testCase.id());
+            if (isRunning(report.report.status)) {
+                executionHistoryWriter.writeLater(executionId, execution);
+            } else {
+                executionHistoryWriter.write(executionId, execution);
+            }
         } catch (Exception e) {
             LOGGER.error("Update history for execution {} failed", executionId, e);
         }
     }
 
+    private void flushHistory(long executionId) {
+        LOGGER.trace("Flush history for execution {}", executionId);
+        try {
+            executionHistoryWriter.flush(executionId);
+        } catch (Exception e) {
+            LOGGER.error("Flush history for execution {} failed", executionId, e);
+        }
+    }
+
+    private static boolean isRunning(ServerReportStatus status) {
+        return status == ServerReportStatus.RUNNING || status == ServerReportStatus.PAUSED;
+    }
+
     private void notifyExecutionEnd(long executionId, TestCase testCase) {
         LOGGER.trace("Notify end for execution {}", executionId);
         executionStateRepository.notifyExecutionEnd(testCase.id());
@@ -63,6 +63,12 @@ public interface ExecutionHistoryRepository {
      */
     void update(String scenarioId, ExecutionHistory.Execution updatedExecution);
 
+    /**
+     * Override several previously stored {@link ExecutionHistory.Execution} at once.<br>
+     * Executions which are not stored anymore are ignored.
+     */
+    void update(List<ExecutionHistory.Execution> updatedExecutions);
+
     int setAllRunningExecutionsToKO();
 
     List<ExecutionSummary> getExecutionsWithStatus(ServerReportStatus status);
@@ -25,6 +25,8 @@ import java.util.function.Function;
 
 public interface TestCasePreProcessor<T extends TestCase> {
 
+    String PARAM_DELIMITER = "**";
+
     T apply(ExecutionRequest executionRequest);
 
     default boolean test(T testCase) {
@@ -32,14 +34,37 @@ public interface TestCasePreProcessor<T extends TestCase> {
         return ((Class<?>) type).isAssignableFrom(testCase.getClass());
     }
 
+    /**
+     * Replace <i>**key**</i> placeholders by their escaped data set value, in one pass over given string.<br>
+     * Placeholders whose key is not in the data set are left as is, and replaced values are not scanned again.
+     */
     default String replaceParams(Map<String, String> dataSet, String concreteString, Function<String, String> escapeValueFunction) {
-        String stringReplaced = concreteString;
-        for (Map.Entry<String, String> entry : dataSet.entrySet()) {
-            String stringToReplace = "**" + entry.getKey() + "**";
-            if (stringReplaced.contains(stringToReplace)) {
-                stringReplaced = stringReplaced.replace(stringToReplace, escapeValueFunction.apply(entry.getValue()));
+        int start = concreteString.indexOf(PARAM_DELIMITER);
+        if (start < 0 || dataSet.isEmpty()) {
+            return concreteString;
+        }
+        StringBuilder stringReplaced = null;
+        int copiedUntil = 0;
+        while (start >= 0) {
+            int end = concreteString.indexOf(PARAM_DELIMITER, start + PARAM_DELIMITER.length());
+            if (end < 0) {
+                break;
+            }
+            String value = dataSet.get(concreteString.substring(start + PARAM_DELIMITER.length(), end));
+            if (value == null) {
+                start = concreteString.indexOf(PARAM_DELIMITER, start + 1);
+                continue;
             }
+            if (stringReplaced == null) {
+                stringReplaced = new StringBuilder(concreteString.length());
+            }
+            stringReplaced.append(concreteString, copiedUntil, start).append(escapeValueFunction.apply(value));
+            copiedUntil = end + PARAM_DELIMITER.length();
+            start = concreteString.indexOf(PARAM_DELIMITER, copiedUntil);
+        }
+        if (stringReplaced == null) {
+            return concreteString;
         }
-        return stringReplaced;
+        return stringReplaced.append(concreteString, copiedUntil, concreteString.length()).toString();
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.server.core.domain.execution;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.chutneytesting.server.core.domain.execution.history.ExecutionHistory;
+import com.chutneytesting.server.core.domain.execution.history.ExecutionHistoryRepository;
+import com.chutneytesting.server.core.domain.execution.history.ImmutableExecutionHistory;
+import com.chutneytesting.server.core.domain.execution.report.ServerReportStatus;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ExecutionHistoryWriterTest {
+
+    private final ExecutionHistoryRepository executionHistoryRepository = mock(ExecutionHistoryRepository.class);
+
+    @AfterEach
+    public void after() {
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_coalesce_pending_states_and_flush_them_in_one_batch() {
+        TestScheduler scheduler = new TestScheduler();
+        RxJavaPlugins.setIoSchedulerHandler(s -> scheduler);
+        ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 1000);
+        AtomicInteger summarizeCount = new AtomicInteger();
+
+        sut.writeLater(1L, () -> { summarizeCount.incrementAndGet(); return execution(1L, 10L); });
+        sut.writeLater(1L, () -> { summarizeCount.incrementAndGet(); return execution(1L, 20L); });
+        sut.writeLater(2L, () -> { summarizeCount.incrementAndGet(); return execution(2L, 30L); });
+        assertThat(sut.pendingCount()).isEqualTo(2);
+        verify(executionHistoryRepository, never()).update(anyList());
+
+        scheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+
+        ArgumentCaptor<List<ExecutionHistory.Execution>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(executionHistoryRepository).update(batchCaptor.capture());
+        assertThat(batchCaptor.getValue())
+            .extracting(ExecutionHistory.Execution::executionId, ExecutionHistory.Execution::duration)
+            .containsExactlyInAnyOrder(
+                tuple(1L, 20L),
+                tuple(2L, 30L)
+            );
+        assertThat(summarizeCount.get()).isEqualTo(2);
+        assertThat(sut.pendingCount()).isZero();
+        verify(executionHistoryRepository, never()).update(any(String.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_keep_pending_states_when_batch_write_fails() {
+        ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 1000);
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(executionHistoryRepository).update(anyList());
+
+        sut.writeLater(1L, () -> execution(1L, 10L));
+        sut.writeLater(2L, () -> execution(2L, 20L));
+        assertThatThrownBy(sut::flush).hasMessage("database unavailable");
+        assertThat(sut.pendingCount()).isEqualTo(2);
+
+        sut.writeLater(2L, () -> execution(2L, 30L));
+        sut.flush();
+
+        ArgumentCaptor<List<ExecutionHistory.Execution>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(executionHistoryRepository, times(2)).update(batchCaptor.capture());
+        assertThat(batchCaptor.getValue())
+            .extracting(ExecutionHistory.Execution::executionId, ExecutionHistory.Execution::duration)
+            .containsExactlyInAnyOrder(
+                tuple(1L, 10L),
+                tuple(2L, 30L)
+            );
+        assertThat(sut.pendingCount()).isZero();
+    }
+
+    @Test
+    public void should_write_final_state_synchronously_and_discard_pending_one() {
+        TestScheduler scheduler = new TestScheduler();
+        RxJavaPlugins.setIoSchedulerHandler(s -> scheduler);
+        ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 1000);
+
+        sut.writeLater(1L, () -> execution(1L, 10L));
+        sut.write(1L, () -> execution(1L, 20L));
+        scheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+
+        ArgumentCaptor<ExecutionHistory.Execution> executionCaptor = ArgumentCaptor.forClass(ExecutionHistory.Execution.class);
+        verify(executionHistoryRepository).update(any(String.class), executionCaptor.capture());
+        assertThat(executionCaptor.getValue().duration()).isEqualTo(20L);
+        verify(executionHistoryRepository, never()).update(anyList());
+    }
+
+    @Test
+    public void should_write_pending_states_on_shutdown() {
+        ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 60_000);
+        sut.writeLater(1L, () -> execution(1L, 10L));
+
+        sut.shutdown();
+        sut.writeLater(2L, () -> execution(2L, 20L));
+
+        verify(executionHistoryRepository).update(anyList());
+        verify(executionHistoryRepository).update(any(String.class), any());
+        assertThat(sut.pendingCount()).isZero();
+    }
+
+    @Test
+    public void should_write_every_state_without_flush_interval() {
+        ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 0);
+
+        sut.writeLater(1L, () -> execution(1L, 10L));
+
+        verify(executionHistoryRepository).update(any(String.class), any());
+        assertThat(sut.pendingCount()).isZero();
+    }
+
+    private ExecutionHistory.Execution execution(long executionId, long duration) {
+        return ImmutableExecutionHistory.Execution.builder()
+            .executionId(executionId)
+            .time(now())
+            .duration(duration)
+            .status(ServerReportStatus.RUNNING)
+            .report("")
+            .testCaseTitle("title")
+            .environment("env")
+            .user("user")
+            .scenarioId("scenario")
+            .build();
+    }
+}
@@ -20,9 +20,11 @@ package com.chutneytesting.server.core.domain.execution;
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -188,6 +190,47 @@ public class ScenarioExecutionEngineAsyncTest {
         testObserver.dispose();
     }
 
+    @Test
+    public void should_defer_running_reports_history_and_write_final_one_when_history_flush_is_configured() {
+        // Given
+        final TestCase testCase = emptyTestCase();
+        final String scenarioId = testCase.id();
+        final Long executionId = 6L;
+
+        stubHistoryExecution(scenarioId, executionId);
+        final Triple<Pair<Observable<StepExecutionReportCore>, Long>, List<StepExecutionReportCore>, TestScheduler> engineStub = stubEngineExecution(100);
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> engineStub.getRight());
+
+        final ScenarioExecutionEngineAsync sut = new ScenarioExecutionEngineAsync(
+            executionHistoryRepository,
+            executionEngine,
+            executionStateRepository,
+            metrics,
+            testCasePreProcessors,
+            om,
+            0,
+            0,
+            1000
+        );
+
+        // When
+        TestObserver<ScenarioExecutionReport> testObserver = sut.buildScenarioExecutionReportObservable(new ExecutionRequest(emptyTestCase(), "", ""), executionId, engineStub.getLeft()).test();
+
+        // Then
+        engineStub.getRight().advanceTimeBy(300, TimeUnit.MILLISECONDS); // Reach first and both running emissions
+        verify(executionHistoryRepository, times(1)).update(eq(scenarioId), any());
+
+        engineStub.getRight().advanceTimeBy(100, TimeUnit.MILLISECONDS); // Reach last emission
+        assertTestObserverStateAndValues(testObserver, true, executionId, engineStub.getMiddle(), 4, null);
+        ArgumentCaptor<ExecutionHistory.Execution> executionCaptor = ArgumentCaptor.forClass(ExecutionHistory.Execution.class);
+        verify(executionHistoryRepository, times(2)).update(eq(scenarioId), executionCaptor.capture());
+        assertThat(executionCaptor.getValue().status()).isEqualTo(ServerReportStatus.SUCCESS);
+        verify(executionHistoryRepository, never()).update(anyList());
+        verify(metrics).onScenarioExecutionEnded(any(), any());
+
+        testObserver.dispose();
+    }
+
     @Test
     public void should_observe_reports_when_follow_execution() {
         // Given
@@ -44,4 +44,31 @@ public class TestCasePreProcessorTest {
         String resultMultiLine = mock.replaceParams(dataset, "to be replaced: **" + datasetKeyToBeReplace + "**", input -> escapeJson((String) input));
         assertThat(resultMultiLine).isEqualTo("to be replaced: " + escapeJson(dataset.get(datasetKeyToBeReplace)));
     }
+
+    @Test
+    public void should_replace_all_known_placeholders_in_one_pass() {
+        TestCasePreProcessor mock = mock(TestCasePreProcessor.class);
+        when(mock.replaceParams(any(Map.class), any(String.class), any(Function.class))).thenCallRealMethod();
+
+        Map<String, String> dataset = Map.of(
+            "a", "A",
+            "b", "**a**",
+            "key.1", "value1"
+        );
+
+        String result = mock.replaceParams(dataset, "**a****b** **unknown** ***key.1** **a", Function.identity());
+
+        assertThat(result).isEqualTo("A**a** **unknown** *value1 **a");
+    }
+
+    @Test
+    public void should_return_same_string_when_no_placeholder_is_known() {
+        TestCasePreProcessor mock = mock(TestCasePreProcessor.class);
+        when(mock.replaceParams(any(Map.class), any(String.class), any(Function.class))).thenCallRealMethod();
+        String scenario = "no **placeholder** here";
+
+        String result = mock.replaceParams(Map.of("a", "A"), scenario, Function.identity());
+
+        assertThat(result).isSameAs(scenario);
+    }
 }
@@ -20,7 +20,9 @@ import static com.chutneytesting.ServerConfigurationValues.CAMPAIGNS_EXECUTOR_PO
 import static com.chutneytesting.ServerConfigurationValues.ENGINE_DELEGATION_PASSWORD_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.ENGINE_DELEGATION_USER_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.ENGINE_EXECUTOR_POOL_SIZE_SPRING_VALUE;
+import static com.chutneytesting.ServerConfigurationValues.ENGINE_EXECUTOR_VIRTUAL_THREADS_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.ENGINE_REPORTER_PUBLISHER_TTL_SPRING_VALUE;
+import static com.chutneytesting.ServerConfigurationValues.EXECUTION_ASYNC_HISTORY_FLUSH_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.EXECUTION_ASYNC_PUBLISHER_TTL_SPRING_VALUE;
 import static com.chutneytesting.ServerConfigurationValues.SERVER_PORT_SPRING_VALUE;
@@ -36,6 +38,7 @@ import com.chutneytesting.dataset.domain.DataSetRepository;
 import com.chutneytesting.design.domain.editionlock.TestCaseEditions;
 import com.chutneytesting.design.domain.editionlock.TestCaseEditionsService;
 import com.chutneytesting.engine.api.execution.TestEngine;
+import com.chutneytesting.engine.domain.execution.engine.VirtualThreads;
 import com.chutneytesting.execution.domain.campaign.CampaignExecutionEngine;
 import com.chutneytesting.execution.infra.execution.ExecutionRequestMapper;
 import com.chutneytesting.execution.infra.execution.ServerTestEngineJavaImpl;
@@ -57,6 +60,8 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.Serial;
@@ -66,6 +71,8 @@ import java.time.Clock;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
 import org.jdom2.Element;
@@ -73,12 +80,14 @@ import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.Resource;
 import org.springframework.core.task.TaskExecutor;
@@ -126,17 +135,77 @@ public class ServerConfiguration {
         return executor;
     }
 
+    /**
+     * For com.chutneytesting.ServerConfiguration#executionConfiguration()<br>
+     * Not destroyed as a bean, since the engine executor pool is shut down by Spring with its {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean(destroyMethod = "")
+    public ExecutorService engineActionExecutor(
+        @Qualifier("engineExecutor") ThreadPoolTaskExecutor engineExecutor,
+        @Value(ENGINE_EXECUTOR_VIRTUAL_THREADS_SPRING_VALUE) boolean virtualThreads
+    ) {
+        if (virtualThreads) {
+            if (VirtualThreads.isSupported()) {
+                LOGGER.info("Scenarios executions run on virtual threads");
+                return VirtualThreads.newThreadPerTaskExecutor("engine-executor-");
+            }
+            LOGGER.warn("Virtual threads are not supported by JVM {}, scenarios executions run on engine executor pool", Runtime.version());
+        }
+        return engineExecutor.getThreadPoolExecutor();
+    }
+
+    /**
+     * Shut down the virtual threads executor, when used instead of the engine executor pool
+     */
+    @Bean
+    DisposableBean engineActionExecutorShutdown(
+        @Qualifier("engineExecutor") ThreadPoolTaskExecutor engineExecutor,
+        @Qualifier("engineActionExecutor") ExecutorService engineActionExecutor
+    ) {
+        return () -> {
+            if (engineActionExecutor != engineExecutor.getThreadPoolExecutor()) {
+                engineActionExecutor.shutdown();
+            }
+        };
+    }
+
     @Bean
     public ExecutionConfiguration executionConfiguration(
         @Value(ENGINE_REPORTER_PUBLISHER_TTL_SPRING_VALUE) Long reporterTTL,
-        @Qualifier("engineExecutor") ThreadPoolTaskExecutor engineExecutor,
+        @Qualifier("engineActionExecutor") ExecutorService engineActionExecutor,
         @Value(TASK_SQL_NB_LOGGED_ROW_SPRING_VALUE) String nbLoggedRow,
         @Value(ENGINE_DELEGATION_USER_SPRING_VALUE) String delegateUser,
         @Value(ENGINE_DELEGATION_PASSWORD_SPRING_VALUE) String delegatePassword
     ) {
         Map<String, String> actionsConfiguration = new HashMap<>();
         actionsConfiguration.put(TASK_SQL_NB_LOGGED_ROW, nbLoggedRow);
-        return new ExecutionConfiguration(reporterTTL, engineExecutor.getThreadPoolExecutor(), actionsConfiguration, delegateUser, delegatePassword);
+        return new ExecutionConfiguration(reporterTTL, engineActionExecutor, actionsConfiguration, delegateUser, delegatePassword);
+    }
+
+    /**
+     * Metrics of clients pools and caches shared by actions, declared as {@link MeterBinder} services by actions jars
+     */
+    @Bean
+    MeterBinder actionsMetrics() {
+        return registry -> ServiceLoader.load(MeterBinder.class).forEach(binder -> binder.bindTo(registry));
+    }
+
+    @Bean
+    MeterBinder spelExpressionCacheMetrics(ExecutionConfiguration executionConfiguration) {
+        return registry -> GuavaCacheMetrics.monitor(registry, executionConfiguration.spelExpressionCache().cache(), "spel_expression_cache");
+    }
+
+    /**
+     * Running executions history is written in batches (see ExecutionHistoryWriter),
+     * default JDBC batching unless configured otherwise
+     */
+    @Bean
+    HibernatePropertiesCustomizer jdbcBatchingHibernateProperties() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", 50);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+        };
     }
 
     @Bean
@@ -158,7 +227,7 @@ public class ServerConfiguration {
             executionEngineAsync);
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     ScenarioExecutionEngineAsync scenarioExecutionEngineAsync(ExecutionHistoryRepository executionHistoryRepository,
                                                               ServerTestEngine executionEngine,
                                                               ExecutionStateRepository executionStateRepository,
@@ -166,7 +235,8 @@ public class ServerConfiguration {
                                                               TestCasePreProcessors testCasePreProcessors,
                                                               @Qualifier("reportObjectMapper") ObjectMapper objectMapper,
                                                               @Value(EXECUTION_ASYNC_PUBLISHER_TTL_SPRING_VALUE) long replayerRetention,
-                                                              @Value(EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE) long debounceMilliSeconds) {
+                                                              @Value(EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE) long debounceMilliSeconds,
+                                                              @Value(EXECUTION_ASYNC_HISTORY_FLUSH_SPRING_VALUE) long historyFlushMilliSeconds) {
         return new ScenarioExecutionEngineAsync(
             executionHistoryRepository,
             executionEngine,
@@ -175,7 +245,8 @@ public class ServerConfiguration {
             testCasePreProcessors,
             objectMapper,
             replayerRetention,
-            debounceMilliSeconds);
+            debounceMilliSeconds,
+            historyFlushMilliSeconds);
     }
 
     @Bean
@@ -16,22 +16,28 @@
 
 package com.chutneytesting.execution.domain;
 
+import static java.util.stream.Collectors.toList;
+
 import com.chutneytesting.scenario.domain.gwt.GwtScenario;
+import com.chutneytesting.scenario.domain.gwt.GwtStep;
+import com.chutneytesting.scenario.domain.gwt.GwtStepImplementation;
 import com.chutneytesting.scenario.domain.gwt.GwtTestCase;
+import com.chutneytesting.scenario.domain.gwt.Strategy;
 import com.chutneytesting.server.core.domain.execution.ExecutionRequest;
 import com.chutneytesting.server.core.domain.execution.processor.TestCasePreProcessor;
 import com.chutneytesting.server.core.domain.globalvar.GlobalvarRepository;
-import org.apache.commons.text.StringEscapeUtils;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import org.springframework.stereotype.Component;
 
 @Component
 public class GwtDataSetPreProcessor implements TestCasePreProcessor<GwtTestCase> {
 
     private final GlobalvarRepository globalvarRepository;
-    private final GwtScenarioMarshaller marshaller;
 
-    public GwtDataSetPreProcessor(GwtScenarioMarshaller marshaller, GlobalvarRepository globalvarRepository) {
-        this.marshaller = marshaller;
+    public GwtDataSetPreProcessor(GlobalvarRepository globalvarRepository) {
         this.globalvarRepository = globalvarRepository;
     }
 
@@ -44,9 +50,68 @@ public class GwtDataSetPreProcessor implements TestCasePreProcessor<GwtTestCase>
             .build();
     }
 
+    /**
+     * Replace parameters in each string of the steps tree (scenario title and description excepted).<br>
+     * Values are not escaped since they are not written into a serialized scenario.
+     */
     private GwtScenario replaceParams(GwtScenario scenario) {
-        String blob = marshaller.serialize(scenario);
-        return marshaller.deserialize(scenario.title, scenario.description, replaceParams(globalvarRepository.getFlatMap(), blob, StringEscapeUtils::escapeJson));
+        Map<String, String> dataSet = globalvarRepository.getFlatMap();
+        if (dataSet.isEmpty()) {
+            return scenario;
+        }
+        Function<String, String> replacer = s -> replaceParams(dataSet, s, Function.identity());
+        return GwtScenario.builder()
+            .withTitle(scenario.title)
+            .withDescription(scenario.description)
+            .withGivens(replaceParams(scenario.givens, replacer))
+            .withWhen(replaceParams(scenario.when, replacer))
+            .withThens(replaceParams(scenario.thens, replacer))
+            .build();
+    }
+
+    private List<GwtStep> replaceParams(List<GwtStep> steps, Function<String, String> replacer) {
+        return steps.stream().map(step -> replaceParams(step, replacer)).collect(toList());
+    }
+
+    private GwtStep replaceParams(GwtStep step, Function<String, String> replacer) {
+        GwtStep.GwtStepBuilder builder = GwtStep.builder()
+            .withDescription(replacer.apply(step.description))
+            .withSubSteps(replaceParams(step.subSteps, replacer))
+            .withImplementation(step.implementation.map(i -> replaceParams(i, replacer)).orElse(null))
+            .withStrategy(step.strategy.map(s -> new Strategy(replacer.apply(s.type), replaceParams(s.parameters, replacer))).orElse(null));
+        step.xRef.ifPresent(xRef -> builder.withXRef(replacer.apply(xRef)));
+        return builder.build();
+    }
+
+    private GwtStepImplementation replaceParams(GwtStepImplementation implementation, Function<String, String> replacer) {
+        return new GwtStepImplementation(
+            replacer.apply(implementation.type),
+            replacer.apply(implementation.target),
+            replaceParams(implementation.inputs, replacer),
+            replaceParams(implementation.outputs, replacer),
+            replaceParams(implementation.validations, replacer),
+            replacer.apply(implementation.xRef)
+        );
+    }
+
+    private Map<String, Object> replaceParams(Map<String, Object> map, Function<String, String> replacer) {
+        Map<String, Object> replaced = new LinkedHashMap<>(map.size());
+        map.forEach((key, value) -> replaced.put(replacer.apply(key), replaceValueParams(value, replacer)));
+        return replaced;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object replaceValueParams(Object value, Function<String, String> replacer) {
+        if (value instanceof String string) {
+            return replacer.apply(string);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return replaceParams((Map<String, Object>) map, replacer);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(v -> replaceValueParams(v, replacer)).collect(toList());
+        }
+        return value;
     }
 
 }
@@ -19,6 +19,7 @@ package com.chutneytesting.execution.infra.storage;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 
 import com.chutneytesting.campaign.infra.CampaignExecutionJpaRepository;
 import com.chutneytesting.campaign.infra.CampaignJpaRepository;
@@ -168,6 +169,28 @@ class DatabaseExecutionHistoryRepository implements ExecutionHistoryRepository {
         update(updatedExecution);
     }
 
+    @Override
+    @Transactional
+    public void update(List<Execution> updatedExecutions) {
+        if (updatedExecutions.isEmpty()) {
+            return;
+        }
+        Map<Long, Execution> executionsById = updatedExecutions.stream()
+            .collect(Collectors.toMap(Execution::executionId, identity(), (previous, last) -> last));
+
+        List<ScenarioExecutionEntity> executions = scenarioExecutionsJpaRepository.findAllById(executionsById.keySet());
+        executions.forEach(execution -> execution.updateFromExecution(executionsById.get(execution.id())));
+        scenarioExecutionsJpaRepository.saveAll(executions);
+
+        List<ScenarioExecutionReportEntity> reports = scenarioExecutionReportJpaRepository.findAllById(executionsById.keySet());
+        reports.forEach(report -> report.updateReport(executionsById.get(report.scenarioExecutionId())));
+        scenarioExecutionReportJpaRepository.saveAll(reports);
+
+        if (executions.size() < executionsById.size()) {
+            LOGGER.warn("{} executions not found while updating {} executions", executionsById.size() - executions.size(), executionsById.size());
+        }
+    }
+
     private void update(Execution updatedExecution) throws ReportNotFoundException {
         ScenarioExecutionEntity execution = scenarioExecutionsJpaRepository.findById(updatedExecution.executionId()).orElseThrow(
             () -> new ReportNotFoundException(updatedExecution.executionId())
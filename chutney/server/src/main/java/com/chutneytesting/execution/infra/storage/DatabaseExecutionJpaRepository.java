@@ -57,6 +57,9 @@ public interface DatabaseExecutionJpaRepository extends JpaRepository<ScenarioEx
 
     List<ScenarioExecutionEntity> findAllByScenarioId(String scenarioId);
 
+    /**
+     * Reports stored compressed (see {@link com.chutneytesting.execution.infra.storage.jpa.ScenarioExecutionReportCodec}) never match
+     */
     @Query(value = """
                 select se from SCENARIO s, SCENARIO_EXECUTIONS_REPORTS ser
                   inner join ser.scenarioExecution se
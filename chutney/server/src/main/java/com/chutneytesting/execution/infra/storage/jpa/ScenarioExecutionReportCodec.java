@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.execution.infra.storage.jpa;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage formats of scenario execution reports.<br>
+ * Each format but {@link #JSON} is identified by a version header prefixing stored reports,
+ * so that reports stored with any format, including rows stored before formats existed, can always be read.
+ */
+public enum ScenarioExecutionReportCodec {
+
+    /**
+     * Raw JSON, as stored before formats existed.
+     */
+    JSON("") {
+        @Override
+        OutputStream encoder(OutputStream target) {
+            return target;
+        }
+
+        @Override
+        InputStream decoder(InputStream source) {
+            return source;
+        }
+    },
+
+    /**
+     * GZIP compressed JSON, Base64 encoded to fit textual columns.<br>
+     * Reports stored with this format are not matched by the reports search, which is done by the database on raw JSON.
+     */
+    GZIP("gz1:") {
+        @Override
+        OutputStream encoder(OutputStream target) throws IOException {
+            return new GZIPOutputStream(Base64.getEncoder().wrap(target), BUFFER_SIZE);
+        }
+
+        @Override
+        InputStream decoder(InputStream source) throws IOException {
+            return new GZIPInputStream(Base64.getDecoder().wrap(source), BUFFER_SIZE);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String header;
+
+    ScenarioExecutionReportCodec(String header) {
+        this.header = header;
+    }
+
+    public String header() {
+        return header;
+    }
+
+    /**
+     * @return a stream encoding what is written to it into the given target, header excluded
+     */
+    abstract OutputStream encoder(OutputStream target) throws IOException;
+
+    /**
+     * @return a stream decoding the given source, header excluded
+     */
+    abstract InputStream decoder(InputStream source) throws IOException;
+
+    /**
+     * @return the format a stored report has been written with
+     */
+    static ScenarioExecutionReportCodec of(String storedReport) {
+        return Arrays.stream(values())
+            .filter(codec -> !codec.header.isEmpty() && storedReport.startsWith(codec.header))
+            .findFirst()
+            .orElse(JSON);
+    }
+
+    public static Optional<ScenarioExecutionReportCodec> byName(String name) {
+        return Arrays.stream(values())
+            .filter(codec -> codec.name().equalsIgnoreCase(name))
+            .findFirst();
+    }
+}
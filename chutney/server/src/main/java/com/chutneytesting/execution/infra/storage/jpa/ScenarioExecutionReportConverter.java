@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.execution.infra.storage.jpa;
+
+import static com.chutneytesting.ServerConfigurationValues.EXECUTION_REPORT_CODEC_SPRING_VALUE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.CharStreams;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Write scenario execution reports with the configured {@link ScenarioExecutionReportCodec}
+ * and read them with the one they have been written with.
+ * <p>
+ * Reports are mapped as text, so they are encoded and decoded in memory: codecs reduce stored size and database I/O,
+ * not heap usage.
+ */
+@Converter
+public class ScenarioExecutionReportConverter implements AttributeConverter<String, String> {
+
+    private final ScenarioExecutionReportCodec codec;
+
+    public ScenarioExecutionReportConverter(@Value(EXECUTION_REPORT_CODEC_SPRING_VALUE) String codecName) {
+        this(ScenarioExecutionReportCodec.byName(codecName)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown report codec " + codecName)));
+    }
+
+    ScenarioExecutionReportConverter(ScenarioExecutionReportCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String report) {
+        if (report == null || report.isEmpty() || codec == ScenarioExecutionReportCodec.JSON) {
+            return report;
+        }
+        try {
+            ByteArrayOutputStream stored = new ByteArrayOutputStream(report.length() / 4);
+            stored.write(codec.header().getBytes(US_ASCII));
+            try (Writer writer = new OutputStreamWriter(codec.encoder(stored), UTF_8)) {
+                writer.write(report);
+            }
+            return stored.toString(US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode report with " + codec, e);
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(String storedReport) {
+        if (storedReport == null || storedReport.isEmpty()) {
+            return storedReport;
+        }
+        ScenarioExecutionReportCodec storedCodec = ScenarioExecutionReportCodec.of(storedReport);
+        if (storedCodec == ScenarioExecutionReportCodec.JSON) {
+            return storedReport;
+        }
+        byte[] bytes = storedReport.getBytes(US_ASCII);
+        int headerLength = storedCodec.header().length();
+        try (InputStream source = new ByteArrayInputStream(bytes, headerLength, bytes.length - headerLength);
+             Reader reader = new InputStreamReader(storedCodec.decoder(source), UTF_8)) {
+            return CharStreams.toString(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode report with " + storedCodec, e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.chutneytesting.server.core.domain.execution.history.ExecutionHistory;
 import com.chutneytesting.server.core.domain.execution.history.ImmutableExecutionHistory;
 import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
@@ -47,6 +48,7 @@ public class ScenarioExecutionReportEntity {
 
     @Column(name = "REPORT")
     @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = ScenarioExecutionReportConverter.class)
     private String report;
 
     @Column(name = "VERSION")
@@ -62,6 +64,10 @@ public class ScenarioExecutionReportEntity {
         this.report = report;
     }
 
+    public Long scenarioExecutionId() {
+        return scenarioExecutionId;
+    }
+
     public void updateReport(ExecutionHistory.Execution execution) {
         report = execution.report();
     }
@@ -38,12 +38,17 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.zip.ZipOutputStream;
 import org.hjson.JsonValue;
@@ -59,6 +64,10 @@ public class FileGlobalVarRepository implements GlobalvarRepository {
 
     private final Path storeFolderPath;
 
+    private final Object flatMapLock = new Object();
+    private FlatMap flatMap;
+    private long flatMapGeneration;
+
     private final ObjectMapper objectMapper = new ObjectMapper()
         .findAndRegisterModules()
         .enable(SerializationFeature.INDENT_OUTPUT)
@@ -99,6 +108,8 @@ public class FileGlobalVarRepository implements GlobalvarRepository {
             Files.write(filePath, hjsonContent.getBytes());
         } catch (IOException e) {
             throw new UncheckedIOException("Cannot save " + filePath.toUri(), e);
+        } finally {
+            invalidateFlatMap();
         }
     }
 
@@ -121,11 +132,44 @@ public class FileGlobalVarRepository implements GlobalvarRepository {
             throw new GlobalVarNotFoundException(fileName);
         } catch (IOException e) {
             throw new UncheckedIOException("Cannot delete " + filePath.toUri().toString(), e);
+        } finally {
+            invalidateFlatMap();
         }
     }
 
+    /**
+     * Flat map is computed once and kept until a file is saved or deleted through this repository,
+     * or until files last modification time or size change, when edited outside the application.
+     */
     @Override
     public Map<String, String> getFlatMap() {
+        Map<Path, FileVersion> versions = readFileVersions();
+        final long generation;
+        synchronized (flatMapLock) {
+            if (flatMap != null && flatMap.versions().equals(versions)) {
+                return flatMap.values();
+            }
+            generation = flatMapGeneration;
+        }
+
+        Map<String, String> map = readFlatMap();
+
+        synchronized (flatMapLock) {
+            if (generation == flatMapGeneration) {
+                flatMap = new FlatMap(versions, map);
+            }
+        }
+        return map;
+    }
+
+    private void invalidateFlatMap() {
+        synchronized (flatMapLock) {
+            flatMapGeneration++;
+            flatMap = null;
+        }
+    }
+
+    private Map<String, String> readFlatMap() {
         final Map<String, String> map = new HashMap<>();
 
         Map<Path, String> fileContents = get();
@@ -137,7 +181,27 @@ public class FileGlobalVarRepository implements GlobalvarRepository {
             }
         });
 
-        return map;
+        return Collections.unmodifiableMap(map);
+    }
+
+    private Map<Path, FileVersion> readFileVersions() {
+        return FileUtils.doOnListFiles(storeFolderPath, (pathStream) ->
+            pathStream
+                .map(FileGlobalVarRepository::readFileVersion)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(FileVersion::path, Function.identity()))
+        );
+    }
+
+    private static FileVersion readFileVersion(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isRegularFile() ? new FileVersion(path, attributes.lastModifiedTime(), attributes.size()) : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read attributes of " + path.toUri(), e);
+        }
     }
 
     // TODO any - if needed, manage duplicate keys between files
@@ -199,4 +263,10 @@ public class FileGlobalVarRepository implements GlobalvarRepository {
         }
         return currentPath.isEmpty() ? "" : currentPath + ".";
     }
+
+    private record FileVersion(Path path, FileTime lastModifiedTime, long size) {
+    }
+
+    private record FlatMap(Map<Path, FileVersion> versions, Map<String, String> values) {
+    }
 }
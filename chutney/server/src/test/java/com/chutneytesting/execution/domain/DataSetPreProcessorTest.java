@@ -20,7 +20,6 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.chutneytesting.scenario.api.raw.mapper.GwtScenarioMapper;
 import com.chutneytesting.scenario.domain.gwt.GwtScenario;
 import com.chutneytesting.scenario.domain.gwt.GwtStep;
 import com.chutneytesting.scenario.domain.gwt.GwtStepImplementation;
@@ -105,7 +104,7 @@ public class DataSetPreProcessorTest {
                         GwtStep.builder().withDescription("then 3.1 step")
                             .withImplementation(new GwtStepImplementation("**anotherKey**", "", null, null, null, null)).build()).build())).build()).build();
 
-        GwtDataSetPreProcessor dataSetPreProcessor = new GwtDataSetPreProcessor(new GwtScenarioMapper(), globalvarRepository);
+        GwtDataSetPreProcessor dataSetPreProcessor = new GwtDataSetPreProcessor(globalvarRepository);
 
         // When
         GwtTestCase actual = dataSetPreProcessor.apply(
@@ -32,6 +32,7 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import com.chutneytesting.campaign.infra.CampaignExecutionDBRepository;
 import com.chutneytesting.campaign.infra.jpa.CampaignEntity;
 import com.chutneytesting.execution.infra.storage.jpa.ScenarioExecutionEntity;
+import com.chutneytesting.execution.infra.storage.jpa.ScenarioExecutionReportConverter;
 import com.chutneytesting.execution.infra.storage.jpa.ScenarioExecutionReportEntity;
 import com.chutneytesting.scenario.infra.jpa.ScenarioEntity;
 import com.chutneytesting.scenario.infra.raw.DatabaseTestCaseRepository;
@@ -510,6 +511,19 @@ public class DatabaseExecutionHistoryRepositoryTest {
                 assertThat(executionSummaryList.get(0).scenarioId()).isEqualTo(exec1.scenarioId());
             }
 
+            @Test
+            void ignore_compressed_reports() {
+                var scenarioId = givenScenario().getId().toString();
+                var exec = sut.store(scenarioId, buildDetachedExecution("toto"));
+                String compressedReport = new ScenarioExecutionReportConverter("gzip").convertToDatabaseColumn("toto");
+                namedParameterJdbcTemplate.update("UPDATE SCENARIO_EXECUTIONS_REPORTS SET REPORT = :report WHERE SCENARIO_EXECUTION_ID = :id",
+                    Map.of("report", compressedReport, "id", exec.executionId()));
+
+                var executionSummaryList = sut.getExecutionReportMatchQuery("to");
+
+                assertThat(executionSummaryList).isEmpty();
+            }
+
             @Test
             void limit_results_to_100() {
                 IntStream.range(0, 110).forEach(i -> {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2023 Enedis
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chutneytesting.execution.infra.storage.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class ScenarioExecutionReportConverterTest {
+
+    private static final String REPORT = "{\"executionId\":1,\"scenarioName\":\"Scénario\",\"report\":{\"name\":\"root\",\"steps\":[]}}";
+
+    @Test
+    public void should_store_raw_json_with_json_codec() {
+        ScenarioExecutionReportConverter sut = new ScenarioExecutionReportConverter("json");
+
+        assertThat(sut.convertToDatabaseColumn(REPORT)).isEqualTo(REPORT);
+        assertThat(sut.convertToEntityAttribute(REPORT)).isEqualTo(REPORT);
+    }
+
+    @Test
+    public void should_store_compressed_report_with_version_header() {
+        ScenarioExecutionReportConverter sut = new ScenarioExecutionReportConverter("gzip");
+        String largeReport = REPORT.repeat(100);
+
+        String stored = sut.convertToDatabaseColumn(largeReport);
+
+        assertThat(stored).startsWith(ScenarioExecutionReportCodec.GZIP.header());
+        assertThat(stored.length()).isLessThan(largeReport.length() / 10);
+        assertThat(sut.convertToEntityAttribute(stored)).isEqualTo(largeReport);
+    }
+
+    @Test
+    public void should_read_reports_whatever_format_they_were_stored_with() {
+        String compressed = new ScenarioExecutionReportConverter("gzip").convertToDatabaseColumn(REPORT);
+        ScenarioExecutionReportConverter sut = new ScenarioExecutionReportConverter("json");
+
+        assertThat(sut.convertToEntityAttribute(compressed)).isEqualTo(REPORT);
+        assertThat(new ScenarioExecutionReportConverter("gzip").convertToEntityAttribute(REPORT)).isEqualTo(REPORT);
+    }
+
+    @Test
+    public void should_keep_empty_reports() {
+        ScenarioExecutionReportConverter sut = new ScenarioExecutionReportConverter("gzip");
+
+        assertThat(sut.convertToDatabaseColumn("")).isEmpty();
+        assertThat(sut.convertToEntityAttribute("")).isEmpty();
+    }
+
+    @Test
+    public void should_refuse_unknown_codec() {
+        assertThatThrownBy(() -> new ScenarioExecutionReportConverter("smile"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -26,6 +26,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -168,6 +169,34 @@ public class FileGlobalVarRepositoryTest {
         );
     }
 
+    @Test
+    public void should_compute_flat_map_again_when_files_change() {
+        sut.saveFile(FILE_NAME, "{keyA: \"valueA\"}");
+        Map<String, String> first = sut.getFlatMap();
+        assertThat(sut.getFlatMap()).isSameAs(first);
+
+        sut.saveFile("another_file", "{keyB: \"valueB\"}");
+        assertThat(sut.getFlatMap()).containsOnly(entry("keyA", "valueA"), entry("keyB", "valueB"));
+
+        sut.deleteFile("another_file");
+        assertThat(sut.getFlatMap()).containsOnly(entry("keyA", "valueA"));
+    }
+
+    @Test
+    public void should_compute_flat_map_again_when_files_are_modified_outside_the_repository() throws IOException {
+        sut.saveFile(FILE_NAME, "{keyA: \"valueA\"}");
+        Map<String, String> first = sut.getFlatMap();
+        assertThat(sut.getFlatMap()).isSameAs(first);
+
+        Path filePath = Paths.get(STORE_PATH).resolve(ROOT_DIRECTORY_NAME).resolve(FILE_NAME + ".hjson");
+        Files.writeString(filePath, "{keyA: \"modified\"}");
+        Files.setLastModifiedTime(filePath, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        assertThat(sut.getFlatMap()).containsOnly(entry("keyA", "modified"));
+
+        Files.writeString(Paths.get(STORE_PATH).resolve(ROOT_DIRECTORY_NAME).resolve("another_file.hjson"), "{keyB: \"valueB\"}");
+        assertThat(sut.getFlatMap()).containsOnly(entry("keyA", "modified"), entry("keyB", "valueB"));
+    }
+
     @Test
     public void should_backup_repository_directory_as_zip_file() throws IOException {
         // Given
@@ -80,15 +80,39 @@ class ChutneyScenarioBuilder(
 
 @JsonInclude(NON_EMPTY)
 open class Strategy(val type: String, val parameters: Map<String, String> = emptyMap())
-open class RetryTimeOutStrategy(timeout: String, retryDelay: String) :
-    Strategy(type = TYPE, parameters = mapOf("timeOut" to timeout, "retryDelay" to retryDelay)) {
+open class RetryTimeOutStrategy(
+    timeout: String,
+    retryDelay: String,
+    backoffMultiplier: Double? = null,
+    maxRetryDelay: String? = null,
+    jitter: Double? = null,
+    maxAttempts: Int? = null
+) :
+    Strategy(
+        type = TYPE,
+        parameters = mapOf("timeOut" to timeout, "retryDelay" to retryDelay)
+            + listOfNotNull(
+                backoffMultiplier?.let { "backoffMultiplier" to it.toString() },
+                maxRetryDelay?.let { "maxRetryDelay" to it },
+                jitter?.let { "jitter" to it.toString() },
+                maxAttempts?.let { "maxAttempts" to it.toString() }
+            )
+    ) {
     companion object {
         const val TYPE: String = "retry-with-timeout"
     }
 }
 
-open class ForStrategy(dataset: String = "dataset".spEL, index: String = "i") :
-    Strategy(type = "for", parameters = mapOf("dataset" to dataset, "index" to index)) {
+open class ForStrategy(dataset: String = "dataset".spEL, index: String = "i", parallelism: Int? = null, ratePerSecond: Double? = null, compactReport: Boolean? = null) :
+    Strategy(
+        type = "for",
+        parameters = mapOf("dataset" to dataset, "index" to index)
+            + listOfNotNull(
+                parallelism?.let { "parallelism" to it.toString() },
+                ratePerSecond?.let { "ratePerSecond" to it.toString() },
+                compactReport?.let { "compactReport" to it.toString() }
+            )
+    ) {
 }
 open class IfStrategy(condition: String) :
     Strategy(type = "if", parameters = mapOf("condition" to condition)) {
@@ -97,6 +121,9 @@ open class IfStrategy(condition: String) :
 open class SoftAssertStrategy :
     Strategy(type = "soft-assert")
 
+open class ParallelStrategy(maxConcurrency: Int? = null) :
+    Strategy(type = "parallel", parameters = maxConcurrency?.let { mapOf("maxConcurrency" to it.toString()) } ?: emptyMap())
+
 @ChutneyScenarioDsl
 class ChutneyStepBuilder(var description: String = "", var strategy: Strategy? = null) {
 